@@ -0,0 +1,31 @@
+# ====================================================================
+# 뉴스 감정 분석 작업 (NewsSentimentAnnotator가 실행)
+# 표준 입력:  한 줄에 "<문서 id>\t<제목 + 본문 텍스트>"
+# 표준 출력:  한 줄에 "<문서 id>\t<neutral|positive|negative>"
+# 입력 한 줄마다 바로 한 줄을 내보내므로 호출 측은 보낸 줄 수만큼 읽으면 된다.
+# 모델 로딩 로그 등은 표준 에러로만 나간다.
+# ====================================================================
+import sys
+
+sys.stdin.reconfigure(encoding='utf-8')
+sys.stdout.reconfigure(encoding='utf-8')
+
+from inference import predict_sentiment
+
+
+def main():
+    for line in sys.stdin:
+        doc_id, _, text = line.rstrip('\n').partition('\t')
+        if not doc_id:
+            continue
+        try:
+            sentiment = predict_sentiment(text) if text.strip() else 'neutral'
+        except Exception as e:
+            # 한 기사 때문에 작업 전체를 멈추지 않는다. 빈 결과는 다음 작업에서 다시 분석된다
+            print(f"감정 분석 실패 {doc_id}: {e}", file=sys.stderr)
+            sentiment = ''
+        print(f"{doc_id}\t{sentiment}", flush=True)
+
+
+if __name__ == '__main__':
+    main()
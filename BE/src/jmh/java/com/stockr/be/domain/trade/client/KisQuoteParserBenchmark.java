@@ -0,0 +1,99 @@
+package com.stockr.be.domain.trade.client;
+
+import com.stockr.be.domain.stock.dto.RealtimeOrderBookDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * H0STASP0 파싱 비교: 기존 split 기반 경로 vs 커서 기반 {@link KisQuoteParser}.
+ * 녹화된 payload(h0stasp0-sample.txt)를 순환하며 한 스레드(코어)에서 초당 처리 틱 수를 측정한다.
+ * 실행: ./gradlew jmh  (목표: cursorParser 수십만 ticks/s 이상, -prof gc로 할당량 확인)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KisQuoteParserBenchmark {
+
+    private final RealtimeQuote quote = new RealtimeQuote();
+    private String[] payloads;
+    private int index;
+
+    @Setup
+    public void loadPayloads() throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                KisQuoteParserBenchmark.class.getResourceAsStream("/h0stasp0-sample.txt"), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    lines.add(line);
+                }
+            }
+        }
+        payloads = lines.toArray(new String[0]);
+    }
+
+    private String nextPayload() {
+        String payload = payloads[index];
+        index = (index + 1) % payloads.length;
+        return payload;
+    }
+
+    @Benchmark
+    public void cursorParser(Blackhole blackhole) {
+        KisQuoteParser.parse(nextPayload(), quote);
+        blackhole.consume(quote.stockCode());
+        blackhole.consume(quote.getPrice());
+        blackhole.consume(quote.askPrice(0));
+        blackhole.consume(quote.getTotalBidVolume());
+    }
+
+    /**
+     * 기존 StockWebSocketClient.processMessage의 파싱 부분을 그대로 옮긴 기준 경로.
+     */
+    @Benchmark
+    public void legacySplitParser(Blackhole blackhole) {
+        String[] parts = nextPayload().split("\\|");
+        String[] data = parts[3].split("\\^");
+        String stockCode = data[0];
+        BigDecimal currentPrice = new BigDecimal(Long.parseLong(data[2]));
+
+        List<RealtimeOrderBookDto.OrderBookItem> askPrices = new ArrayList<>();
+        List<RealtimeOrderBookDto.OrderBookItem> bidPrices = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            askPrices.add(new RealtimeOrderBookDto.OrderBookItem(Long.parseLong(data[3 + i]),
+                    Long.parseLong(data[23 + i])));
+            bidPrices.add(new RealtimeOrderBookDto.OrderBookItem(Long.parseLong(data[13 + i]),
+                    Long.parseLong(data[33 + i])));
+        }
+        blackhole.consume(stockCode);
+        blackhole.consume(currentPrice);
+        blackhole.consume(Double.parseDouble(data[5]));
+        blackhole.consume(Double.parseDouble(data[6]));
+        blackhole.consume(askPrices);
+        blackhole.consume(bidPrices);
+        blackhole.consume(Long.parseLong(data[43]));
+        blackhole.consume(Long.parseLong(data[44]));
+    }
+}
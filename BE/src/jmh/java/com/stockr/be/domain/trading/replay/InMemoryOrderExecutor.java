@@ -0,0 +1,98 @@
+package com.stockr.be.domain.trading.replay;
+
+import com.stockr.be.domain.trading.entity.TradingOrderType;
+import com.stockr.be.domain.trading.service.LimitOrderBook;
+import com.stockr.be.domain.trading.service.LimitOrderBookService;
+import com.stockr.be.domain.trading.service.OrderExecutionPipeline;
+import com.stockr.be.domain.trading.service.OrderExecutor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * DB 없이 체결 배치를 받아 주는 {@link OrderExecutor}. 잔고/보유수량 검사 없이 모두 체결로 처리하고,
+ * 배치마다 commit-micros만큼 쉬어 DB 커밋 왕복을 흉내 낸다.
+ * 체결된 주문마다 체결가 근처에 새 주문을 하나 넣어 주문장 깊이를 유지한다(가격/방향은 주문 ID로 정해지므로 실행마다 같다).
+ */
+final class InMemoryOrderExecutor implements OrderExecutor {
+
+    private final LimitOrderBookService books;
+    private final Map<String, Long> priceSteps;
+    private final int depth;
+    private final long commitNanos;
+    private final LatencyRecorder latencies;
+    private final AtomicLong nextOrderId;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong executed = new AtomicLong();
+    private volatile long lastExecutedNanos;
+
+    InMemoryOrderExecutor(LimitOrderBookService books, Map<String, Long> priceSteps, int depth, long commitNanos,
+            LatencyRecorder latencies, long firstReplenishedOrderId) {
+        this.books = books;
+        this.priceSteps = new ConcurrentHashMap<>(priceSteps);
+        this.depth = depth;
+        this.commitNanos = commitNanos;
+        this.latencies = latencies;
+        this.nextOrderId = new AtomicLong(firstReplenishedOrderId);
+    }
+
+    @Override
+    public List<Long> executeOrders(List<OrderExecutionPipeline.ExecutionRequest> requests) {
+        inFlight.incrementAndGet();
+        try {
+            if (commitNanos > 0) {
+                LockSupport.parkNanos(commitNanos);
+            }
+            long now = System.nanoTime();
+            long[] batch = new long[requests.size()];
+            for (int i = 0; i < batch.length; i++) {
+                OrderExecutionPipeline.ExecutionRequest request = requests.get(i);
+                batch[i] = now - request.receivedNanos();
+                replenish(request);
+            }
+            latencies.record(batch, batch.length);
+            executed.addAndGet(batch.length);
+            lastExecutedNanos = now;
+            return List.of();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    long executedCount() {
+        return executed.get();
+    }
+
+    long lastExecutedNanos() {
+        return lastExecutedNanos;
+    }
+
+    boolean idle() {
+        return inFlight.get() == 0;
+    }
+
+    private void replenish(OrderExecutionPipeline.ExecutionRequest request) {
+        LimitOrderBook.Entry filled = request.entry();
+        long step = priceSteps.get(filled.ticker());
+        long hash = mix(filled.orderId());
+        long offset = (1 + Math.floorMod(hash, depth)) * step;
+        long price = request.executionPrice().longValue();
+        TradingOrderType orderType = (hash & (1L << 40)) == 0 ? TradingOrderType.BUY : TradingOrderType.SELL;
+        // 매수는 체결가 아래, 매도는 위에 걸어 바로 다시 체결되지 않게 한다
+        long orderPrice = orderType == TradingOrderType.BUY ? Math.max(step, price - offset) : price + offset;
+        books.add(new LimitOrderBook.Entry(nextOrderId.getAndIncrement(), filled.accountId(), filled.ticker(),
+                orderType, orderPrice));
+    }
+
+    // SplitMix64 finalizer
+    static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
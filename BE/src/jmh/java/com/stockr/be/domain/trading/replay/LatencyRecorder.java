@@ -0,0 +1,54 @@
+package com.stockr.be.domain.trading.replay;
+
+import java.util.Arrays;
+
+/**
+ * 리플레이 동안의 틱-체결 지연(ns)을 모두 모아 두었다가 정확한 백분위를 계산한다.
+ * 체결 워커들이 배치마다 한 번씩만 잠금을 잡도록 값을 배열로 받는다.
+ */
+final class LatencyRecorder {
+
+    private long[] values = new long[1 << 16];
+    private int size;
+
+    synchronized void record(long[] latencies, int count) {
+        if (size + count > values.length) {
+            values = Arrays.copyOf(values, Math.max(values.length * 2, size + count));
+        }
+        System.arraycopy(latencies, 0, values, size, count);
+        size += count;
+    }
+
+    synchronized Snapshot snapshot() {
+        long[] sorted = Arrays.copyOf(values, size);
+        Arrays.sort(sorted);
+        return new Snapshot(sorted);
+    }
+
+    static final class Snapshot {
+        private final long[] sorted;
+
+        private Snapshot(long[] sorted) {
+            this.sorted = sorted;
+        }
+
+        int count() {
+            return sorted.length;
+        }
+
+        /**
+         * nearest-rank 백분위 (ns), 기록이 없으면 0
+         */
+        long percentile(double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+        }
+
+        long max() {
+            return sorted.length == 0 ? 0 : sorted[sorted.length - 1];
+        }
+    }
+}
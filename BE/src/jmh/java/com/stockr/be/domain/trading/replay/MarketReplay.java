@@ -0,0 +1,204 @@
+package com.stockr.be.domain.trading.replay;
+
+import com.stockr.be.domain.trade.client.KisQuoteParser;
+import com.stockr.be.domain.trade.client.KisQuoteRing;
+import com.stockr.be.domain.trading.entity.TradingOrderType;
+import com.stockr.be.domain.trading.service.LimitOrderBook;
+import com.stockr.be.domain.trading.service.LimitOrderBookService;
+import com.stockr.be.domain.trading.service.OrderExecutionPipeline;
+import com.stockr.be.domain.trading.service.OrderMatchingQuoteConsumer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 체결 경로 리플레이. 녹화된 H0STASP0 틱(또는 seed 고정 random walk 틱)을 시세 수신 스레드와 같은 경로로
+ * {@link KisQuoteRing} → {@link OrderMatchingQuoteConsumer} → {@link OrderExecutionPipeline} 체결 워커에 흘려 보내고,
+ * ticks/s, fills/s와 틱 수신부터 체결까지의 p50/p99/p999 지연, 매칭 소비자가 뒤처져 건너뛴 틱 수를 출력한다.
+ * 링/주문장/파이프라인은 운영 클래스를 그대로 쓰고, DB 커밋만 {@link InMemoryOrderExecutor}로 바꿔 오프라인에서 돈다.
+ * 실시간 시세/호가 발행과 캐시 소비자는 체결 경로 밖이라 링에 붙이지 않는다.
+ *
+ * 실행: ./gradlew replay --args='--tickers=50 --ticks=200000 --orders-per-ticker=200 --rate=0'
+ * 녹화 파일: ./gradlew replay --args='--file=src/jmh/resources/h0stasp0-sample.txt --loops=10000'
+ */
+public final class MarketReplay {
+
+    private static final long PACING_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Options options;
+
+    private MarketReplay(Options options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new MarketReplay(Options.parse(args)).run();
+    }
+
+    private void run() throws Exception {
+        TickSource source = options.file != null
+                ? TickSource.recorded(Path.of(options.file), options.loops)
+                : TickSource.synthetic(options.tickers, options.ticks, options.seed);
+        if (source.frames().isEmpty()) {
+            throw new IllegalArgumentException("No H0STASP0 ticks to replay");
+        }
+
+        LimitOrderBookService books = new LimitOrderBookService(null);
+        long seeded = seedOrders(books, source);
+        LatencyRecorder latencies = new LatencyRecorder();
+        InMemoryOrderExecutor executor = new InMemoryOrderExecutor(books, source.priceSteps(), options.depth,
+                TimeUnit.MICROSECONDS.toNanos(options.commitMicros), latencies, seeded + 1);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OrderExecutionPipeline pipeline = new OrderExecutionPipeline(executor, books, meterRegistry,
+                options.workers, options.queueCapacity, options.batchSize);
+        pipeline.start();
+        KisQuoteRing ring = new KisQuoteRing(List.of(new OrderMatchingQuoteConsumer(pipeline)), meterRegistry,
+                options.ringSize, 512);
+        ring.start();
+
+        System.out.printf("Replaying %,d ticks over %d tickers against %,d seeded orders (workers=%d, batch=%d, commit=%dus, rate=%s)%n",
+                source.frames().size(), source.openingPrices().size(), seeded, options.workers, options.batchSize,
+                options.commitMicros, options.rate == 0 ? "max" : options.rate + "/s");
+
+        long start = System.nanoTime();
+        long intervalNanos = options.rate == 0 ? 0 : TimeUnit.SECONDS.toNanos(1) / options.rate;
+        int index = 0;
+        for (String frame : source.frames()) {
+            if (intervalNanos > 0) {
+                // 실제 수신 스레드는 소켓에서 잠들어 CPU를 쓰지 않는다. 틱마다 수십 us씩 park하면 사실상 spin이 되어
+                // 코어가 적은 환경에서는 링 소비자 스레드를 굶기므로, 최소 1ms씩 쉬고 밀린 틱을 몰아서 보낸다
+                long wait = start + index * intervalNanos - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(Math.max(wait, PACING_NANOS));
+                }
+            }
+            index++;
+            // StockWebSocketClient.processMessage와 같이 수신 스레드는 링에 복사만 한다
+            if (KisQuoteParser.isQuote(frame)) {
+                ring.publish(frame, System.nanoTime());
+            }
+        }
+        long fed = System.nanoTime();
+        awaitDrained(meterRegistry, pipeline, executor);
+        ring.stop();
+        pipeline.stop();
+
+        long overrun = (long) meterRegistry.get("realtime.ring.overrun").counter().count();
+        report(source.frames().size(), overrun, executor.executedCount(), fed - start,
+                Math.max(fed, executor.lastExecutedNanos()) - start, latencies.snapshot());
+    }
+
+    /**
+     * 종목마다 첫 현재가 위아래 depth호가 안에 주문을 건다. 현재가 아래는 매수, 위는 매도라 시세가 지나가면 체결된다.
+     *
+     * @return 마지막으로 쓴 주문 ID
+     */
+    private long seedOrders(LimitOrderBookService books, TickSource source) {
+        SplittableRandom random = new SplittableRandom(options.seed ^ 0x5EEDL);
+        long orderId = 0;
+        for (Map.Entry<String, Long> opening : source.openingPrices().entrySet()) {
+            String ticker = opening.getKey();
+            long step = source.priceSteps().get(ticker);
+            for (int i = 0; i < options.ordersPerTicker; i++) {
+                boolean buy = random.nextBoolean();
+                long offset = (1 + random.nextInt(options.depth)) * step;
+                long price = buy ? Math.max(step, opening.getValue() - offset) : opening.getValue() + offset;
+                books.add(new LimitOrderBook.Entry(++orderId, 1 + random.nextInt(options.accounts), ticker,
+                        buy ? TradingOrderType.BUY : TradingOrderType.SELL, price));
+            }
+        }
+        return orderId;
+    }
+
+    private static void awaitDrained(MeterRegistry meterRegistry, OrderExecutionPipeline pipeline,
+            InMemoryOrderExecutor executor) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        // 워커가 큐에서 꺼낸 뒤 executeOrders에 들어가기 전의 틈을 넘기도록 두 번 연속 비어 있을 때까지 기다린다
+        int quiet = 0;
+        while (quiet < 2 && System.nanoTime() < deadline) {
+            boolean drained = meterRegistry.get("realtime.ring.lag").gauge().value() == 0
+                    && pipeline.pendingCount() == 0 && executor.idle();
+            quiet = drained ? quiet + 1 : 0;
+            Thread.sleep(5);
+        }
+    }
+
+    private static void report(int ticks, long overrun, long fills, long feedNanos, long totalNanos,
+            LatencyRecorder.Snapshot latency) {
+        double feedSeconds = feedNanos / 1e9;
+        double totalSeconds = totalNanos / 1e9;
+        System.out.printf("ticks   %,12d in %8.3fs  %,14.0f ticks/s%n", ticks, feedSeconds, ticks / feedSeconds);
+        System.out.printf("fills   %,12d in %8.3fs  %,14.0f fills/s  (matcher overrun %,d ticks)%n",
+                fills, totalSeconds, fills / totalSeconds, overrun);
+        System.out.printf("tick-to-fill  p50 %,10.1fus  p99 %,10.1fus  p999 %,10.1fus  max %,10.1fus  (n=%,d)%n",
+                latency.percentile(0.5) / 1e3, latency.percentile(0.99) / 1e3, latency.percentile(0.999) / 1e3,
+                latency.max() / 1e3, latency.count());
+    }
+
+    /**
+     * --key=value 형식 실행 인자.
+     */
+    private static final class Options {
+        private String file;
+        private int loops = 1;
+        private int tickers = 50;
+        private int ticks = 200_000;
+        private long seed = 42;
+        private long rate;
+        private int ordersPerTicker = 200;
+        private int depth = 10;
+        private int accounts = 1_000;
+        private int workers = 2;
+        private int queueCapacity = 10_000;
+        private int batchSize = 100;
+        private long commitMicros;
+        private int ringSize = 8192;
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("=")) {
+                    throw new IllegalArgumentException("Expected --key=value but got " + arg);
+                }
+                int separator = arg.indexOf('=');
+                values.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+            Options options = new Options();
+            options.file = values.remove("file");
+            options.loops = intOf(values, "loops", options.loops);
+            options.tickers = intOf(values, "tickers", options.tickers);
+            options.ticks = intOf(values, "ticks", options.ticks);
+            options.seed = longOf(values, "seed", options.seed);
+            options.rate = longOf(values, "rate", options.rate);
+            options.ordersPerTicker = intOf(values, "orders-per-ticker", options.ordersPerTicker);
+            options.depth = intOf(values, "depth", options.depth);
+            options.accounts = intOf(values, "accounts", options.accounts);
+            options.workers = intOf(values, "workers", options.workers);
+            options.queueCapacity = intOf(values, "queue-capacity", options.queueCapacity);
+            options.batchSize = intOf(values, "batch-size", options.batchSize);
+            options.commitMicros = longOf(values, "commit-micros", options.commitMicros);
+            options.ringSize = intOf(values, "ring-size", options.ringSize);
+            if (!values.isEmpty()) {
+                throw new IllegalArgumentException("Unknown options " + values.keySet());
+            }
+            return options;
+        }
+
+        private static int intOf(Map<String, String> values, String key, int defaultValue) {
+            String value = values.remove(key);
+            return value == null ? defaultValue : Integer.parseInt(value);
+        }
+
+        private static long longOf(Map<String, String> values, String key, long defaultValue) {
+            String value = values.remove(key);
+            return value == null ? defaultValue : Long.parseLong(value);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.stockr.be.domain.trading.replay;
+
+import com.stockr.be.domain.trade.client.KisQuoteFrames;
+import com.stockr.be.domain.trade.client.KisQuoteParser;
+import com.stockr.be.domain.trade.client.RealtimeQuote;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * 리플레이할 H0STASP0 틱 목록. 측정 구간에 파일 I/O나 문자열 생성이 끼지 않도록 미리 메모리에 만들어 둔다.
+ *
+ * @param frames 재생 순서대로의 원본 메시지
+ * @param openingPrices 종목별 첫 틱 현재가 (주문 시드 기준)
+ * @param priceSteps 종목별 호가 단위
+ */
+record TickSource(List<String> frames, Map<String, Long> openingPrices, Map<String, Long> priceSteps) {
+
+    /**
+     * 녹화 파일: 한 줄에 KIS 원본 메시지 하나 (src/jmh/resources/h0stasp0-sample.txt 형식). 호가가 아닌 줄은 건너뛴다.
+     *
+     * @param loops 파일 전체를 몇 번 반복할지
+     */
+    static TickSource recorded(Path file, int loops) throws IOException {
+        List<String> lines = new ArrayList<>();
+        Map<String, Long> openingPrices = new LinkedHashMap<>();
+        Map<String, Long> priceSteps = new LinkedHashMap<>();
+        RealtimeQuote quote = new RealtimeQuote();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (!KisQuoteParser.isQuote(line) || !KisQuoteParser.parse(line, quote)) {
+                continue;
+            }
+            lines.add(line);
+            String ticker = quote.stockCode();
+            openingPrices.putIfAbsent(ticker, quote.getPrice());
+            // 1호가 간격을 호가 단위로 본다
+            priceSteps.putIfAbsent(ticker, Math.max(1, quote.askPrice(0) - quote.getPrice()));
+        }
+        List<String> frames = new ArrayList<>(lines.size() * loops);
+        for (int i = 0; i < loops; i++) {
+            frames.addAll(lines);
+        }
+        return new TickSource(frames, openingPrices, priceSteps);
+    }
+
+    /**
+     * 종목 tickers개의 random walk 시세. 같은 seed면 같은 틱 열이 나온다.
+     * 매 틱 종목 하나를 골라 현재가를 호가 단위로 -2~+2칸 움직인다.
+     */
+    static TickSource synthetic(int tickers, int ticks, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        String[] codes = new String[tickers];
+        long[] prices = new long[tickers];
+        long[] steps = new long[tickers];
+        Map<String, Long> openingPrices = new LinkedHashMap<>();
+        Map<String, Long> priceSteps = new LinkedHashMap<>();
+        for (int i = 0; i < tickers; i++) {
+            codes[i] = String.format("9%05d", i);
+            steps[i] = random.nextInt(3) == 0 ? 50 : 100;
+            prices[i] = steps[i] * random.nextInt(100, 1000);
+            openingPrices.put(codes[i], prices[i]);
+            priceSteps.put(codes[i], steps[i]);
+        }
+        List<String> frames = new ArrayList<>(ticks);
+        for (int t = 0; t < ticks; t++) {
+            int i = random.nextInt(tickers);
+            prices[i] = Math.max(steps[i] * 10, prices[i] + steps[i] * random.nextInt(-2, 3));
+            String hour = String.format("%02d%02d%02d", 9 + t / 3_600_000 % 7, t / 60_000 % 60, t / 1_000 % 60);
+            frames.add(KisQuoteFrames.synthetic(codes[i], hour, prices[i], steps[i], 1 + random.nextInt(50_000)));
+        }
+        return new TickSource(frames, openingPrices, priceSteps);
+    }
+}
@@ -0,0 +1,116 @@
+package com.stockr.be.global.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntPredicate;
+
+/**
+ * 종목 특성 조건 검색 비교: {@link HnswIndex} 근사 검색 vs 전수 비교(exactSearch).
+ * 6차원 표준정규 합성 벡터(종목 수 = size)에 대해 top-10 한 건당 지연을 측정하고,
+ * Setup에서 같은 질의 집합의 recall@10(필터 없음/시장 구분 1/3 필터)을 계산해 출력한다.
+ * 실행: ./gradlew jmh  (목표: 5만 건에서 recall@10 0.95 이상, 전수 비교보다 한 자릿수 이상 빠름)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HnswIndexBenchmark {
+
+    private static final int DIMENSION = 6;
+    private static final int K = 10;
+    private static final int EF = 64;
+    private static final int QUERIES = 1024;
+
+    @Param({"5000", "50000"})
+    private int size;
+
+    private HnswIndex index;
+    private float[][] queries;
+    private IntPredicate marketFilter;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void build() {
+        Random random = new Random(7);
+        index = new HnswIndex(DIMENSION, 16, 100, 42L);
+        for (int id = 0; id < size; id++) {
+            index.put(id, gaussian(random));
+        }
+        queries = new float[QUERIES][];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = gaussian(random);
+        }
+        marketFilter = id -> id % 3 == 0;
+
+        System.out.printf("%nsize=%d recall@%d=%.4f filtered recall@%d=%.4f%n",
+                size, K, recall(null), K, recall(marketFilter));
+    }
+
+    private double recall(IntPredicate filter) {
+        int hits = 0;
+        int total = 0;
+        for (float[] query : queries) {
+            Set<Integer> exact = new HashSet<>();
+            index.exactSearch(query, K, filter).forEach(neighbor -> exact.add(neighbor.id()));
+            for (HnswIndex.Neighbor neighbor : index.search(query, K, EF, filter)) {
+                if (exact.contains(neighbor.id())) {
+                    hits++;
+                }
+            }
+            total += exact.size();
+        }
+        return (double) hits / total;
+    }
+
+    private static float[] gaussian(Random random) {
+        float[] vector = new float[DIMENSION];
+        for (int i = 0; i < DIMENSION; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+
+    private float[] nextQuery() {
+        float[] query = queries[next];
+        next = (next + 1) % QUERIES;
+        return query;
+    }
+
+    @Benchmark
+    public List<HnswIndex.Neighbor> hnsw() {
+        return index.search(nextQuery(), K, EF, null);
+    }
+
+    @Benchmark
+    public List<HnswIndex.Neighbor> hnswFiltered() {
+        return index.search(nextQuery(), K, EF, marketFilter);
+    }
+
+    @Benchmark
+    public List<HnswIndex.Neighbor> bruteForce() {
+        return index.exactSearch(nextQuery(), K, null);
+    }
+
+    @Benchmark
+    public List<HnswIndex.Neighbor> bruteForceFiltered() {
+        return index.exactSearch(nextQuery(), K, marketFilter);
+    }
+}
@@ -50,11 +50,19 @@ public class Account {
 
     /**
      * 계좌 잔액 (소수점 둘째 자리까지, 기본값 0.00)
+     * 생성 후에는 AccountLedger가 관리하며 체크포인트 쿼리로만 갱신한다.
+     * updatable = false: 오래된 엔티티가 dirty checking으로 원장 값을 덮어쓰지 않도록 막는다
      */
     @Builder.Default
-    @Column(name = "balance", nullable = false, precision = 15, scale = 2)
+    @Column(name = "balance", nullable = false, precision = 15, scale = 2, updatable = false)
     private BigDecimal balance = BigDecimal.valueOf(100_000_000L);
 
+    /**
+     * balance에 반영된 마지막 원장 저널 sequence (복구 시 이후 레코드만 다시 적용한다)
+     */
+    @Column(name = "ledger_sequence", nullable = false, updatable = false)
+    private long ledgerSequence;
+
     /**
      * 계좌 생성 시각 (기본값: 생성 시점의 현재 시간)
      * updatable = false: 생성 후 변경 불가
@@ -62,28 +70,4 @@ public class Account {
     @Builder.Default
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
-
-    public void deposit(BigDecimal amount) {
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException("입금액은 0보다 커야 합니다.");
-        }
-        this.balance = this.balance.add(amount);
-    }
-
-    public void withdraw(BigDecimal amount) {
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException("출금액은 0보다 커야 합니다.");
-        }
-        if (this.balance.compareTo(amount) < 0) {
-            throw new IllegalArgumentException("잔액이 부족합니다.");
-        }
-        this.balance = this.balance.subtract(amount);
-    }
-
-    public void setBalance(BigDecimal balance) {
-        if (balance.compareTo(BigDecimal.ZERO) < 0) {
-            throw new IllegalArgumentException("잔액은 0보다 작을 수 없습니다.");
-        }
-        this.balance = balance;
-    }
 }
@@ -28,11 +28,18 @@ public class AccountResponseDto {
      * @return 변환된 DTO
      */
     public static AccountResponseDto fromEntity(Account account) {
+        return fromEntity(account, account.getBalance());
+    }
+
+    /**
+     * @param balance 원장(AccountLedger)의 현재 잔고
+     */
+    public static AccountResponseDto fromEntity(Account account, BigDecimal balance) {
         return AccountResponseDto.builder()
                 .accountId(account.getId())
                 .bankName(account.getBankName())
                 .accountNumber(account.getAccountNumber())
-                .balance(account.getBalance())
+                .balance(balance)
                 .createdAt(account.getCreatedAt())
                 .build();
     }
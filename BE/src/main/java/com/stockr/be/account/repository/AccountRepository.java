@@ -3,7 +3,14 @@ package com.stockr.be.account.repository;
 import com.stockr.be.account.domain.Account;
 import com.stockr.be.user.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -18,4 +25,32 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
 
     // 수정된 부분
     boolean existsByUser_UserId(Long userId);
+
+    @Query("SELECT a.balance FROM Account a WHERE a.id = :accountId")
+    Optional<BigDecimal> findBalanceById(@Param("accountId") Long accountId);
+
+    @Query("SELECT a.id AS id, a.balance AS balance, a.ledgerSequence AS ledgerSequence " +
+            "FROM Account a WHERE a.id IN :accountIds")
+    List<LedgerState> findLedgerStates(@Param("accountIds") Collection<Long> accountIds);
+
+    @Query("SELECT COALESCE(MAX(a.ledgerSequence), 0) FROM Account a")
+    long findMaxLedgerSequence();
+
+    /**
+     * 원장 체크포인트. 이미 더 뒤의 sequence가 반영된 행은 건드리지 않는다.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Account a SET a.balance = :balance, a.ledgerSequence = :sequence " +
+            "WHERE a.id = :accountId AND a.ledgerSequence <= :sequence")
+    int updateLedgerBalance(@Param("accountId") Long accountId, @Param("balance") BigDecimal balance,
+            @Param("sequence") long sequence);
+
+    interface LedgerState {
+        Long getId();
+
+        BigDecimal getBalance();
+
+        long getLedgerSequence();
+    }
 }
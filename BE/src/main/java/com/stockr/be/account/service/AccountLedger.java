@@ -0,0 +1,443 @@
+package com.stockr.be.account.service;
+
+import com.stockr.be.account.repository.AccountRepository;
+import com.stockr.be.domain.trading.entity.TradingOrderStatus;
+import com.stockr.be.domain.trading.repository.LimitOrderRepository;
+import com.stockr.be.global.exception.BusinessException;
+import com.stockr.be.global.exception.ErrorCode;
+import com.stockr.be.global.journal.JournalGroupCommit;
+import com.stockr.be.global.journal.MappedJournal;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 계좌 잔고 원장. 잔고를 원 단위 소수 둘째 자리까지의 long(1/100원)으로 메모리에 두고,
+ * 계좌 ID로 고른 스트라이프 잠금 안에서만 바꾼다. 다른 계좌의 체결은 서로 기다리지 않고, 같은 계좌도 DB 행 잠금이 필요 없다.
+ * 모든 변경은 {@link MappedJournal}에 (종류, 계좌, 증감, 주문 ID)로 먼저 남기고, 변경된 계좌만 주기적으로 accounts 테이블에 체크포인트한다.
+ *
+ * DB 트랜잭션 안에서 부르면 출금은 그 자리에서 예약(가용 잔고에서 차감)만 하고, 입출금 모두 커밋 직전에 PENDING 레코드를 붙인다.
+ * 이 레코드는 체결 저널과 같은 {@link JournalGroupCommit} flush로 커밋 전에 디스크에 내린다.
+ * 커밋 결과가 나오면 COMMITTED/ABORTED 레코드를 붙이고, 체크포인트는 커밋이 기록된 변경만 accounts 테이블에 쓴다.
+ * 그래서 커밋 직전과 롤백 처리 사이에 체크포인트가 돌아도 롤백될 출금이 DB 잔고에 남지 않는다.
+ * 시작 시에는 체크포인트(ledger_sequence) 이후의 적용/커밋 레코드를 다시 반영한다.
+ * 결과 레코드가 디스크에 내려가기 전에 죽은 PENDING 레코드만 주문 상태(EXECUTED)로 커밋 여부를 판단한다.
+ */
+@Slf4j
+@Component
+public class AccountLedger {
+
+    // record: [type 1][accountId 8][deltaCents 8][orderId 8] - COMMITTED/ABORTED는 orderId 자리에 PENDING 레코드의 sequence
+    private static final int RECORD_SIZE = 25;
+    private static final byte APPLIED = 0;    // 트랜잭션 밖에서 바로 반영
+    private static final byte PENDING = 1;    // 커밋 직전에 반영, 결과 대기
+    private static final byte COMMITTED = 2;
+    private static final byte ABORTED = 3;
+
+    private final AccountRepository accountRepository;
+    private final LimitOrderRepository limitOrderRepository;
+    private final JournalGroupCommit groupCommit;
+    private final TransactionTemplate transactionTemplate;
+    private final MappedJournal journal;
+    private final ReentrantLock[] stripes;
+    private final Map<Long, Balance> balances = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    // 결과 레코드가 아직 없는 PENDING 레코드. 이보다 뒤의 세그먼트만 지울 수 있다
+    private final ConcurrentSkipListSet<Long> pending = new ConcurrentSkipListSet<>();
+
+    public AccountLedger(AccountRepository accountRepository, LimitOrderRepository limitOrderRepository,
+            JournalGroupCommit groupCommit, PlatformTransactionManager transactionManager,
+            @Value("${account.ledger.journal-dir}") String journalDirectory,
+            @Value("${account.ledger.segment-records:65536}") int segmentRecords,
+            @Value("${account.ledger.stripes:64}") int stripeCount) {
+        this.accountRepository = accountRepository;
+        this.limitOrderRepository = limitOrderRepository;
+        this.groupCommit = groupCommit;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.journal = new MappedJournal(Path.of(journalDirectory), RECORD_SIZE, segmentRecords);
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        groupCommit.register(journal);
+    }
+
+    /**
+     * 지난 실행에서 체크포인트되지 않은 저널 레코드를 accounts 테이블에 반영하고 저널을 비운다.
+     * APPLIED와 COMMITTED 레코드는 그 sequence가 계좌의 ledger_sequence보다 뒤면 반영하고,
+     * 결과 레코드 없이 남은 PENDING 레코드는 주문이 EXECUTED로 커밋됐을 때만 반영한다.
+     * 이렇게 정한 결과는 DB에 쓰기 전에 COMMITTED/ABORTED 레코드로 저널에 남겨, 다음 복구도 같은 결론을 낸다.
+     * 모든 계좌는 한 트랜잭션으로 쓰고, 커밋된 뒤에만 저널을 비운다. 중간에 실패하면 아무것도 바뀌지 않아 다음 시작에서 다시 복구한다.
+     */
+    @PostConstruct
+    public void recover() {
+        List<long[]> applied = new ArrayList<>();
+        Map<Long, long[]> undecided = new HashMap<>();
+        journal.replay(1, (sequence, record) -> {
+            byte type = record.get(0);
+            long[] change = {sequence, record.getLong(1), record.getLong(9), record.getLong(17)};
+            if (type == PENDING) {
+                undecided.put(sequence, change);
+                return;
+            }
+            if (type == COMMITTED || type == ABORTED) {
+                undecided.remove(change[3]);
+            }
+            if (type != ABORTED) {
+                applied.add(change);
+            }
+        });
+        if (!applied.isEmpty() || !undecided.isEmpty()) {
+            List<long[]> changes = new ArrayList<>(applied);
+            changes.addAll(decide(undecided.values()));
+            changes.sort((a, b) -> Long.compare(a[0], b[0]));
+
+            Set<Long> accountIds = new HashSet<>();
+            changes.forEach(change -> accountIds.add(change[1]));
+            Map<Long, long[]> states = new HashMap<>();
+            for (AccountRepository.LedgerState state : accountRepository.findLedgerStates(accountIds)) {
+                states.put(state.getId(), new long[]{toCents(state.getBalance()), state.getLedgerSequence()});
+            }
+
+            int count = 0;
+            for (long[] change : changes) {
+                long[] state = states.get(change[1]);
+                if (state == null || change[0] <= state[1]) {
+                    continue;
+                }
+                state[0] += change[2];
+                state[1] = change[0];
+                count++;
+            }
+            transactionTemplate.executeWithoutResult(status -> states.forEach((accountId, state) ->
+                    accountRepository.updateLedgerBalance(accountId, fromCents(state[0]), state[1])));
+            log.info("Account ledger recovered {} of {} journal changes for {} accounts",
+                    count, applied.size() + undecided.size(), states.size());
+        }
+        // sequence가 DB에 남은 ledger_sequence보다 뒤에서 시작해야 다음 복구가 새 레코드를 건너뛰지 않는다
+        journal.reset(Math.max(journal.nextSequence(), accountRepository.findMaxLedgerSequence() + 1));
+    }
+
+    /**
+     * 결과 레코드 없이 남은 PENDING 레코드의 커밋 여부를 주문 상태로 정하고, 그 결과를 저널에 붙여 디스크에 내린다.
+     * 반영할 변경은 붙인 COMMITTED 레코드의 sequence로 돌려주므로, DB에 쓴 뒤 저널을 비우기 전에 죽어도
+     * 다음 복구는 ledger_sequence와 비교해 같은 변경을 다시 반영하지 않는다.
+     */
+    private List<long[]> decide(Collection<long[]> undecided) {
+        if (undecided.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> orderIds = new HashSet<>();
+        for (long[] change : undecided) {
+            if (change[3] != 0) {
+                orderIds.add(change[3]);
+            }
+        }
+        Set<Long> committedOrderIds = orderIds.isEmpty() ? Set.of()
+                : new HashSet<>(limitOrderRepository.findIdsByStatus(orderIds, TradingOrderStatus.EXECUTED));
+        List<long[]> decided = new ArrayList<>();
+        undecided.stream().sorted((a, b) -> Long.compare(a[0], b[0])).forEach(change -> {
+            long accountId = change[1];
+            long delta = change[2];
+            long pendingSequence = change[0];
+            if (change[3] != 0 && committedOrderIds.contains(change[3])) {
+                long sequence = journal.append(record ->
+                        record.put(COMMITTED).putLong(accountId).putLong(delta).putLong(pendingSequence));
+                decided.add(new long[]{sequence, accountId, delta, change[3]});
+            } else {
+                log.warn("Dropping undecided ledger record {} of account {} (order {})",
+                        pendingSequence, accountId, change[3]);
+                journal.append(record ->
+                        record.put(ABORTED).putLong(accountId).putLong(delta).putLong(pendingSequence));
+            }
+        });
+        journal.force();
+        return decided;
+    }
+
+    /**
+     * 커밋 직전 fsync를 기다리던 트랜잭션을 실패(롤백)시킨 뒤 마지막 체크포인트를 하고 저널을 닫는다.
+     */
+    @PreDestroy
+    public void close() {
+        groupCommit.stop();
+        checkpoint();
+        journal.close();
+    }
+
+    /**
+     * 현재 잔고 (커밋 전 예약분은 빼지 않는다)
+     */
+    public BigDecimal balance(Long accountId) {
+        Balance balance = balanceOf(accountId);
+        ReentrantLock lock = stripe(accountId);
+        lock.lock();
+        try {
+            return fromCents(balance.cents);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 가용 잔고가 충분하면 출금한다.
+     *
+     * @param orderId 체결 주문 ID, 주문과 무관하면 0
+     * @return 잔고가 부족하면 false (아무것도 바꾸지 않는다)
+     */
+    public boolean tryWithdraw(Long accountId, BigDecimal amount, long orderId) {
+        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("출금액은 0보다 커야 합니다.");
+        }
+        long cents = toCents(amount);
+        Balance balance = balanceOf(accountId);
+        ReentrantLock lock = stripe(accountId);
+        boolean deferred = inTransaction();
+        lock.lock();
+        try {
+            if (balance.cents - balance.reserved < cents) {
+                return false;
+            }
+            if (!deferred) {
+                apply(accountId, balance, -cents, orderId);
+                return true;
+            }
+            balance.reserved += cents;
+        } finally {
+            lock.unlock();
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long sequence;
+
+            @Override
+            public int getOrder() {
+                return JournalGroupCommit.APPEND_ORDER;
+            }
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                lock.lock();
+                try {
+                    balance.reserved -= cents;
+                    sequence = applyPending(accountId, balance, -cents, orderId);
+                } finally {
+                    lock.unlock();
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                lock.lock();
+                try {
+                    if (sequence == 0) {
+                        balance.reserved -= cents;
+                    } else {
+                        settle(accountId, balance, -cents, sequence, status == STATUS_COMMITTED);
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        });
+        groupCommit.awaitBeforeCommit();
+        return true;
+    }
+
+    /**
+     * @param orderId 체결 주문 ID, 주문과 무관하면 0
+     */
+    public void deposit(Long accountId, BigDecimal amount, long orderId) {
+        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("입금액은 0보다 커야 합니다.");
+        }
+        long cents = toCents(amount);
+        Balance balance = balanceOf(accountId);
+        ReentrantLock lock = stripe(accountId);
+        if (!inTransaction()) {
+            lock.lock();
+            try {
+                apply(accountId, balance, cents, orderId);
+            } finally {
+                lock.unlock();
+            }
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long sequence;
+
+            @Override
+            public int getOrder() {
+                return JournalGroupCommit.APPEND_ORDER;
+            }
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                lock.lock();
+                try {
+                    sequence = applyPending(accountId, balance, cents, orderId);
+                } finally {
+                    lock.unlock();
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (sequence == 0) {
+                    return;
+                }
+                lock.lock();
+                try {
+                    settle(accountId, balance, cents, sequence, status == STATUS_COMMITTED);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        });
+        groupCommit.awaitBeforeCommit();
+    }
+
+    /**
+     * 변경된 계좌의 커밋된 잔고와 마지막 sequence를 accounts 테이블에 쓰고, 모두 반영된 저널 세그먼트를 지운다.
+     * 결과를 기다리는 PENDING 레코드가 있는 세그먼트는 남긴다.
+     */
+    @Scheduled(fixedDelayString = "${account.ledger.checkpoint-interval-ms:5000}")
+    public void checkpoint() {
+        // 결과 레코드를 붙인 뒤에 pending에서 빼므로, 여기서 빠져 있던 PENDING의 결과는 upTo 앞에 있다
+        long firstPending = pending.isEmpty() ? Long.MAX_VALUE : pending.first();
+        // 이 값보다 앞선 레코드의 계좌는 레코드를 쓰기 전에 이미 dirty에 들어가 있다
+        long upTo = journal.nextSequence();
+        List<long[]> snapshots = new ArrayList<>(dirty.size());
+        for (Long accountId : dirty) {
+            dirty.remove(accountId);
+            Balance balance = balances.get(accountId);
+            ReentrantLock lock = stripe(accountId);
+            lock.lock();
+            try {
+                snapshots.add(new long[]{accountId, balance.committedCents, balance.committedSequence});
+            } finally {
+                lock.unlock();
+            }
+        }
+        // 쓰려는 잔고에 들어간 커밋 레코드가 디스크에 없으면, 죽은 뒤 복구가 같은 변경을 PENDING으로 보고 다시 반영한다
+        journal.force();
+        for (int i = 0; i < snapshots.size(); i++) {
+            long[] snapshot = snapshots.get(i);
+            try {
+                accountRepository.updateLedgerBalance(snapshot[0], fromCents(snapshot[1]), snapshot[2]);
+            } catch (RuntimeException e) {
+                snapshots.subList(i, snapshots.size()).forEach(rest -> dirty.add(rest[0]));
+                log.error("Failed to checkpoint balance of account {}", snapshot[0], e);
+                return;
+            }
+        }
+        journal.truncateBefore(Math.min(upTo, firstPending));
+        if (!snapshots.isEmpty()) {
+            log.debug("Checkpointed {} account balances up to journal sequence {}", snapshots.size(), upTo);
+        }
+    }
+
+    // 호출자가 계좌 스트라이프 잠금을 잡고 있어야 한다
+    private void apply(Long accountId, Balance balance, long delta, long orderId) {
+        dirty.add(accountId);
+        long sequence = journal.append(record -> record.put(APPLIED).putLong(accountId).putLong(delta).putLong(orderId));
+        balance.cents += delta;
+        balance.committedCents += delta;
+        balance.committedSequence = sequence;
+    }
+
+    // 호출자가 계좌 스트라이프 잠금을 잡고 있어야 한다. 체크포인트에는 커밋 레코드가 붙은 뒤에야 들어간다
+    private long applyPending(Long accountId, Balance balance, long delta, long orderId) {
+        long sequence = journal.append(record -> record.put(PENDING).putLong(accountId).putLong(delta).putLong(orderId));
+        pending.add(sequence);
+        balance.cents += delta;
+        return sequence;
+    }
+
+    // 호출자가 계좌 스트라이프 잠금을 잡고 있어야 한다
+    private void settle(Long accountId, Balance balance, long delta, long pendingSequence, boolean committed) {
+        try {
+            if (committed) {
+                dirty.add(accountId);
+                long sequence = journal.append(record ->
+                        record.put(COMMITTED).putLong(accountId).putLong(delta).putLong(pendingSequence));
+                balance.committedCents += delta;
+                balance.committedSequence = sequence;
+            } else {
+                balance.cents -= delta;
+                journal.append(record ->
+                        record.put(ABORTED).putLong(accountId).putLong(delta).putLong(pendingSequence));
+            }
+        } catch (RuntimeException e) {
+            // 결과 레코드가 없으면 복구가 주문 상태로 판단한다. PENDING 레코드가 남아 있도록 pending에서 빼지 않는다
+            log.error("Failed to journal outcome of ledger record {}", pendingSequence, e);
+            return;
+        }
+        pending.remove(pendingSequence);
+    }
+
+    private Balance balanceOf(Long accountId) {
+        Balance balance = balances.get(accountId);
+        if (balance != null) {
+            return balance;
+        }
+        BigDecimal stored = accountRepository.findBalanceById(accountId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.ACCOUNT_NOT_FOUND));
+        return balances.computeIfAbsent(accountId, id -> new Balance(toCents(stored)));
+    }
+
+    private ReentrantLock stripe(Long accountId) {
+        return stripes[Math.floorMod(Long.hashCode(accountId) * 0x9E3779B9, stripes.length)];
+    }
+
+    private static boolean inTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isSynchronizationActive();
+    }
+
+    static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+
+    static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    /**
+     * 계좌 하나의 메모리 잔고. 필드는 해당 스트라이프 잠금 안에서만 읽고 쓴다.
+     * cents는 커밋 직전에 붙인(결과 대기) 변경까지 포함하고, committedCents/committedSequence는 체크포인트에 쓰는 값이다.
+     */
+    private static final class Balance {
+        private long cents;
+        private long reserved;
+        private long committedCents;
+        private long committedSequence;
+
+        private Balance(long cents) {
+            this.cents = cents;
+            this.committedCents = cents;
+        }
+    }
+}
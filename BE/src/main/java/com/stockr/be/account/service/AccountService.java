@@ -6,8 +6,7 @@ import com.stockr.be.account.dto.AccountResponseDto;
 import com.stockr.be.account.dto.TradeRequestDto;
 import com.stockr.be.account.dto.TradeResponseDto;
 import com.stockr.be.account.repository.AccountRepository;
-import com.stockr.be.domain.stock.entity.Stock;
-import com.stockr.be.domain.stock.repository.StockRepository;
+import com.stockr.be.domain.stock.service.StockCatalog;
 import com.stockr.be.global.exception.BusinessException;
 import com.stockr.be.global.exception.ErrorCode;
 import com.stockr.be.user.domain.User;
@@ -17,6 +16,7 @@ import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -32,7 +32,8 @@ public class AccountService {
 
     private final AccountRepository accountRepository;
     private final UserRepository userRepository;
-    private final StockRepository stockRepository;
+    private final StockCatalog stockCatalog;
+    private final AccountLedger accountLedger;
 
     /**
      * 계좌 생성
@@ -93,18 +94,22 @@ public class AccountService {
         Account account = accountRepository.findByUser(user)
                 .orElseThrow(() -> new BusinessException(ErrorCode.ACCOUNT_NOT_FOUND));
         log.debug("계좌 조회 완료 - account: {}", account);
-        return AccountResponseDto.fromEntity(account);
+        return AccountResponseDto.fromEntity(account, accountLedger.balance(account.getId()));
     }
 
-    @Transactional
+    /**
+     * 잔고는 {@link AccountLedger}가 계좌 잠금 안에서 바꾸므로 DB 트랜잭션(행 잠금) 없이 처리한다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public TradeResponseDto processTrade(Long userId, TradeRequestDto request) {
         User user = userRepository.findById(userId).orElseThrow(() -> new EntityNotFoundException("사용자를 찾을 수 없습니다."));
         // 1. 계좌와 주식 정보 조회
         Account account = accountRepository.findByUser(user)
                 .orElseThrow(() -> new BusinessException(ErrorCode.ACCOUNT_NOT_FOUND));
 
-        Stock stock = stockRepository.findByTicker(request.getTicker())
-                .orElseThrow(() -> new BusinessException(ErrorCode.STOCK_NOT_FOUND));
+        if (!stockCatalog.contains(request.getTicker())) {
+            throw new BusinessException(ErrorCode.STOCK_NOT_FOUND);
+        }
 
         // 2. 거래 금액 계산
         BigDecimal tradeAmount = BigDecimal.valueOf(request.getPrice())
@@ -113,27 +118,23 @@ public class AccountService {
         // 3. 거래 유형에 따른 처리
         if ("BUY".equals(request.getType())) {
             // 매수 처리
-            if (account.getBalance().compareTo(tradeAmount) < 0) {
+            if (!accountLedger.tryWithdraw(account.getId(), tradeAmount, 0)) {
                 throw new BusinessException(ErrorCode.INSUFFICIENT_BALANCE);
             }
-            account.setBalance(account.getBalance().subtract(tradeAmount));
         } else if ("SELL".equals(request.getType())) {
             // 매도 처리 (여기서는 보유 주식 확인 로직은 생략)
-            account.setBalance(account.getBalance().add(tradeAmount));
+            accountLedger.deposit(account.getId(), tradeAmount, 0);
         } else {
             throw new BusinessException(ErrorCode.INVALID_TRADE_TYPE);
         }
 
-        // 4. 계좌 정보 저장
-        Account updatedAccount = accountRepository.save(account);
-
-        // 5. 거래 결과 반환
+        // 4. 거래 결과 반환
         return TradeResponseDto.builder()
                 .ticker(request.getTicker())
                 .quantity(request.getQuantity())
                 .tradedPrice(BigDecimal.valueOf(request.getPrice()))
                 .totalAmount(tradeAmount)
-                .remainingBalance(updatedAccount.getBalance())
+                .remainingBalance(accountLedger.balance(account.getId()))
                 .type(request.getType())
                 .status("COMPLETED")
                 .build();
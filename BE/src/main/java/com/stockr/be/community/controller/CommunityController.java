@@ -4,6 +4,7 @@ import com.stockr.be.community.dto.*;
 import com.stockr.be.community.service.CommentService;
 import com.stockr.be.community.service.PostService;
 import com.stockr.be.global.common.ApiResponse;
+import com.stockr.be.global.common.CursorPage;
 import com.stockr.be.user.domain.User;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -85,6 +86,37 @@ public class CommunityController {
         return ResponseEntity.ok(ApiResponse.success(posts));
     }
     
+    // 커서 기반 무한 스크롤 - 응답의 nextCursor를 다음 요청의 cursor로 넘긴다 (전체 개수 없음)
+    @GetMapping("/posts/scroll")
+    public ResponseEntity<ApiResponse<CursorPage<PostResponseDto>>> scrollPosts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @AuthenticationPrincipal User user) {
+        Long userId = user != null ? user.getUserId() : null;
+        return ResponseEntity.ok(ApiResponse.success(
+                postService.scrollPosts(cursor, CursorPage.clampSize(size), userId)));
+    }
+    
+    @GetMapping("/posts/my-interests/scroll")
+    public ResponseEntity<ApiResponse<CursorPage<PostResponseDto>>> scrollPostsByUserFavoriteStocks(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(ApiResponse.success(
+                postService.scrollPostsByUserFavoriteStocks(cursor, CursorPage.clampSize(size), user.getUserId())));
+    }
+    
+    @GetMapping("/posts/stock/{stockCode}/scroll")
+    public ResponseEntity<ApiResponse<CursorPage<PostResponseDto>>> scrollPostsByStock(
+            @PathVariable String stockCode,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @AuthenticationPrincipal User user) {
+        Long userId = user != null ? user.getUserId() : null;
+        return ResponseEntity.ok(ApiResponse.success(
+                postService.scrollPostsByStock(stockCode, cursor, CursorPage.clampSize(size), userId)));
+    }
+    
     @GetMapping("/user/favorite-stocks")
     public ResponseEntity<ApiResponse<List<FavoriteStockDto>>> getUserFavoriteStocks(
             @AuthenticationPrincipal User user) {
@@ -147,6 +179,15 @@ public class CommunityController {
         return ResponseEntity.ok(ApiResponse.success(comments));
     }
     
+    @GetMapping("/posts/{postId}/comments/scroll")
+    public ResponseEntity<ApiResponse<CursorPage<CommentResponseDto>>> scrollCommentsByPost(
+            @PathVariable Long postId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(ApiResponse.success(
+                commentService.scrollCommentsByPost(postId, cursor, CursorPage.clampSize(size))));
+    }
+    
     @PutMapping("/comments/{commentId}")
     public ResponseEntity<ApiResponse<CommentResponseDto>> updateComment(
             @PathVariable Long commentId,
@@ -9,7 +9,8 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = @Index(name = "idx_comments_post_created_at_id",
+        columnList = "post_id, created_at, id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -42,6 +42,11 @@ public class PostResponseDto {
     }
 
     public static PostResponseDto from(Post post, boolean isLikedByUser) {
+        return from(post, isLikedByUser, post.getLikes());
+    }
+
+    // 아직 DB에 반영되지 않은 좋아요 증감을 더한 좋아요 수로 응답할 때
+    public static PostResponseDto from(Post post, boolean isLikedByUser, Integer likes) {
         return PostResponseDto.builder()
             .id(post.getId())
             .title(post.getTitle())
@@ -49,7 +54,7 @@ public class PostResponseDto {
             .author(post.getAuthor().getNickname())
             .createdAt(post.getCreatedAt())
             .lastCommentTime(post.getLastCommentTime())
-            .likes(post.getLikes())
+            .likes(likes)
             .commentCount(post.getCommentCount())
             .stockCode(post.getStockCode())
             .stockName(post.getStockName())
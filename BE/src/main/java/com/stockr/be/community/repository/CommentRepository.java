@@ -5,8 +5,12 @@ import com.stockr.be.community.domain.Post;
 import com.stockr.be.user.domain.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
@@ -17,6 +21,14 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     // 특정 게시글의 댓글을 페이징으로 조회
     Page<Comment> findByPostOrderByCreatedAtAsc(Post post, Pageable pageable);
     
+    // 키셋 페이지네이션 - (createdAt, id) 오름차순으로 커서 다음 댓글부터 조회 (createdAt이 null이면 첫 페이지)
+    @EntityGraph(attributePaths = "author")
+    @Query("SELECT c FROM Comment c WHERE c.post.id = :postId " +
+            "AND (:createdAt IS NULL OR c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) " +
+            "ORDER BY c.createdAt ASC, c.id ASC")
+    List<Comment> findByPostIdAfter(@Param("postId") Long postId, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id, Pageable pageable);
+    
     // 특정 사용자가 작성한 댓글 조회
     Page<Comment> findByAuthorOrderByCreatedAtDesc(User author, Pageable pageable);
     
@@ -4,8 +4,13 @@ import com.stockr.be.community.domain.Post;
 import com.stockr.be.community.domain.PostLike;
 import com.stockr.be.user.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
 public interface PostLikeRepository extends JpaRepository<PostLike, Long> {
     
@@ -15,11 +20,26 @@ public interface PostLikeRepository extends JpaRepository<PostLike, Long> {
     // 특정 사용자가 특정 게시글에 좋아요를 눌렀는지 존재 여부 확인
     boolean existsByPostAndUser(Post post, User user);
     
+    // 게시글 목록 중 사용자가 좋아요한 게시글 ID (피드 한 페이지를 한 번에 조회)
+    @Query("SELECT pl.post.id FROM PostLike pl WHERE pl.user.userId = :userId AND pl.post.id IN :postIds")
+    Set<Long> findLikedPostIds(@Param("userId") Long userId, @Param("postIds") Collection<Long> postIds);
+    
     // 특정 게시글의 좋아요 수 카운트
     long countByPost(Post post);
     
     // 특정 게시글의 좋아요 삭제
     void deleteByPostAndUser(Post post, User user);
+
+    // 좋아요 취소 - 실제로 지운 행 수를 돌려준다 (동시 토글에서도 한 번만 1)
+    @Modifying
+    @Query("DELETE FROM PostLike pl WHERE pl.post.id = :postId AND pl.user.userId = :userId")
+    int deleteByPostIdAndUserId(@Param("postId") Long postId, @Param("userId") Long userId);
+
+    // 좋아요 추가 - (post_id, user_id) 유니크 제약으로 이미 있으면 무시하고 0을 돌려준다
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO post_likes (post_id, user_id, created_at) VALUES (:postId, :userId, NOW(6))",
+            nativeQuery = true)
+    int insertIgnore(@Param("postId") Long postId, @Param("userId") Long userId);
     
     // 특정 게시글의 모든 좋아요 삭제
     void deleteByPost(Post post);
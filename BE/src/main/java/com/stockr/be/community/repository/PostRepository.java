@@ -4,32 +4,68 @@ import com.stockr.be.community.domain.Post;
 import com.stockr.be.user.domain.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+// 목록 조회는 작성자 닉네임을 함께 내려주므로 author를 fetch join한다
 public interface PostRepository extends JpaRepository<Post, Long> {
     
     // 모든 게시글을 최신순으로 조회
+    @EntityGraph(attributePaths = "author")
     Page<Post> findAllByOrderByCreatedAtDesc(Pageable pageable);
     
     // 특정 종목 태그로 게시글 조회
+    @EntityGraph(attributePaths = "author")
     Page<Post> findByStockCodeOrderByCreatedAtDesc(String stockCode, Pageable pageable);
     
-    // 제목 또는 내용에 키워드가 포함된 게시글 검색
-    @Query("SELECT p FROM Post p WHERE p.title LIKE %:keyword% OR p.content LIKE %:keyword% ORDER BY p.createdAt DESC")
-    Page<Post> findByTitleOrContentContaining(@Param("keyword") String keyword, Pageable pageable);
-    
     // 특정 사용자가 작성한 게시글 조회
+    @EntityGraph(attributePaths = "author")
     Page<Post> findByAuthorOrderByCreatedAtDesc(User author, Pageable pageable);
     
     // 특정 종목들의 게시글 조회 (사용자 관심 종목 기반)
+    @EntityGraph(attributePaths = "author")
     Page<Post> findByStockCodeInOrderByCreatedAtDesc(List<String> stockCodes, Pageable pageable);
     
     // 관심 종목의 게시글 + 종목 태그가 없는 게시글 조회
+    @EntityGraph(attributePaths = "author")
     Page<Post> findByStockCodeInOrStockCodeIsNullOrderByCreatedAtDesc(List<String> stockCodes, Pageable pageable);
 
+    @EntityGraph(attributePaths = "author")
     List<Post> findTop4ByOrderByLastCommentTimeDesc();
+
+    // 검색 색인이 고른 게시글 조회
+    @EntityGraph(attributePaths = "author")
+    List<Post> findByIdIn(Collection<Long> ids);
+
+    // 키셋 페이지네이션 - (createdAt, id) 내림차순으로 커서 다음 행부터 조회 (createdAt이 null이면 첫 페이지)
+    @EntityGraph(attributePaths = "author")
+    @Query("SELECT p FROM Post p WHERE (:createdAt IS NULL OR p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findFeedAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = "author")
+    @Query("SELECT p FROM Post p WHERE p.stockCode IN :stockCodes " +
+            "AND (:createdAt IS NULL OR p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findFeedByStockCodesAfter(@Param("stockCodes") Collection<String> stockCodes,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    // 좋아요/댓글 수 증감 반영 (PostCounterBuffer가 같은 증감값의 게시글을 묶어 호출)
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.likes = CASE WHEN p.likes + :delta < 0 THEN 0 ELSE p.likes + :delta END WHERE p.id IN :postIds")
+    int addLikes(@Param("delta") int delta, @Param("postIds") Collection<Long> postIds);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = CASE WHEN p.commentCount + :delta < 0 THEN 0 ELSE p.commentCount + :delta END WHERE p.id IN :postIds")
+    int addCommentCount(@Param("delta") int delta, @Param("postIds") Collection<Long> postIds);
 } 
\ No newline at end of file
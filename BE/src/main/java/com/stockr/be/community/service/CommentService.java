@@ -6,12 +6,15 @@ import com.stockr.be.community.dto.CommentCreateRequestDto;
 import com.stockr.be.community.dto.CommentResponseDto;
 import com.stockr.be.community.repository.CommentRepository;
 import com.stockr.be.community.repository.PostRepository;
+import com.stockr.be.global.common.Cursor;
+import com.stockr.be.global.common.CursorPage;
 import com.stockr.be.global.exception.BusinessException;
 import com.stockr.be.global.exception.ErrorCode;
 import com.stockr.be.user.domain.User;
 import com.stockr.be.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,6 +30,7 @@ public class CommentService {
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
     private final UserRepository userRepository;
+    private final PostCounterBuffer postCounterBuffer;
     
     public CommentResponseDto createComment(Long postId, CommentCreateRequestDto requestDto, Long userId) {
         Post post = postRepository.findById(postId)
@@ -48,9 +52,8 @@ public class CommentService {
         
         Comment savedComment = commentRepository.save(comment);
         
-        // 게시글의 댓글 수 업데이트
-        post.setCommentCount(post.getCommentCount() + 1);
-        postRepository.save(post);
+        // 게시글의 댓글 수는 커밋 후 write-behind로 반영
+        postCounterBuffer.addCommentsAfterCommit(postId, 1);
         
         return CommentResponseDto.from(savedComment);
     }
@@ -66,6 +69,21 @@ public class CommentService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * 커서 기반 댓글 목록 (작성 순). 댓글이 많은 게시글도 한 번에 size개만 읽는다.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CommentResponseDto> scrollCommentsByPost(Long postId, String cursor, int size) {
+        if (!postRepository.existsById(postId)) {
+            throw new BusinessException(ErrorCode.POST_NOT_FOUND);
+        }
+        Cursor after = Cursor.decode(cursor);
+        List<Comment> rows = commentRepository.findByPostIdAfter(postId, after == null ? null : after.time(),
+                after == null ? null : after.longId(), PageRequest.of(0, size + 1));
+        return CursorPage.of(rows, size, comment -> Cursor.encode(comment.getCreatedAt(), comment.getId()))
+                .map(CommentResponseDto::from);
+    }
+    
     public CommentResponseDto updateComment(Long commentId, CommentCreateRequestDto requestDto, Long userId) {
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.COMMENT_NOT_FOUND));
@@ -90,12 +108,11 @@ public class CommentService {
             throw new BusinessException(ErrorCode.UNAUTHORIZED_ACCESS);
         }
         
-        Post post = comment.getPost();
+        Long postId = comment.getPost().getId();
         
         commentRepository.delete(comment);
         
-        // 게시글의 댓글 수 업데이트
-        post.setCommentCount(Math.max(0, post.getCommentCount() - 1));
-        postRepository.save(post);
+        // 게시글의 댓글 수는 커밋 후 write-behind로 반영
+        postCounterBuffer.addCommentsAfterCommit(postId, -1);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.stockr.be.community.service;
+
+import com.stockr.be.community.repository.PostRepository;
+import com.stockr.be.global.common.TransactionCallbacks;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 게시글 좋아요/댓글 수의 write-behind 버퍼.
+ * 요청 스레드는 게시글 행을 잠그지 않고 게시글별 LongAdder에 증감만 더하고,
+ * 주기적으로 모인 증감을 같은 증감값끼리 묶어 UPDATE ... SET likes = likes + :delta 로 반영한다.
+ * 증감은 트랜잭션이 커밋된 뒤에만 더하므로 롤백된 좋아요/댓글은 집계되지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostCounterBuffer {
+
+    private final PostRepository postRepository;
+    private final Map<Long, LongAdder> likeDeltas = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> commentDeltas = new ConcurrentHashMap<>();
+
+    public void addLikesAfterCommit(Long postId, int delta) {
+        TransactionCallbacks.runAfterCommit(() -> add(likeDeltas, postId, delta));
+    }
+
+    public void addCommentsAfterCommit(Long postId, int delta) {
+        TransactionCallbacks.runAfterCommit(() -> add(commentDeltas, postId, delta));
+    }
+
+    /**
+     * 아직 DB에 반영되지 않은 좋아요 증감
+     */
+    public int pendingLikes(Long postId) {
+        LongAdder adder = likeDeltas.get(postId);
+        return adder == null ? 0 : (int) adder.sum();
+    }
+
+    @Scheduled(fixedDelayString = "${community.counter.flush-interval-ms:1000}")
+    public void flush() {
+        flush(likeDeltas, postRepository::addLikes);
+        flush(commentDeltas, postRepository::addCommentCount);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void flush(Map<Long, LongAdder> deltas, CounterUpdate update) {
+        // 증감값이 같은 게시글끼리 묶어 UPDATE 한 번으로 보낸다 (대부분 +1/-1)
+        Map<Long, List<Long>> postIdsByDelta = new HashMap<>();
+        Map<Long, Long> flushed = new HashMap<>();
+        deltas.forEach((postId, adder) -> {
+            long delta = adder.sum();
+            if (delta == 0) {
+                deltas.remove(postId, adder);
+                return;
+            }
+            postIdsByDelta.computeIfAbsent(delta, d -> new ArrayList<>()).add(postId);
+            flushed.put(postId, delta);
+        });
+
+        postIdsByDelta.forEach((delta, postIds) -> {
+            try {
+                update.apply(delta.intValue(), postIds);
+                // 반영한 만큼만 빼므로 그 사이 들어온 증감은 다음 주기로 넘어간다
+                postIds.forEach(postId -> deltas.get(postId).add(-flushed.get(postId)));
+            } catch (RuntimeException e) {
+                log.warn("Failed to flush post counters (delta {}, {} posts), retrying next cycle",
+                        delta, postIds.size(), e);
+            }
+        });
+    }
+
+    private static void add(Map<Long, LongAdder> deltas, Long postId, int delta) {
+        while (true) {
+            LongAdder adder = deltas.computeIfAbsent(postId, id -> new LongAdder());
+            adder.add(delta);
+            if (deltas.get(postId) == adder) {
+                return;
+            }
+            // flush가 0이 된 adder를 막 치운 경우: 버려진 adder에서 되돌리고 새 adder에 다시 더한다
+            adder.add(-delta);
+        }
+    }
+
+    @FunctionalInterface
+    private interface CounterUpdate {
+        int apply(int delta, List<Long> postIds);
+    }
+}
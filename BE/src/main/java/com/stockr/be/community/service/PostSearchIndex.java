@@ -0,0 +1,62 @@
+package com.stockr.be.community.service;
+
+import com.stockr.be.community.domain.Post;
+import com.stockr.be.community.repository.PostRepository;
+import com.stockr.be.global.common.TransactionCallbacks;
+import com.stockr.be.global.search.InvertedIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+/**
+ * 커뮤니티 게시글 제목/내용 검색용 인메모리 역색인.
+ * 기동 시 전체 게시글로 한 번 만들고, 이후에는 게시글 작성/수정/삭제 트랜잭션이 커밋된 뒤에만 갱신한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostSearchIndex {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final PostRepository postRepository;
+    private final InvertedIndex<Long> index = new InvertedIndex<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        Page<Post> page;
+        int pageNumber = 0;
+        do {
+            page = postRepository.findAll(PageRequest.of(pageNumber++, LOAD_BATCH_SIZE, Sort.by("id")));
+            page.forEach(this::put);
+        } while (page.hasNext());
+        log.info("Indexed {} community posts for search", index.size());
+    }
+
+    public void putAfterCommit(Post post) {
+        long postId = post.getId();
+        String title = post.getTitle();
+        String content = post.getContent();
+        TransactionCallbacks.runAfterCommit(() -> index.put(postId, postId, title, content));
+    }
+
+    public void removeAfterCommit(Long postId) {
+        TransactionCallbacks.runAfterCommit(() -> index.remove(postId));
+    }
+
+    /**
+     * 관련도(제목 가중 tf-idf) 순, 동점이면 최신 글 순으로 한 페이지의 게시글 ID를 돌려준다.
+     */
+    public InvertedIndex.Result<Long> search(String keyword, int offset, int limit) {
+        return index.search(keyword, offset, limit);
+    }
+
+    private void put(Post post) {
+        index.put(post.getId(), post.getId(), post.getTitle(), post.getContent());
+    }
+}
@@ -1,7 +1,6 @@
 package com.stockr.be.community.service;
 
 import com.stockr.be.community.domain.Post;
-import com.stockr.be.community.domain.PostLike;
 import com.stockr.be.community.dto.FavoriteStockDto;
 import com.stockr.be.community.dto.PostCreateRequestDto;
 import com.stockr.be.community.dto.PostResponseDto;
@@ -10,18 +9,28 @@ import com.stockr.be.community.repository.PostLikeRepository;
 import com.stockr.be.community.repository.PostRepository;
 import com.stockr.be.domain.stock.entity.Stock;
 import com.stockr.be.domain.stock.service.FavoriteService;
+import com.stockr.be.global.common.Cursor;
+import com.stockr.be.global.common.CursorPage;
 import com.stockr.be.global.exception.BusinessException;
 import com.stockr.be.global.exception.ErrorCode;
+import com.stockr.be.global.search.InvertedIndex;
 import com.stockr.be.user.domain.User;
 import com.stockr.be.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -35,6 +44,8 @@ public class PostService {
     private final CommentRepository commentRepository;
     private final UserRepository userRepository;
     private final FavoriteService favoriteService;
+    private final PostSearchIndex postSearchIndex;
+    private final PostCounterBuffer postCounterBuffer;
     
     public PostResponseDto createPost(PostCreateRequestDto requestDto, String email) {
         User author = userRepository.findByEmail(email)
@@ -46,8 +57,7 @@ public class PostService {
         }
         
         // 관심 종목이 없으면 글 작성 불가
-        List<Stock> favoriteStocks = favoriteService.getFavoriteStocks(author.getUserId());
-        if (favoriteStocks.isEmpty()) {
+        if (favoriteService.getFavoriteTickers(author.getUserId()).isEmpty()) {
             throw new BusinessException(ErrorCode.NO_FAVORITE_STOCKS);
         }
         
@@ -60,37 +70,34 @@ public class PostService {
                 .build();
         
         Post savedPost = postRepository.save(post);
+        postSearchIndex.putAfterCommit(savedPost);
         return PostResponseDto.from(savedPost);
     }
     
     @Transactional(readOnly = true)
     public Page<PostResponseDto> getAllPosts(Pageable pageable, Long userId) {
         Page<Post> posts = postRepository.findAllByOrderByCreatedAtDesc(pageable);
-        return posts.map(post -> {
-            boolean isLiked = userId != null && postLikeRepository.existsByPostAndUser(post, 
-                    userRepository.findById(userId).orElse(null));
-            return PostResponseDto.from(post, isLiked);
-        });
+        return toFeedPage(posts, userId);
     }
     
     @Transactional(readOnly = true)
     public Page<PostResponseDto> getPostsByStock(String stockCode, Pageable pageable, Long userId) {
         Page<Post> posts = postRepository.findByStockCodeOrderByCreatedAtDesc(stockCode, pageable);
-        return posts.map(post -> {
-            boolean isLiked = userId != null && postLikeRepository.existsByPostAndUser(post, 
-                    userRepository.findById(userId).orElse(null));
-            return PostResponseDto.from(post, isLiked);
-        });
+        return toFeedPage(posts, userId);
     }
     
     @Transactional(readOnly = true)
     public Page<PostResponseDto> searchPosts(String keyword, Pageable pageable, Long userId) {
-        Page<Post> posts = postRepository.findByTitleOrContentContaining(keyword, pageable);
-        return posts.map(post -> {
-            boolean isLiked = userId != null && postLikeRepository.existsByPostAndUser(post, 
-                    userRepository.findById(userId).orElse(null));
-            return PostResponseDto.from(post, isLiked);
-        });
+        // LIKE 전체 스캔 대신 역색인에서 관련도 순으로 한 페이지만 고른다
+        InvertedIndex.Result<Long> result = postSearchIndex.search(keyword, (int) pageable.getOffset(),
+                pageable.getPageSize());
+        Map<Long, Post> postsById = postRepository.findByIdIn(result.keys()).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        List<Post> ordered = result.keys().stream()
+                .map(postsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return toFeedPage(new PageImpl<>(ordered, pageable, result.total()), userId);
     }
     
     @Transactional(readOnly = true)
@@ -104,10 +111,7 @@ public class PostService {
     @Transactional(readOnly = true)
     public Page<PostResponseDto> getPostsByUserFavoriteStocks(Pageable pageable, Long userId) {
         // 사용자의 관심 종목 코드 목록 조회
-        List<Stock> favoriteStocks = favoriteService.getFavoriteStocks(userId);
-        List<String> stockCodes = favoriteStocks.stream()
-                .map(Stock::getTicker)
-                .collect(Collectors.toList());
+        List<String> stockCodes = favoriteService.getFavoriteTickers(userId);
         
         // 관심 종목이 없으면 빈 페이지 반환
         if (stockCodes.isEmpty()) {
@@ -117,12 +121,40 @@ public class PostService {
         // 관심 종목이 있는 글들만 조회 (종목 태그가 없는 글은 제외)
         Page<Post> posts = postRepository.findByStockCodeInOrderByCreatedAtDesc(stockCodes, pageable);
         
-        User user = userRepository.findById(userId).orElse(null);
-        return posts.map(post -> {
-            boolean isLiked = user != null && postLikeRepository.existsByPostAndUser(post, user);
-            log.debug("Post {} 좋아요 상태: {} (userId: {})", post.getId(), isLiked, userId);
-            return PostResponseDto.from(post, isLiked);
-        });
+        return toFeedPage(posts, userId);
+    }
+    
+    /**
+     * 커서 기반 전체 피드. COUNT/OFFSET 없이 (createdAt, id) 인덱스를 커서 위치부터 읽는다.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PostResponseDto> scrollPosts(String cursor, int size, Long userId) {
+        Cursor after = Cursor.decode(cursor);
+        List<Post> rows = postRepository.findFeedAfter(after == null ? null : after.time(),
+                after == null ? null : after.longId(), PageRequest.of(0, size + 1));
+        return toFeedCursorPage(rows, size, userId);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<PostResponseDto> scrollPostsByStock(String stockCode, String cursor, int size, Long userId) {
+        return scrollPostsByStockCodes(List.of(stockCode), cursor, size, userId);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<PostResponseDto> scrollPostsByUserFavoriteStocks(String cursor, int size, Long userId) {
+        List<String> stockCodes = favoriteService.getFavoriteTickers(userId);
+        return scrollPostsByStockCodes(stockCodes, cursor, size, userId);
+    }
+
+    private CursorPage<PostResponseDto> scrollPostsByStockCodes(List<String> stockCodes, String cursor, int size,
+            Long userId) {
+        Cursor after = Cursor.decode(cursor);
+        if (stockCodes.isEmpty()) {
+            return CursorPage.empty();
+        }
+        List<Post> rows = postRepository.findFeedByStockCodesAfter(stockCodes, after == null ? null : after.time(),
+                after == null ? null : after.longId(), PageRequest.of(0, size + 1));
+        return toFeedCursorPage(rows, size, userId);
     }
     
     public PostResponseDto updatePost(Long postId, PostCreateRequestDto requestDto, Long userId) {
@@ -140,6 +172,7 @@ public class PostService {
         post.setStockName(requestDto.getStockName());
         
         Post updatedPost = postRepository.save(post);
+        postSearchIndex.putAfterCommit(updatedPost);
         boolean isLiked = postLikeRepository.existsByPostAndUser(post, post.getAuthor());
         return PostResponseDto.from(updatedPost, isLiked);
     }
@@ -162,41 +195,64 @@ public class PostService {
         
         // 게시글 삭제
         postRepository.delete(post);
+        postSearchIndex.removeAfterCommit(postId);
     }
     
+    /**
+     * 좋아요 토글. 삭제/INSERT IGNORE의 영향 행 수로 상태를 판단하므로 같은 사용자의 동시 요청도 한 번만 집계되고,
+     * 좋아요 수는 게시글 행을 갱신하지 않고 {@link PostCounterBuffer}에 증감만 남긴다.
+     */
     public PostResponseDto togglePostLike(Long postId, Long userId) {
-        log.info("좋아요 토글 - postId: {}, userId: {}", postId, userId);
+        log.debug("좋아요 토글 - postId: {}, userId: {}", postId, userId);
         
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.POST_NOT_FOUND));
         
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
-        
-        boolean isLiked = postLikeRepository.existsByPostAndUser(post, user);
-        log.info("현재 좋아요 상태: {}", isLiked);
+        if (!userRepository.existsById(userId)) {
+            throw new BusinessException(ErrorCode.USER_NOT_FOUND);
+        }
         
-        if (isLiked) {
+        int delta;
+        boolean newLikeStatus;
+        if (postLikeRepository.deleteByPostIdAndUserId(postId, userId) > 0) {
             // 좋아요 취소
-            postLikeRepository.deleteByPostAndUser(post, user);
-            post.setLikes(post.getLikes() - 1);
-            log.info("좋아요 취소 완료 - 새로운 좋아요 수: {}", post.getLikes());
+            delta = -1;
+            newLikeStatus = false;
         } else {
-            // 좋아요 추가
-            PostLike postLike = PostLike.builder()
-                    .post(post)
-                    .user(user)
-                    .build();
-            postLikeRepository.save(postLike);
-            post.setLikes(post.getLikes() + 1);
-            log.info("좋아요 추가 완료 - 새로운 좋아요 수: {}", post.getLikes());
+            // 좋아요 추가 (동시에 다른 요청이 먼저 넣었다면 0행 - 이미 좋아요 상태)
+            delta = postLikeRepository.insertIgnore(postId, userId);
+            newLikeStatus = true;
         }
+        postCounterBuffer.addLikesAfterCommit(postId, delta);
         
-        Post updatedPost = postRepository.save(post);
-        boolean newLikeStatus = !isLiked;
-        log.info("응답 좋아요 상태: {}", newLikeStatus);
-        
-        return PostResponseDto.from(updatedPost, newLikeStatus);
+        int likes = Math.max(0, post.getLikes() + postCounterBuffer.pendingLikes(postId) + delta);
+        log.debug("좋아요 토글 완료 - 좋아요 상태: {}, 좋아요 수: {}", newLikeStatus, likes);
+        return PostResponseDto.from(post, newLikeStatus, likes);
+    }
+
+    /**
+     * 피드 한 페이지의 좋아요 여부를 IN 쿼리 한 번으로 채운다.
+     * 작성자는 목록 조회 시 함께 가져오므로 페이지 크기와 관계없이 쿼리 수가 일정하다.
+     */
+    private Page<PostResponseDto> toFeedPage(Page<Post> posts, Long userId) {
+        Set<Long> liked = likedPostIds(posts.getContent(), userId);
+        return posts.map(post -> PostResponseDto.from(post, liked.contains(post.getId())));
+    }
+
+    private CursorPage<PostResponseDto> toFeedCursorPage(List<Post> rows, int size, Long userId) {
+        CursorPage<Post> page = CursorPage.of(rows, size, post -> Cursor.encode(post.getCreatedAt(), post.getId()));
+        Set<Long> liked = likedPostIds(page.getContent(), userId);
+        return page.map(post -> PostResponseDto.from(post, liked.contains(post.getId())));
+    }
+
+    private Set<Long> likedPostIds(List<Post> posts, Long userId) {
+        if (userId == null || posts.isEmpty()) {
+            return Collections.emptySet();
+        }
+        List<Long> postIds = posts.stream()
+                .map(Post::getId)
+                .collect(Collectors.toList());
+        return postLikeRepository.findLikedPostIds(userId, postIds);
     }
 
     public List<PostResponseDto> getRecentActivePosts() {
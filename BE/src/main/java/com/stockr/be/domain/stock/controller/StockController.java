@@ -1,6 +1,7 @@
 package com.stockr.be.domain.stock.controller;
 
 import com.stockr.be.domain.stock.dto.StockResponseDto;
+import com.stockr.be.domain.stock.service.StockCatalog;
 import com.stockr.be.domain.stock.service.StockService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -14,6 +15,21 @@ import java.util.List;
 public class StockController {
     private final StockService stockService;
     
+    // 종목코드/종목명/초성 접두어 자동완성 (예: 005, 삼성, ㅅㅅㅈㅈ)
+    @GetMapping("/suggest")
+    public ResponseEntity<List<StockResponseDto>> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(stockService.suggest(q, limit));
+    }
+
+    @GetMapping("/ranking")
+    public ResponseEntity<List<StockResponseDto>> getRanking(
+            @RequestParam(defaultValue = "MARKET_CAP") StockCatalog.SortKey sort,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(stockService.getRanking(sort, Math.min(limit, 100)));
+    }
+
     @GetMapping("/{ticker}")
     public ResponseEntity<StockResponseDto> getStock(@PathVariable String ticker) {
         return ResponseEntity.ok(stockService.getStock(ticker));
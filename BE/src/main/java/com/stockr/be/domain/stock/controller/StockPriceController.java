@@ -5,7 +5,10 @@ import com.stockr.be.domain.stock.service.StockPriceService;
 import com.stockr.be.global.common.ApiResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -17,18 +20,36 @@ public class StockPriceController {
 
     private final StockPriceService stockPriceService;
 
+    // interval: daily | Nd | weekly | monthly | quarterly | yearly (일봉에서 집계), maxPoints: 최대 캔들 수 (LTTB)
     @GetMapping("/{ticker}/prices")
     public ApiResponse<StockPriceResponse> getPrices(
             @PathVariable String ticker,
             @RequestParam(defaultValue = "daily") String interval,
             @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate,
-            @RequestParam(required = false) Integer limit
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Integer maxPoints
     ) {
-        StockPriceResponse response = stockPriceService.getPrices(ticker, interval, startDate, endDate, limit);
+        StockPriceResponse response = stockPriceService.getPrices(ticker, interval, startDate, endDate, limit,
+                maxPoints);
         return ApiResponse.success(response);
     }
 
+    // 긴 구간 조회용: 목록을 메모리에 쌓지 않고 캔들을 바로 응답 스트림에 쓴다
+    @GetMapping(value = "/{ticker}/prices", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamPrices(
+            @PathVariable String ticker,
+            @RequestParam(defaultValue = "daily") String interval,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Integer maxPoints
+    ) {
+        StreamingResponseBody body = out -> stockPriceService.streamPrices(ticker, interval, startDate, endDate,
+                limit, maxPoints, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     @GetMapping("/{ticker}/prices/{date}")
     public ApiResponse<StockPriceResponse> getPriceByDate(
             @PathVariable String ticker,
@@ -4,6 +4,7 @@ import java.util.Set;
 
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -44,12 +45,12 @@ public class StockRealtimeController {
     
     // === WebSocket Messages for KIS Order Book ===
     @MessageMapping("/subscribe/{stockCode}")
-    public void subscribeOrderBook(@DestinationVariable String stockCode) {
-        stockRealtimeService.subscribeStockPrice(stockCode);
+    public void subscribeOrderBook(@DestinationVariable String stockCode, SimpMessageHeaderAccessor headerAccessor) {
+        stockRealtimeService.subscribeStockPrice(headerAccessor.getSessionId(), stockCode);
     }
     
     @MessageMapping("/unsubscribe/{stockCode}")
-    public void unsubscribeOrderBook(@DestinationVariable String stockCode) {
-        stockRealtimeService.unsubscribeStockPrice(stockCode);
+    public void unsubscribeOrderBook(@DestinationVariable String stockCode, SimpMessageHeaderAccessor headerAccessor) {
+        stockRealtimeService.unsubscribeStockPrice(headerAccessor.getSessionId(), stockCode);
     }
 } 
\ No newline at end of file
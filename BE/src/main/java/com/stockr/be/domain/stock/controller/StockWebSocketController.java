@@ -4,12 +4,13 @@ import com.stockr.be.domain.stock.dto.PythonStockDataDto;
 import com.stockr.be.domain.stock.dto.RealtimeStockPriceDto;
 import com.stockr.be.domain.stock.service.StockPriceService;
 import com.stockr.be.domain.stock.service.StockRealtimeService;
+import com.stockr.be.global.websocket.ConflatingMessagePublisher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.stereotype.Controller;
 
 @Slf4j
@@ -19,18 +20,18 @@ public class StockWebSocketController {
 
     private final StockRealtimeService stockRealtimeService;
     private final StockPriceService stockPriceService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final ConflatingMessagePublisher messagePublisher;
 
     @MessageMapping("/stocks/subscribe")
-    public void subscribe(String stockCode) {
-        stockRealtimeService.subscribeStockPrice(stockCode);
+    public void subscribe(String stockCode, SimpMessageHeaderAccessor headerAccessor) {
+        stockRealtimeService.subscribeStockPrice(headerAccessor.getSessionId(), stockCode);
     }
 
     @MessageMapping("/price/{stockCode}")
     public void handleStockPrice(@DestinationVariable String stockCode, @Payload PythonStockDataDto priceData) {
         log.info("실시간 데이터 수신 from Python: {}, 데이터: {}", stockCode, priceData.getPrice());
-        // Python에서 받은 데이터를 프론트엔드로 전송
-        messagingTemplate.convertAndSend("/topic/price/" + stockCode, priceData);
+        // Python에서 받은 데이터를 프론트엔드로 전송 (KIS 시세와 같은 병합 발행 경로)
+        messagePublisher.publish("/topic/price/" + stockCode, priceData);
 
         // 기존 서비스 로직 호출 (필요 시) - DTO 변환 필요
         // RealtimeStockPriceDto dto = convertToRealtimeStockPriceDto(priceData);
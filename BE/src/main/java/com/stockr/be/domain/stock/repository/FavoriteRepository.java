@@ -14,6 +14,10 @@ public interface FavoriteRepository extends JpaRepository<Favorite, Long> {
     @Query("SELECT f FROM Favorite f JOIN FETCH f.stock WHERE f.user = :user")
     List<Favorite> findAllByUser(@Param("user") User user);
     
+    // 관심 종목 코드만 등록 순으로 조회 (사용자/종목 엔티티 로딩 없이 쿼리 한 번)
+    @Query("SELECT f.stock.ticker FROM Favorite f WHERE f.user.userId = :userId ORDER BY f.id")
+    List<String> findTickersByUserId(@Param("userId") Long userId);
+    
     Optional<Favorite> findByUserAndStock(User user, Stock stock);
     
     boolean existsByUserAndStock(User user, Stock stock);
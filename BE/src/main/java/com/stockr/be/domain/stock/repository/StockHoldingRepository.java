@@ -3,6 +3,7 @@ package com.stockr.be.domain.stock.repository;
 import com.stockr.be.account.domain.Account;
 import com.stockr.be.domain.stock.entity.Stock;
 import com.stockr.be.domain.stock.entity.StockHolding;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
@@ -11,6 +12,9 @@ import java.util.Optional;
 public interface StockHoldingRepository extends JpaRepository<StockHolding, Long> {
     List<StockHolding> findByAccount(Account account);
 
+    @EntityGraph(attributePaths = "stock")
+    List<StockHolding> findWithStockByAccount(Account account);
+
     Optional<StockHolding> findByAccountAndStock(Account account, Stock stock);
 
     boolean existsByAccountAndStock(Account account, Stock stock);
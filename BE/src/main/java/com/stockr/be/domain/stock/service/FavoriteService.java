@@ -3,7 +3,6 @@ package com.stockr.be.domain.stock.service;
 import com.stockr.be.domain.stock.entity.Favorite;
 import com.stockr.be.domain.stock.entity.Stock;
 import com.stockr.be.domain.stock.repository.FavoriteRepository;
-import com.stockr.be.domain.stock.repository.StockRepository;
 import com.stockr.be.global.exception.BusinessException;
 import com.stockr.be.global.exception.ErrorCode;
 import com.stockr.be.user.domain.User;
@@ -23,11 +22,11 @@ import java.util.stream.Collectors;
 @Transactional
 public class FavoriteService {
     private final FavoriteRepository favoriteRepository;
-    private final StockRepository stockRepository;
+    private final StockCatalog stockCatalog;
     private final UserRepository userRepository;
 
     public List<Stock> getFavoriteStocks(Long userId) {
-        log.info("Getting favorites for user {}", userId);
+        log.debug("Getting favorites for user {}", userId);
         
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
@@ -38,13 +37,21 @@ public class FavoriteService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 관심 종목 코드 목록 (등록 순). 피드 조립처럼 코드만 필요한 경로에서 쓴다.
+     */
+    @Transactional(readOnly = true)
+    public List<String> getFavoriteTickers(Long userId) {
+        return favoriteRepository.findTickersByUserId(userId);
+    }
+
     public boolean isFavorite(Long userId, String ticker) {
         log.info("Checking if stock {} is favorite for user {}", ticker, userId);
         
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
         
-        Stock stock = stockRepository.findByTicker(ticker)
+        Stock stock = stockCatalog.reference(ticker)
                 .orElseThrow(() -> new BusinessException(ErrorCode.STOCK_NOT_FOUND));
 
         return favoriteRepository.existsByUserAndStock(user, stock);
@@ -56,7 +63,7 @@ public class FavoriteService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
         
-        Stock stock = stockRepository.findByTicker(ticker)
+        Stock stock = stockCatalog.reference(ticker)
                 .orElseThrow(() -> new BusinessException(ErrorCode.STOCK_NOT_FOUND));
         
         if (favoriteRepository.existsByUserAndStock(user, stock)) {
@@ -77,7 +84,7 @@ public class FavoriteService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
         
-        Stock stock = stockRepository.findByTicker(ticker)
+        Stock stock = stockCatalog.reference(ticker)
                 .orElseThrow(() -> new BusinessException(ErrorCode.STOCK_NOT_FOUND));
 
         Favorite favorite = favoriteRepository.findByUserAndStock(user, stock)
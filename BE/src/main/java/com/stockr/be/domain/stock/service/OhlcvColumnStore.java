@@ -0,0 +1,423 @@
+package com.stockr.be.domain.stock.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Date;
+import java.util.regex.Pattern;
+
+/**
+ * 종목/주기별 OHLCV 컬럼 저장소.
+ * date(epoch millis), open, high, low, close, volume을 파일 하나에 컬럼 단위 primitive 배열로 두고 메모리 매핑한다.
+ * 처음 조회할 때 Mongo stock_prices에서 전체를 적재하고, 이후에는 refresh-interval마다 마지막 캔들 이후만 이어 붙인다.
+ * 구간 조회는 date 컬럼 이진 탐색으로 {@link OhlcvSlice}를 돌려주며 캔들별 객체를 만들지 않는다.
+ * 파일은 {@link StockCatalog}에 있는 종목만 만들고, 열어 둔 시계열 수는 max-series로 제한한다.
+ */
+@Slf4j
+@Component
+public class OhlcvColumnStore {
+
+    static final int DATE = 0;
+    static final int OPEN = 1;
+    static final int HIGH = 2;
+    static final int LOW = 3;
+    static final int CLOSE = 4;
+    static final int VOLUME = 5;
+    private static final int COLUMN_COUNT = 6;
+
+    // header: [magic 4][version 4][count 8][capacity 8][reserved 8]
+    private static final int HEADER_SIZE = 32;
+    private static final int MAGIC = 0x4F484C43; // "OHLC"
+    private static final int VERSION = 1;
+    private static final int COUNT_OFFSET = 8;
+    private static final int CAPACITY_OFFSET = 16;
+    private static final int INITIAL_CAPACITY = 1024;
+    // 컬럼 6개가 int 오프셋 안에 들어가도록 제한 (일봉 기준 수천 년치)
+    private static final long MAX_CAPACITY = (Integer.MAX_VALUE - HEADER_SIZE) / (COLUMN_COUNT * 8L);
+
+    private static final Pattern SAFE_NAME = Pattern.compile("[A-Za-z0-9._-]{1,32}");
+
+    private final MongoClient mongoClient;
+    private final StockCatalog stockCatalog;
+    private final Path directory;
+    private final long refreshIntervalMillis;
+    // 밀려난 시계열의 매핑은 이미 내준 slice가 다 놓으면 GC가 푼다
+    private final Cache<String, Series> series;
+
+    public OhlcvColumnStore(MongoClient mongoClient, StockCatalog stockCatalog,
+            @Value("${stock.price-store.dir:${java.io.tmpdir}/stockr-ohlcv}") String directory,
+            @Value("${stock.price-store.refresh-interval:30s}") Duration refreshInterval,
+            @Value("${stock.price-store.max-series:4096}") long maxSeries) {
+        this.mongoClient = mongoClient;
+        this.stockCatalog = stockCatalog;
+        this.directory = Path.of(directory);
+        this.refreshIntervalMillis = refreshInterval.toMillis();
+        this.series = Caffeine.newBuilder()
+                .maximumSize(maxSeries)
+                .build();
+    }
+
+    static int columnOffset(int column, long capacity, int index) {
+        return (int) (HEADER_SIZE + (column * capacity + index) * 8L);
+    }
+
+    /**
+     * 종목/주기가 캐시할 수 없는 이름이거나 카탈로그에 없는 종목이면 false. 이 경우 호출자는 Mongo를 직접 조회한다.
+     * 인증 없이 열린 시세 API로 아무 종목코드나 보내 파일을 만들게 하지 않기 위해서다.
+     */
+    public boolean supports(String ticker, String interval) {
+        return ticker != null && SAFE_NAME.matcher(ticker).matches() && SAFE_NAME.matcher(interval).matches()
+                && stockCatalog.contains(ticker);
+    }
+
+    /**
+     * [fromMillis, toMillis] 구간의 캔들을 날짜 오름차순으로 최대 limit개 돌려준다.
+     *
+     * @param fromMillis 포함 하한, 제한 없으면 Long.MIN_VALUE
+     * @param toMillis   포함 상한, 제한 없으면 Long.MAX_VALUE
+     * @param limit      null 또는 0 이하면 제한 없음
+     */
+    public OhlcvSlice range(String ticker, String interval, long fromMillis, long toMillis, Integer limit) {
+        if (!supports(ticker, interval)) {
+            throw new IllegalArgumentException("Unsupported OHLCV series: " + ticker + "/" + interval);
+        }
+        Series target = series.get(seriesKey(ticker, interval), key -> open(ticker, interval));
+        target.refreshIfStale();
+        return target.slice(fromMillis, toMillis, limit);
+    }
+
+    private String seriesKey(String ticker, String interval) {
+        return ticker + "_" + interval;
+    }
+
+    private Series open(String ticker, String interval) {
+        try {
+            Files.createDirectories(directory);
+            return new Series(ticker, interval, directory.resolve(seriesKey(ticker, interval) + ".col"));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open OHLCV store for " + ticker + "/" + interval, e);
+        }
+    }
+
+    private MongoCollection<Document> getCollection() {
+        return mongoClient.getDatabase("stock_db").getCollection("stock_prices");
+    }
+
+    /**
+     * 메모리 매핑된 파일 하나. 쓰기(적재/추가)는 synchronized로 한 스레드만 하고,
+     * 읽기는 volatile {@link State} 스냅샷을 잡아 잠금 없이 진행한다.
+     * 이미 내준 {@link OhlcvSlice}가 보고 있는 캔들은 제자리에서 바꾸지 않는다. 새 캔들은 count 뒤 빈 슬롯에 쓰고,
+     * 발행된 캔들을 바꾸거나(진행 중인 캔들 갱신) 전체를 다시 적재할 때는 새 파일({@link Draft})에 써서 통째로 바꿔 끼운다.
+     */
+    private final class Series {
+
+        private final String ticker;
+        private final String interval;
+        private final Path file;
+        private volatile State state;
+        private volatile long lastRefreshMillis;
+        private long draftSequence;
+
+        private Series(String ticker, String interval, Path file) throws IOException {
+            this.ticker = ticker;
+            this.interval = interval;
+            this.file = file;
+            this.state = Files.exists(file) ? mapExisting() : null;
+            if (state == null) {
+                this.state = create(file, INITIAL_CAPACITY);
+            }
+        }
+
+        OhlcvSlice slice(long fromMillis, long toMillis, Integer limit) {
+            State current = state;
+            int from = lowerBound(current, fromMillis);
+            int to = toMillis == Long.MAX_VALUE ? current.count : upperBound(current, toMillis);
+            // Mongo limit과 같이 0 이하는 제한 없음으로 본다
+            if (limit != null && limit > 0 && to - from > limit) {
+                to = from + limit;
+            }
+            if (from >= to) {
+                return OhlcvSlice.EMPTY;
+            }
+            return new OhlcvSlice(current.buffer, current.capacity, from, to);
+        }
+
+        void refreshIfStale() {
+            if (System.currentTimeMillis() - lastRefreshMillis < refreshIntervalMillis) {
+                return;
+            }
+            synchronized (this) {
+                if (System.currentTimeMillis() - lastRefreshMillis < refreshIntervalMillis) {
+                    return;
+                }
+                try {
+                    refresh();
+                } catch (IOException e) {
+                    log.error("Failed to refresh OHLCV store {}/{}", ticker, interval, e);
+                }
+                lastRefreshMillis = System.currentTimeMillis();
+            }
+        }
+
+        // 마지막 캔들(같은 날짜면 덮어쓰기) 이후를 이어 붙이고, 문서 수가 다르면 전체를 다시 적재한다
+        private void refresh() throws IOException {
+            Bson seriesFilter = Filters.and(Filters.eq("ticker", ticker), Filters.eq("interval", interval));
+            State current = state;
+            Bson filter = current.count == 0 ? seriesFilter
+                    : Filters.and(seriesFilter, Filters.gte("date", new Date(dateAt(current, current.count - 1))));
+            Draft draft = new Draft(current);
+            try {
+                int appended = draft.load(filter);
+                long expected = getCollection().countDocuments(seriesFilter);
+                if (expected != draft.target.count) {
+                    // Python 수집기가 delete 후 insert_many로 다시 적재한 경우 등
+                    log.info("OHLCV store {}/{} out of sync ({} local, {} in Mongo), rebuilding",
+                            ticker, interval, draft.target.count, expected);
+                    draft.restart(capacityFor(expected));
+                    appended = draft.load(seriesFilter);
+                }
+                draft.publish();
+                if (appended > 0) {
+                    log.debug("OHLCV store {}/{} appended {} candles", ticker, interval, appended);
+                }
+            } finally {
+                draft.discard();
+            }
+        }
+
+        private Path nextDraftFile() {
+            return file.resolveSibling(file.getFileName() + "." + (++draftSequence) + ".tmp");
+        }
+
+        private State mapExisting() throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                if (channel.size() < HEADER_SIZE) {
+                    return null;
+                }
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+                long capacity = buffer.getLong(CAPACITY_OFFSET);
+                long count = buffer.getLong(COUNT_OFFSET);
+                if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || capacity <= 0
+                        || capacity > MAX_CAPACITY || count < 0 || count > capacity
+                        || channel.size() < columnOffset(COLUMN_COUNT, capacity, 0)) {
+                    log.warn("Ignoring unreadable OHLCV store file {}", file);
+                    return null;
+                }
+                return new State(buffer, capacity, (int) count);
+            }
+        }
+
+        /**
+         * 한 번의 갱신에서 쓰는 작업본. publish 전까지 읽기에는 보이지 않는다.
+         * copy가 null이면 발행된 파일의 count 뒤에 이어 쓰는 중이고, 아니면 그 새 파일에 쓰는 중이다.
+         */
+        private final class Draft {
+
+            private State target;
+            private Path copy;
+
+            private Draft(State published) {
+                this.target = published;
+            }
+
+            int load(Bson filter) throws IOException {
+                int appended = 0;
+                for (Document doc : getCollection().find(filter)
+                        .projection(Projections.include("date", "open", "high", "low", "close", "volume"))
+                        .sort(Sorts.ascending("date"))
+                        .batchSize(2000)) {
+                    Date date = doc.getDate("date");
+                    if (date == null) {
+                        continue;
+                    }
+                    if (append(date.getTime(), number(doc, "open"), number(doc, "high"), number(doc, "low"),
+                            number(doc, "close"), number(doc, "volume"))) {
+                        appended++;
+                    }
+                }
+                return appended;
+            }
+
+            // 발행된 파일은 그대로 두고 capacity 크기의 빈 파일에서 다시 쓴다
+            void restart(long capacity) throws IOException {
+                discard();
+                copy = nextDraftFile();
+                target = create(copy, capacity);
+            }
+
+            void publish() throws IOException {
+                target.buffer.putLong(COUNT_OFFSET, target.count);
+                if (copy != null) {
+                    target.buffer.force();
+                    Files.move(copy, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    copy = null;
+                }
+                state = target;
+            }
+
+            void discard() throws IOException {
+                if (copy != null) {
+                    Files.deleteIfExists(copy);
+                    copy = null;
+                }
+            }
+
+            private boolean append(long dateMillis, double open, double high, double low, double close,
+                    double volume) throws IOException {
+                int index = target.count;
+                if (index > 0) {
+                    long lastDate = dateAt(target, index - 1);
+                    if (dateMillis < lastDate) {
+                        return false;
+                    }
+                    if (dateMillis == lastDate) {
+                        if (sameCandle(target, index - 1, open, high, low, close, volume)) {
+                            return false;
+                        }
+                        // 진행 중인 캔들이 갱신된 경우. 발행된 캔들은 읽기가 보고 있을 수 있으므로 복사본에서 덮어쓴다
+                        if (copy == null) {
+                            copyTo(target.capacity);
+                        }
+                        index--;
+                    }
+                }
+                if (index >= target.capacity) {
+                    copyTo(grownCapacity(target.capacity));
+                }
+                ByteBuffer buffer = target.buffer;
+                buffer.putLong(columnOffset(DATE, target.capacity, index), dateMillis);
+                buffer.putDouble(columnOffset(OPEN, target.capacity, index), open);
+                buffer.putDouble(columnOffset(HIGH, target.capacity, index), high);
+                buffer.putDouble(columnOffset(LOW, target.capacity, index), low);
+                buffer.putDouble(columnOffset(CLOSE, target.capacity, index), close);
+                buffer.putDouble(columnOffset(VOLUME, target.capacity, index), volume);
+                if (index == target.count) {
+                    target = new State(target.buffer, target.capacity, index + 1);
+                    return true;
+                }
+                return false;
+            }
+
+            // 지금까지 쓴 컬럼을 capacity 크기의 새 파일로 옮긴다. 발행된 매핑을 잡고 있는 읽기는 그대로 유효하다
+            private void copyTo(long capacity) throws IOException {
+                Path previous = copy;
+                Path next = nextDraftFile();
+                State copied = create(next, capacity);
+                for (int column = 0; column < COLUMN_COUNT; column++) {
+                    copied.buffer.put(columnOffset(column, capacity, 0), target.buffer,
+                            columnOffset(column, target.capacity, 0), target.count * 8);
+                }
+                target = new State(copied.buffer, capacity, target.count);
+                copy = next;
+                if (previous != null) {
+                    Files.deleteIfExists(previous);
+                }
+            }
+
+            private long grownCapacity(long capacity) throws IOException {
+                long grown = Math.min(capacity * 2, MAX_CAPACITY);
+                if (grown <= capacity) {
+                    throw new IOException("OHLCV store capacity exceeded for " + ticker + "/" + interval);
+                }
+                return grown;
+            }
+        }
+    }
+
+    // count개가 들어가는 가장 작은 2배수 용량
+    private static long capacityFor(long count) throws IOException {
+        if (count > MAX_CAPACITY) {
+            throw new IOException("OHLCV series too large: " + count + " candles");
+        }
+        long capacity = INITIAL_CAPACITY;
+        while (capacity < count) {
+            capacity = Math.min(capacity * 2, MAX_CAPACITY);
+        }
+        return capacity;
+    }
+
+    private static boolean sameCandle(State state, int index, double open, double high, double low, double close,
+            double volume) {
+        ByteBuffer buffer = state.buffer;
+        return buffer.getDouble(columnOffset(OPEN, state.capacity, index)) == open
+                && buffer.getDouble(columnOffset(HIGH, state.capacity, index)) == high
+                && buffer.getDouble(columnOffset(LOW, state.capacity, index)) == low
+                && buffer.getDouble(columnOffset(CLOSE, state.capacity, index)) == close
+                && buffer.getDouble(columnOffset(VOLUME, state.capacity, index)) == volume;
+    }
+
+    private static State create(Path path, long capacity) throws IOException {
+        long size = columnOffset(COLUMN_COUNT, capacity, 0);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putLong(COUNT_OFFSET, 0);
+            buffer.putLong(CAPACITY_OFFSET, capacity);
+            return new State(buffer, capacity, 0);
+        }
+    }
+
+    private static long dateAt(State state, int index) {
+        return state.buffer.getLong(columnOffset(DATE, state.capacity, index));
+    }
+
+    // date >= fromMillis 인 첫 인덱스
+    private static int lowerBound(State state, long fromMillis) {
+        int low = 0;
+        int high = state.count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (dateAt(state, mid) < fromMillis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // date > toMillis 인 첫 인덱스
+    private static int upperBound(State state, long toMillis) {
+        int low = 0;
+        int high = state.count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (dateAt(state, mid) <= toMillis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static double number(Document doc, String field) {
+        Object value = doc.get(field);
+        return value instanceof Number number ? number.doubleValue() : 0d;
+    }
+
+    private record State(MappedByteBuffer buffer, long capacity, int count) {
+    }
+}
@@ -0,0 +1,181 @@
+package com.stockr.be.domain.stock.service;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 일봉 {@link OhlcvSlice}를 요청 주기로 묶고, 필요하면 maxPoints개로 줄인다.
+ * 주기 집계는 일봉을 한 번 훑으면서 끝내고(open=첫 시가, high/low=극값, close=마지막 종가, volume=합),
+ * 다운샘플링은 종가 기준 LTTB(Largest-Triangle-Three-Buckets)로 대표 캔들을 고르되
+ * 버킷 안의 고가/저가/거래량은 모두 합산해 극값이나 거래량이 사라지지 않게 한다.
+ * 결과도 같은 컬럼 레이아웃의 {@link OhlcvSlice}라 응답 직렬화 경로를 그대로 쓴다.
+ */
+public final class OhlcvResampler {
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private OhlcvResampler() {
+    }
+
+    /**
+     * @param limit     집계 후 앞에서부터 남길 캔들 수, null 또는 0 이하면 제한 없음
+     * @param maxPoints 최대 캔들 수, null 또는 3 미만이면 다운샘플링하지 않음
+     */
+    public static OhlcvSlice resample(OhlcvSlice daily, PriceInterval interval, Integer limit, Integer maxPoints) {
+        OhlcvSlice result = interval.isDaily() ? daily : aggregate(daily, interval);
+        if (limit != null && limit > 0 && result.size() > limit) {
+            result = result.head(limit);
+        }
+        if (maxPoints != null && maxPoints >= 3 && result.size() > maxPoints) {
+            result = downsample(result, maxPoints);
+        }
+        return result;
+    }
+
+    static OhlcvSlice aggregate(OhlcvSlice daily, PriceInterval interval) {
+        int size = daily.size();
+        Columns out = new Columns(size);
+        boolean tradingDays = interval.getUnit() == PriceInterval.Unit.TRADING_DAYS;
+        long boundary = Long.MIN_VALUE;
+        int inBucket = 0;
+
+        for (int i = 0; i < size; i++) {
+            long date = daily.dateMillis(i);
+            boolean newBucket;
+            if (tradingDays) {
+                newBucket = inBucket == 0 || inBucket == interval.getDays();
+            } else {
+                // 일봉 날짜는 UTC 자정으로 저장되어 있다
+                long epochDay = Math.floorDiv(date, MILLIS_PER_DAY);
+                newBucket = inBucket == 0 || epochDay >= boundary;
+                if (newBucket) {
+                    boundary = interval.nextBoundary(epochDay);
+                }
+            }
+            if (newBucket) {
+                out.add(date, daily.open(i), daily.high(i), daily.low(i), daily.close(i), daily.volume(i));
+                inBucket = 1;
+            } else {
+                out.merge(daily.high(i), daily.low(i), daily.close(i), daily.volume(i));
+                inBucket++;
+            }
+        }
+        return out.toSlice();
+    }
+
+    /**
+     * 종가 기준 LTTB. 첫/마지막 캔들은 그대로 두고, 가운데는 maxPoints-2개 버킷에서 하나씩 고른다.
+     * 고른 캔들의 날짜/종가를 쓰고 open은 버킷 첫 시가, high/low/volume은 버킷 전체로 집계한다.
+     */
+    static OhlcvSlice downsample(OhlcvSlice series, int maxPoints) {
+        int size = series.size();
+        Columns out = new Columns(maxPoints);
+        out.add(series.dateMillis(0), series.open(0), series.high(0), series.low(0), series.close(0),
+                series.volume(0));
+
+        double bucketWidth = (double) (size - 2) / (maxPoints - 2);
+        int selected = 0;
+        for (int bucket = 0; bucket < maxPoints - 2; bucket++) {
+            int start = (int) (bucket * bucketWidth) + 1;
+            int end = Math.min((int) ((bucket + 1) * bucketWidth) + 1, size - 1);
+
+            // 다음 버킷 평균점 (마지막 버킷이면 마지막 캔들)
+            int nextStart = end;
+            int nextEnd = Math.min((int) ((bucket + 2) * bucketWidth) + 1, size);
+            double averageX = 0;
+            double averageY = 0;
+            for (int j = nextStart; j < nextEnd; j++) {
+                averageX += j;
+                averageY += series.close(j);
+            }
+            int nextCount = Math.max(nextEnd - nextStart, 1);
+            averageX /= nextCount;
+            averageY /= nextCount;
+
+            double anchorY = series.close(selected);
+            double maxArea = -1;
+            int chosen = start;
+            double high = Double.NEGATIVE_INFINITY;
+            double low = Double.POSITIVE_INFINITY;
+            double volume = 0;
+            for (int j = start; j < end; j++) {
+                double area = Math.abs((selected - averageX) * (series.close(j) - anchorY)
+                        - (selected - j) * (averageY - anchorY));
+                if (area > maxArea) {
+                    maxArea = area;
+                    chosen = j;
+                }
+                high = Math.max(high, series.high(j));
+                low = Math.min(low, series.low(j));
+                volume += series.volume(j);
+            }
+            out.add(series.dateMillis(chosen), series.open(start), high, low, series.close(chosen), volume);
+            selected = chosen;
+        }
+
+        int last = size - 1;
+        out.add(series.dateMillis(last), series.open(last), series.high(last), series.low(last), series.close(last),
+                series.volume(last));
+        return out.toSlice();
+    }
+
+    /**
+     * {@link OhlcvColumnStore}와 같은 레이아웃의 힙 컬럼 버퍼. 컬럼 저장소 밖에서 읽은 일봉(Mongo 직접 조회)도 여기에 담아 묶는다.
+     */
+    static final class Columns {
+        private ByteBuffer buffer;
+        private long capacity;
+        private int count;
+
+        Columns(int capacity) {
+            this.capacity = Math.max(capacity, 1);
+            this.buffer = allocate(this.capacity);
+        }
+
+        void add(long date, double open, double high, double low, double close, double volume) {
+            if (count == capacity) {
+                grow();
+            }
+            int index = count++;
+            buffer.putLong(offset(OhlcvColumnStore.DATE, index), date);
+            buffer.putDouble(offset(OhlcvColumnStore.OPEN, index), open);
+            buffer.putDouble(offset(OhlcvColumnStore.HIGH, index), high);
+            buffer.putDouble(offset(OhlcvColumnStore.LOW, index), low);
+            buffer.putDouble(offset(OhlcvColumnStore.CLOSE, index), close);
+            buffer.putDouble(offset(OhlcvColumnStore.VOLUME, index), volume);
+        }
+
+        // 마지막 캔들에 일봉 하나를 합친다
+        void merge(double high, double low, double close, double volume) {
+            int index = count - 1;
+            int highOffset = offset(OhlcvColumnStore.HIGH, index);
+            int lowOffset = offset(OhlcvColumnStore.LOW, index);
+            int volumeOffset = offset(OhlcvColumnStore.VOLUME, index);
+            buffer.putDouble(highOffset, Math.max(buffer.getDouble(highOffset), high));
+            buffer.putDouble(lowOffset, Math.min(buffer.getDouble(lowOffset), low));
+            buffer.putDouble(offset(OhlcvColumnStore.CLOSE, index), close);
+            buffer.putDouble(volumeOffset, buffer.getDouble(volumeOffset) + volume);
+        }
+
+        OhlcvSlice toSlice() {
+            return count == 0 ? OhlcvSlice.EMPTY : new OhlcvSlice(buffer, capacity, 0, count);
+        }
+
+        private int offset(int column, int index) {
+            return OhlcvColumnStore.columnOffset(column, capacity, index);
+        }
+
+        private void grow() {
+            long grown = capacity * 2;
+            ByteBuffer next = allocate(grown);
+            for (int column = OhlcvColumnStore.DATE; column <= OhlcvColumnStore.VOLUME; column++) {
+                next.put(OhlcvColumnStore.columnOffset(column, grown, 0), buffer, offset(column, 0), count * 8);
+            }
+            buffer = next;
+            capacity = grown;
+        }
+
+        private static ByteBuffer allocate(long capacity) {
+            return ByteBuffer.allocate(OhlcvColumnStore.columnOffset(OhlcvColumnStore.VOLUME + 1, capacity, 0));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.stockr.be.domain.stock.service;
+
+import java.nio.ByteBuffer;
+
+/**
+ * {@link OhlcvColumnStore}의 한 구간을 가리키는 읽기 전용 뷰.
+ * 값을 복사하지 않고 매핑된 컬럼을 인덱스로 직접 읽으므로 캔들마다 객체를 만들지 않는다.
+ * 인덱스는 0 ~ size()-1, 날짜 오름차순이다.
+ */
+public final class OhlcvSlice {
+
+    /**
+     * 캔들 한 개를 primitive 값으로 받는 콜백.
+     */
+    @FunctionalInterface
+    public interface CandleVisitor {
+        void visit(long dateMillis, double open, double high, double low, double close, double volume);
+    }
+
+    static final OhlcvSlice EMPTY = new OhlcvSlice(ByteBuffer.allocate(0), 0, 0, 0);
+
+    private final ByteBuffer columns;
+    private final long capacity;
+    private final int from;
+    private final int to;
+
+    OhlcvSlice(ByteBuffer columns, long capacity, int from, int to) {
+        this.columns = columns;
+        this.capacity = capacity;
+        this.from = from;
+        this.to = to;
+    }
+
+    public int size() {
+        return to - from;
+    }
+
+    public boolean isEmpty() {
+        return to == from;
+    }
+
+    public long dateMillis(int index) {
+        return columns.getLong(offset(OhlcvColumnStore.DATE, index));
+    }
+
+    public double open(int index) {
+        return columns.getDouble(offset(OhlcvColumnStore.OPEN, index));
+    }
+
+    public double high(int index) {
+        return columns.getDouble(offset(OhlcvColumnStore.HIGH, index));
+    }
+
+    public double low(int index) {
+        return columns.getDouble(offset(OhlcvColumnStore.LOW, index));
+    }
+
+    public double close(int index) {
+        return columns.getDouble(offset(OhlcvColumnStore.CLOSE, index));
+    }
+
+    public double volume(int index) {
+        return columns.getDouble(offset(OhlcvColumnStore.VOLUME, index));
+    }
+
+    /**
+     * 앞에서부터 count개만 보는 뷰
+     */
+    public OhlcvSlice head(int count) {
+        return count >= size() ? this : new OhlcvSlice(columns, capacity, from, from + Math.max(count, 0));
+    }
+
+    public void forEach(CandleVisitor visitor) {
+        for (int i = 0; i < size(); i++) {
+            visitor.visit(dateMillis(i), open(i), high(i), low(i), close(i), volume(i));
+        }
+    }
+
+    private int offset(int column, int index) {
+        return OhlcvColumnStore.columnOffset(column, capacity, from + index);
+    }
+}
@@ -0,0 +1,143 @@
+package com.stockr.be.domain.stock.service;
+
+import com.stockr.be.global.exception.BusinessException;
+import com.stockr.be.global.exception.ErrorCode;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * 차트 조회 주기. 일봉을 묶어 만든다.
+ * daily | Nd(N거래일) | weekly | monthly | quarterly | yearly (week, month, quarter, year, 1w, 1m 등 별칭 허용)
+ */
+public final class PriceInterval {
+
+    public enum Unit {
+        TRADING_DAYS, WEEK, MONTH, QUARTER, YEAR
+    }
+
+    public static final PriceInterval DAILY = new PriceInterval(Unit.TRADING_DAYS, 1, "daily");
+
+    private static final int MAX_TRADING_DAYS = 1000;
+
+    private final Unit unit;
+    private final int days;
+    private final String name;
+
+    private PriceInterval(Unit unit, int days, String name) {
+        this.unit = unit;
+        this.days = days;
+        this.name = name;
+    }
+
+    /**
+     * @throws BusinessException 지원하지 않는 주기 (INVALID_INTERVAL)
+     */
+    public static PriceInterval parse(String value) {
+        if (value == null) {
+            return DAILY;
+        }
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        switch (normalized) {
+            case "daily", "day", "1d", "d":
+                return DAILY;
+            case "weekly", "week", "1w", "w":
+                return new PriceInterval(Unit.WEEK, 0, "weekly");
+            case "monthly", "month", "1m", "m":
+                return new PriceInterval(Unit.MONTH, 0, "monthly");
+            case "quarterly", "quarter", "1q", "q":
+                return new PriceInterval(Unit.QUARTER, 0, "quarterly");
+            case "yearly", "year", "1y", "y":
+                return new PriceInterval(Unit.YEAR, 0, "yearly");
+            default:
+                return parseTradingDays(normalized);
+        }
+    }
+
+    private static PriceInterval parseTradingDays(String value) {
+        if (value.length() < 2 || value.charAt(value.length() - 1) != 'd') {
+            throw new BusinessException(ErrorCode.INVALID_INTERVAL);
+        }
+        int days;
+        try {
+            days = Integer.parseInt(value.substring(0, value.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new BusinessException(ErrorCode.INVALID_INTERVAL);
+        }
+        if (days < 1 || days > MAX_TRADING_DAYS) {
+            throw new BusinessException(ErrorCode.INVALID_INTERVAL);
+        }
+        return days == 1 ? DAILY : new PriceInterval(Unit.TRADING_DAYS, days, days + "d");
+    }
+
+    public Unit getUnit() {
+        return unit;
+    }
+
+    /**
+     * TRADING_DAYS 주기에서 한 캔들에 묶이는 거래일 수
+     */
+    public int getDays() {
+        return days;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isDaily() {
+        return unit == Unit.TRADING_DAYS && days == 1;
+    }
+
+    /**
+     * 주/월/분기/연처럼 달력으로 구간이 정해지는 주기면 true
+     */
+    public boolean isCalendar() {
+        return unit != Unit.TRADING_DAYS;
+    }
+
+    /**
+     * 달력 주기에서 date가 속한 구간의 시작일
+     */
+    LocalDate periodStart(LocalDate date) {
+        switch (unit) {
+            case WEEK:
+                return date.minusDays(date.getDayOfWeek().getValue() - 1);
+            case MONTH:
+                return date.withDayOfMonth(1);
+            case QUARTER:
+                return date.withDayOfMonth(1).withMonth((date.getMonthValue() - 1) / 3 * 3 + 1);
+            case YEAR:
+                return date.withDayOfYear(1);
+            default:
+                throw new IllegalStateException("Not a calendar interval: " + name);
+        }
+    }
+
+    /**
+     * 달력 주기(WEEK 이상)에서 epochDay가 속한 구간의 다음 구간 시작 epochDay
+     */
+    long nextBoundary(long epochDay) {
+        switch (unit) {
+            case WEEK:
+                // 1970-01-01은 목요일, 월요일 시작 주
+                long monday = epochDay - Math.floorMod(epochDay + 3, 7);
+                return monday + 7;
+            case MONTH:
+                return LocalDate.ofEpochDay(epochDay).withDayOfMonth(1).plusMonths(1).toEpochDay();
+            case QUARTER:
+                LocalDate date = LocalDate.ofEpochDay(epochDay);
+                int firstMonth = (date.getMonthValue() - 1) / 3 * 3 + 1;
+                return date.withDayOfMonth(1).withMonth(firstMonth).plusMonths(3).toEpochDay();
+            case YEAR:
+                return LocalDate.ofEpochDay(epochDay).withDayOfYear(1).plusYears(1).toEpochDay();
+            default:
+                throw new IllegalStateException("Not a calendar interval: " + name);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,207 @@
+package com.stockr.be.domain.stock.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.stockr.be.domain.stock.dto.RealtimeStockPriceDto;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 종목별 최신 실시간 시세 저장소.
+ * Redis에는 바이너리({@link RealtimePriceCodec})로 저장하고, 읽기는 프로세스 내 near-cache를 먼저 본다.
+ * 틱은 near-cache에 즉시 반영되고 Redis 쓰기(SET/LPUSH/LTRIM)는 flush 주기마다 한 번의 파이프라인으로 모아 보낸다.
+ * 다른 인스턴스가 쓴 종목은 pub/sub 무효화 메시지를 받아 near-cache에서 지운다.
+ */
+@Slf4j
+@Component
+public class RealtimePriceCache implements MessageListener {
+
+    static final String KEY_PREFIX = "stock:realtime:";
+    private static final String HISTORY_KEY_PREFIX = "stock:history:";
+    private static final String INVALIDATION_CHANNEL = "stock:realtime:invalidate";
+    private static final long TTL_SECONDS = Duration.ofHours(1).toSeconds();
+    private static final int HISTORY_SIZE = 100;
+
+    private final RedisTemplate<String, byte[]> realtimeRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final Cache<String, RealtimeStockPriceDto> nearCache;
+    private final Map<String, RealtimeStockPriceDto> pendingWrites = new ConcurrentHashMap<>();
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public RealtimePriceCache(RedisTemplate<String, byte[]> realtimeRedisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            @Value("${realtime.near-cache.max-size:5000}") long maxSize,
+            @Value("${realtime.near-cache.expire-after-write:60s}") Duration expireAfterWrite) {
+        this.realtimeRedisTemplate = realtimeRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.nearCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    @PostConstruct
+    public void subscribeInvalidation() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    /**
+     * 최신 시세를 반영한다. near-cache는 즉시 갱신되고 Redis에는 다음 flush 때 기록된다.
+     */
+    public void put(RealtimeStockPriceDto price) {
+        nearCache.put(price.getStockCode(), price);
+        pendingWrites.put(price.getStockCode(), price);
+    }
+
+    public RealtimeStockPriceDto get(String stockCode) {
+        RealtimeStockPriceDto cached = nearCache.getIfPresent(stockCode);
+        if (cached != null) {
+            return cached;
+        }
+        byte[] value = realtimeRedisTemplate.opsForValue().get(KEY_PREFIX + stockCode);
+        if (value == null) {
+            return null;
+        }
+        RealtimeStockPriceDto price = RealtimePriceCodec.decode(value);
+        nearCache.put(stockCode, price);
+        return price;
+    }
+
+    /**
+     * 여러 종목을 한 번에 조회한다. near-cache에 없는 종목만 모아 MGET 한 번으로 가져온다.
+     */
+    public Map<String, RealtimeStockPriceDto> getAll(Collection<String> stockCodes) {
+        Map<String, RealtimeStockPriceDto> result = new HashMap<>(stockCodes.size() * 2);
+        List<String> missingCodes = new ArrayList<>();
+        for (String stockCode : stockCodes) {
+            RealtimeStockPriceDto cached = nearCache.getIfPresent(stockCode);
+            if (cached != null) {
+                result.put(stockCode, cached);
+            } else if (!result.containsKey(stockCode)) {
+                missingCodes.add(stockCode);
+            }
+        }
+        if (missingCodes.isEmpty()) {
+            return result;
+        }
+
+        List<String> keys = new ArrayList<>(missingCodes.size());
+        for (String stockCode : missingCodes) {
+            keys.add(KEY_PREFIX + stockCode);
+        }
+        List<byte[]> values = realtimeRedisTemplate.opsForValue().multiGet(keys);
+        if (values == null) {
+            return result;
+        }
+        for (int i = 0; i < missingCodes.size(); i++) {
+            byte[] value = values.get(i);
+            if (value == null) {
+                continue;
+            }
+            // 깨진 값 하나 때문에 나머지 종목까지 실패하지 않도록 그 종목만 빼고 넘어간다
+            try {
+                RealtimeStockPriceDto price = RealtimePriceCodec.decode(value);
+                nearCache.put(missingCodes.get(i), price);
+                result.put(missingCodes.get(i), price);
+            } catch (IllegalArgumentException e) {
+                log.error("실시간 주가 데이터 파싱 중 오류 발생: {}", keys.get(i), e);
+            }
+        }
+        return result;
+    }
+
+    public List<RealtimeStockPriceDto> history(String stockCode) {
+        List<byte[]> values = realtimeRedisTemplate.opsForList().range(HISTORY_KEY_PREFIX + stockCode, 0, -1);
+        if (values == null) {
+            return new ArrayList<>();
+        }
+        List<RealtimeStockPriceDto> history = new ArrayList<>(values.size());
+        for (byte[] value : values) {
+            try {
+                history.add(RealtimePriceCodec.decode(value));
+            } catch (IllegalArgumentException e) {
+                log.error("주가 이력 데이터 파싱 중 오류 발생: ", e);
+            }
+        }
+        return history;
+    }
+
+    @Scheduled(fixedDelayString = "${realtime.near-cache.flush-interval-ms:100}")
+    public void flush() {
+        if (pendingWrites.isEmpty()) {
+            return;
+        }
+        List<RealtimeStockPriceDto> batch = new ArrayList<>(pendingWrites.size());
+        for (String stockCode : pendingWrites.keySet()) {
+            RealtimeStockPriceDto price = pendingWrites.remove(stockCode);
+            if (price != null) {
+                batch.add(price);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            realtimeRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                writeBatch(connection, batch);
+                return null;
+            });
+        } catch (Exception e) {
+            log.error("실시간 주가 데이터 저장 중 오류 발생: ", e);
+        }
+    }
+
+    private void writeBatch(RedisConnection connection, List<RealtimeStockPriceDto> batch) {
+        StringBuilder invalidation = new StringBuilder(instanceId).append('|');
+        for (int i = 0; i < batch.size(); i++) {
+            RealtimeStockPriceDto price = batch.get(i);
+            byte[] value = RealtimePriceCodec.encode(price);
+            byte[] historyKey = bytes(HISTORY_KEY_PREFIX + price.getStockCode());
+            connection.stringCommands().setEx(bytes(KEY_PREFIX + price.getStockCode()), TTL_SECONDS, value);
+            connection.listCommands().lPush(historyKey, value);
+            connection.listCommands().lTrim(historyKey, 0, HISTORY_SIZE - 1);
+            if (i > 0) {
+                invalidation.append(',');
+            }
+            invalidation.append(price.getStockCode());
+        }
+        connection.publish(bytes(INVALIDATION_CHANNEL), bytes(invalidation.toString()));
+    }
+
+    // "{instanceId}|005930,000660" - 자기 자신이 보낸 메시지는 무시한다
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf('|');
+        if (separator < 0 || body.regionMatches(0, instanceId, 0, separator) && separator == instanceId.length()) {
+            return;
+        }
+        for (String stockCode : body.substring(separator + 1).split(",")) {
+            nearCache.invalidate(stockCode);
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,26 @@
+package com.stockr.be.domain.stock.service;
+
+import com.stockr.be.domain.trade.client.QuoteConsumer;
+import com.stockr.be.domain.trade.client.RealtimeQuote;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 호가 틱의 현재가를 near-cache에 반영한다 (Redis 기록은 {@link RealtimePriceCache}가 주기적으로 모아서 한다).
+ */
+@Component
+@RequiredArgsConstructor
+public class RealtimePriceCacheQuoteConsumer implements QuoteConsumer {
+
+    private final StockPriceService stockPriceService;
+
+    @Override
+    public String name() {
+        return "price-cache";
+    }
+
+    @Override
+    public void onQuote(RealtimeQuote quote, long receivedNanos) {
+        stockPriceService.handleRealtimePrice(quote.toPriceDto());
+    }
+}
@@ -0,0 +1,129 @@
+package com.stockr.be.domain.stock.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stockr.be.domain.stock.dto.RealtimeStockPriceDto;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link RealtimeStockPriceDto}의 Redis 저장용 바이너리 포맷.
+ * [버전 1B][null 플래그 1B][종목코드 len+ASCII][시각 len+ASCII][가격 8B][부호 1B][전일대비 8B][등락률 8B][누적거래량 8B]
+ * 이전 버전이 남긴 JSON 문자열 값도 읽을 수 있다.
+ */
+public final class RealtimePriceCodec {
+
+    private static final byte VERSION = 1;
+
+    private static final int HAS_PRICE = 1;
+    private static final int HAS_SIGN = 1 << 1;
+    private static final int HAS_COMPARE_YESTERDAY = 1 << 2;
+    private static final int HAS_COMPARE_YESTERDAY_RATE = 1 << 3;
+    private static final int HAS_VOLUME = 1 << 4;
+
+    private static final ObjectMapper LEGACY_MAPPER = new ObjectMapper();
+
+    private RealtimePriceCodec() {
+    }
+
+    public static byte[] encode(RealtimeStockPriceDto dto) {
+        byte[] code = ascii(dto.getStockCode());
+        byte[] hour = ascii(dto.getHour());
+        ByteBuffer buffer = ByteBuffer.allocate(2 + 1 + code.length + 1 + hour.length + 8 + 1 + 8 + 8 + 8);
+
+        int flags = 0;
+        if (dto.getPrice() != null) flags |= HAS_PRICE;
+        if (dto.getCompareYesterdaySign() != null && !dto.getCompareYesterdaySign().isEmpty()) flags |= HAS_SIGN;
+        if (dto.getCompareYesterday() != null) flags |= HAS_COMPARE_YESTERDAY;
+        if (dto.getCompareYesterdayRate() != null) flags |= HAS_COMPARE_YESTERDAY_RATE;
+        if (dto.getAccumulatedTradeVolume() != null) flags |= HAS_VOLUME;
+
+        buffer.put(VERSION);
+        buffer.put((byte) flags);
+        buffer.put((byte) code.length).put(code);
+        buffer.put((byte) hour.length).put(hour);
+        buffer.putLong((flags & HAS_PRICE) != 0 ? dto.getPrice() : 0L);
+        buffer.put((flags & HAS_SIGN) != 0 ? (byte) dto.getCompareYesterdaySign().charAt(0) : 0);
+        buffer.putDouble((flags & HAS_COMPARE_YESTERDAY) != 0 ? dto.getCompareYesterday() : 0d);
+        buffer.putDouble((flags & HAS_COMPARE_YESTERDAY_RATE) != 0 ? dto.getCompareYesterdayRate() : 0d);
+        buffer.putLong((flags & HAS_VOLUME) != 0 ? dto.getAccumulatedTradeVolume() : 0L);
+        return buffer.array();
+    }
+
+    /**
+     * @throws IllegalArgumentException 바이너리/JSON 어느 형식으로도 읽을 수 없는 값
+     */
+    public static RealtimeStockPriceDto decode(byte[] data) {
+        if (data == null || data.length == 0) {
+            throw new IllegalArgumentException("Empty realtime price value");
+        }
+        if (data[0] != VERSION) {
+            return decodeLegacyJson(data);
+        }
+        try {
+            return decodeBinary(data);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated realtime price value", e);
+        }
+    }
+
+    private static RealtimeStockPriceDto decodeBinary(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        buffer.get();
+        int flags = buffer.get();
+        String code = readAscii(buffer);
+        String hour = readAscii(buffer);
+        long price = buffer.getLong();
+        byte sign = buffer.get();
+        double compareYesterday = buffer.getDouble();
+        double compareYesterdayRate = buffer.getDouble();
+        long volume = buffer.getLong();
+
+        return RealtimeStockPriceDto.builder()
+                .stockCode(code)
+                .hour(hour)
+                .price((flags & HAS_PRICE) != 0 ? price : null)
+                .compareYesterdaySign((flags & HAS_SIGN) != 0 ? String.valueOf((char) sign) : null)
+                .compareYesterday((flags & HAS_COMPARE_YESTERDAY) != 0 ? compareYesterday : null)
+                .compareYesterdayRate((flags & HAS_COMPARE_YESTERDAY_RATE) != 0 ? compareYesterdayRate : null)
+                .accumulatedTradeVolume((flags & HAS_VOLUME) != 0 ? volume : null)
+                .build();
+    }
+
+    // 기존 JSON 문자열 값 (Object 템플릿으로 저장되어 문자열로 한 번 더 감싸진 경우 포함)
+    private static RealtimeStockPriceDto decodeLegacyJson(byte[] data) {
+        try {
+            JsonNode node = LEGACY_MAPPER.readTree(data);
+            if (node.isTextual()) {
+                node = LEGACY_MAPPER.readTree(node.textValue());
+            }
+            return LEGACY_MAPPER.treeToValue(node, RealtimeStockPriceDto.class);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unreadable realtime price value", e);
+        }
+    }
+
+    private static byte[] ascii(String value) {
+        if (value == null) {
+            return new byte[0];
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+        if (bytes.length > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Field too long: " + value);
+        }
+        return bytes;
+    }
+
+    private static String readAscii(ByteBuffer buffer) {
+        int length = buffer.get();
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,38 @@
+package com.stockr.be.domain.stock.service;
+
+import com.stockr.be.domain.stock.dto.RealtimeOrderBookDto;
+import com.stockr.be.domain.trade.client.QuoteConsumer;
+import com.stockr.be.domain.trade.client.RealtimeQuote;
+import com.stockr.be.global.websocket.ConflatingMessagePublisher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 호가 틱을 종목별 실시간 시세/호가 STOMP 토픽에 발행한다. 종목별 최신 스냅샷만 남기고 발행 주기마다 한 번 내보낸다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RealtimeQuotePublishingConsumer implements QuoteConsumer {
+
+    private final ConflatingMessagePublisher messagePublisher;
+
+    @Override
+    public String name() {
+        return "stomp";
+    }
+
+    @Override
+    public void onQuote(RealtimeQuote quote, long receivedNanos) {
+        String stockCode = quote.stockCode();
+        messagePublisher.publish("/topic/price/" + stockCode, quote.toPriceDto());
+
+        // KIS H0STASP0 명세 기준: 매도호가(3~12), 매수호가(13~22), 매도호가잔량(23~32), 매수호가잔량(33~42)
+        RealtimeOrderBookDto orderBookDto = quote.toOrderBookDto();
+        if (log.isDebugEnabled()) {
+            log.debug("Processed Order Book for {}: {}", stockCode, orderBookDto);
+        }
+        messagePublisher.publish("/topic/orderbook/" + stockCode, orderBookDto);
+    }
+}
@@ -0,0 +1,216 @@
+package com.stockr.be.domain.stock.service;
+
+import com.stockr.be.domain.stock.dto.StockResponseDto;
+import com.stockr.be.domain.stock.entity.Stock;
+import com.stockr.be.domain.stock.repository.StockRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * stocks 테이블 전체를 담은 불변 스냅샷. 테이블은 하루 한 번 바뀌므로 조회 경로는 MySQL 대신 이 스냅샷을 읽는다.
+ * 주기적으로(또는 {@link #refresh()} 호출 시) 새 스냅샷을 통째로 만들어 바꿔 끼우며,
+ * 시가총액/등락률/배당수익률 순 목록과 종목코드·종목명·초성 접두어 자동완성 트라이를 미리 만들어 둔다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockCatalog {
+
+    public static final int SUGGEST_LIMIT = 10;
+
+    private static final String CHOSUNG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+
+    private final StockRepository stockRepository;
+    private volatile Snapshot snapshot;
+
+    /**
+     * 정렬 기준 (모두 내림차순)
+     */
+    public enum SortKey {
+        MARKET_CAP, FLUCTUATION_RATE, DIVIDEND_YIELD
+    }
+
+    @Scheduled(fixedDelayString = "${stock.catalog.refresh-interval-ms:600000}",
+            initialDelayString = "${stock.catalog.refresh-interval-ms:600000}")
+    public synchronized void refresh() {
+        List<Stock> stocks = stockRepository.findAll();
+        snapshot = new Snapshot(stocks);
+        log.info("Stock catalog refreshed with {} stocks", stocks.size());
+    }
+
+    public Optional<StockResponseDto> find(String ticker) {
+        return Optional.ofNullable(snapshot().byTicker.get(ticker));
+    }
+
+    public boolean contains(String ticker) {
+        return ticker != null && snapshot().byTicker.containsKey(ticker);
+    }
+
+    /**
+     * 카탈로그에 있는 종목이면 연관관계 설정용 참조(프록시)를 돌려준다. DB를 조회하지 않는다.
+     */
+    public Optional<Stock> reference(String ticker) {
+        return contains(ticker) ? Optional.of(stockRepository.getReferenceById(ticker)) : Optional.empty();
+    }
+
+    /**
+     * 요청한 순서대로, 없는 종목은 건너뛴다
+     */
+    public List<StockResponseDto> findAll(Collection<String> tickers) {
+        Snapshot current = snapshot();
+        List<StockResponseDto> stocks = new ArrayList<>(tickers.size());
+        for (String ticker : tickers) {
+            StockResponseDto stock = current.byTicker.get(ticker);
+            if (stock != null) {
+                stocks.add(stock);
+            }
+        }
+        return stocks;
+    }
+
+    /**
+     * 전체 종목 (시가총액 내림차순). 불변 목록이다.
+     */
+    public List<StockResponseDto> all() {
+        return snapshot().byMarketCap;
+    }
+
+    public List<StockResponseDto> top(SortKey sortKey, int limit) {
+        Snapshot current = snapshot();
+        List<StockResponseDto> sorted = switch (sortKey) {
+            case MARKET_CAP -> current.byMarketCap;
+            case FLUCTUATION_RATE -> current.byFluctuationRate;
+            case DIVIDEND_YIELD -> current.byDividendYield;
+        };
+        return sorted.subList(0, Math.min(Math.max(limit, 0), sorted.size()));
+    }
+
+    /**
+     * 종목코드, 종목명, 종목명 초성(예: "ㅅㅅㅈㅈ") 접두어 자동완성. 시가총액이 큰 종목부터 최대 SUGGEST_LIMIT건 (0 이하면 빈 목록).
+     */
+    public List<StockResponseDto> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        Snapshot current = snapshot();
+        TrieNode node = current.trie.find(normalize(prefix.strip()));
+        if (node == null) {
+            return List.of();
+        }
+        int count = Math.min(Math.max(0, Math.min(limit, SUGGEST_LIMIT)), node.size);
+        List<StockResponseDto> suggestions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            suggestions.add(current.byMarketCap.get(node.ranks[i]));
+        }
+        return suggestions;
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            // 첫 조회가 스케줄보다 먼저 오면 그 자리에서 만든다
+            synchronized (this) {
+                if (snapshot == null) {
+                    refresh();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    static String chosung(String name) {
+        StringBuilder builder = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            builder.append(c >= '가' && c <= '힣' ? CHOSUNG.charAt((c - '가') / 588) : Character.toLowerCase(c));
+        }
+        return builder.toString();
+    }
+
+    private static String normalize(String key) {
+        return key.toLowerCase();
+    }
+
+    private static final class Snapshot {
+        private final Map<String, StockResponseDto> byTicker;
+        private final List<StockResponseDto> byMarketCap;
+        private final List<StockResponseDto> byFluctuationRate;
+        private final List<StockResponseDto> byDividendYield;
+        private final TrieNode trie = new TrieNode();
+
+        private Snapshot(List<Stock> stocks) {
+            List<StockResponseDto> dtos = new ArrayList<>(stocks.size());
+            Map<String, StockResponseDto> tickers = new HashMap<>(stocks.size() * 2);
+            for (Stock stock : stocks) {
+                StockResponseDto dto = StockResponseDto.from(stock);
+                dtos.add(dto);
+                tickers.put(dto.getTicker(), dto);
+            }
+            byTicker = Map.copyOf(tickers);
+            byMarketCap = sorted(dtos, Comparator.comparingDouble(StockResponseDto::getMarketCap));
+            byFluctuationRate = sorted(dtos, Comparator.comparingDouble(StockResponseDto::getFluctuationRate));
+            byDividendYield = sorted(dtos, Comparator.comparingDouble(StockResponseDto::getDividendYield));
+
+            // 시가총액 순으로 넣어 노드별 상위 목록이 자연히 시가총액 순이 되게 한다
+            for (int rank = 0; rank < byMarketCap.size(); rank++) {
+                StockResponseDto stock = byMarketCap.get(rank);
+                trie.insert(normalize(stock.getTicker()), rank);
+                if (stock.getName() != null) {
+                    trie.insert(normalize(stock.getName()), rank);
+                    trie.insert(chosung(stock.getName()), rank);
+                }
+            }
+        }
+
+        private static List<StockResponseDto> sorted(List<StockResponseDto> stocks,
+                Comparator<StockResponseDto> ascending) {
+            List<StockResponseDto> copy = new ArrayList<>(stocks);
+            copy.sort(ascending.reversed().thenComparing(StockResponseDto::getTicker));
+            return List.copyOf(copy);
+        }
+    }
+
+    /**
+     * 접두어 트라이 노드. 이 노드로 시작하는 종목의 시가총액 순위를 앞에서부터 SUGGEST_LIMIT개까지 들고 있어
+     * 자동완성이 접두어 길이만큼만 내려가면 끝난다.
+     */
+    private static final class TrieNode {
+        private final Map<Character, TrieNode> children = new HashMap<>();
+        private final int[] ranks = new int[SUGGEST_LIMIT];
+        private int size;
+
+        void insert(String key, int rank) {
+            TrieNode node = this;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new TrieNode());
+                node.add(rank);
+            }
+        }
+
+        // 순위 오름차순으로만 들어오므로 마지막 값과만 비교해 같은 종목의 중복(이름/초성이 같은 접두어)을 거른다
+        private void add(int rank) {
+            if (size < SUGGEST_LIMIT && (size == 0 || ranks[size - 1] != rank)) {
+                ranks[size++] = rank;
+            }
+        }
+
+        TrieNode find(String prefix) {
+            TrieNode node = this;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.children.get(prefix.charAt(i));
+            }
+            return node == this ? null : node;
+        }
+    }
+}
@@ -16,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,14 +31,19 @@ public class StockHoldingService {
         var account = accountRepository.findById(accountDto.getAccountId())
                 .orElseThrow(() -> new BusinessException(ErrorCode.ACCOUNT_NOT_FOUND));
 
-        return stockHoldingRepository.findByAccount(account).stream()
-                .map(this::calculateStockHoldingInfo)
+        List<StockHolding> holdings = stockHoldingRepository.findWithStockByAccount(account);
+        // 보유 종목 실시간 가격을 한 번에 조회
+        Map<String, RealtimeStockPriceDto> realtimePrices = stockPriceService.getLatestRealtimePrices(
+                holdings.stream().map(holding -> holding.getStock().getTicker()).collect(Collectors.toSet()));
+
+        return holdings.stream()
+                .map(holding -> calculateStockHoldingInfo(holding,
+                        realtimePrices.get(holding.getStock().getTicker())))
                 .collect(Collectors.toList());
     }
 
-    private StockHoldingResponseDto calculateStockHoldingInfo(StockHolding holding) {
-        // Redis에서 실시간 가격 조회
-        RealtimeStockPriceDto realtimePrice = stockPriceService.getLatestPrice(holding.getStock().getTicker());
+    private StockHoldingResponseDto calculateStockHoldingInfo(StockHolding holding,
+            RealtimeStockPriceDto realtimePrice) {
         BigDecimal currentPrice = realtimePrice != null ? BigDecimal.valueOf(realtimePrice.getPrice())
                 : BigDecimal.valueOf(holding.getStock().getClosePrice());
 
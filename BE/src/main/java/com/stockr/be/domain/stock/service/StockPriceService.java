@@ -2,12 +2,15 @@ package com.stockr.be.domain.stock.service;
 
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.Sorts;
 import com.stockr.be.domain.stock.dto.StockPriceDto;
 import com.stockr.be.domain.stock.dto.StockPriceResponse;
 import com.stockr.be.domain.stock.dto.RealtimeStockPriceDto;
 import com.stockr.be.domain.stock.dto.StockFinancialRatioDto;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -20,15 +23,21 @@ import org.springframework.data.redis.core.RedisTemplate;
 import org.json.JSONObject;
 import org.json.JSONArray;
 import lombok.extern.slf4j.Slf4j;
-import java.time.Duration;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Slf4j
 @Service
@@ -37,18 +46,84 @@ public class StockPriceService {
     private final MongoClient mongoClient;
     private final RestTemplate restTemplate;
     private final RedisTemplate<String, String> redisTemplate;
+    private final RealtimePriceCache realtimePriceCache;
+    private final OhlcvColumnStore ohlcvColumnStore;
+    private final ObjectMapper objectMapper;
     private static final String KOREA_INVESTMENT_API_URL = "https://openapi.koreainvestment.com:9443";
     private static final String KIS_TOKEN_KEY = "kis_token";
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private static final ZoneId SYSTEM_ZONE = ZoneId.systemDefault();
+    private static final int STREAM_CHUNK_SIZE = 500;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
 
     private MongoCollection<Document> getCollection() {
         return mongoClient.getDatabase("stock_db").getCollection("stock_prices");
     }
 
     public StockPriceResponse getPrices(String ticker, String interval, LocalDate startDate, LocalDate endDate,
-            Integer limit) {
-        var collection = getCollection();
-        var query = new Document("ticker", ticker).append("interval", interval.toLowerCase());
+            Integer limit, Integer maxPoints) {
+        PriceInterval priceInterval = PriceInterval.parse(interval);
+        var prices = new ArrayList<StockPriceDto>();
+        visitCandles(ticker, priceInterval, startDate, endDate, limit, maxPoints,
+                (dateMillis, open, high, low, close, volume) -> prices.add(toDto(ticker, priceInterval,
+                        dateMillis, open, high, low, close, volume)));
+
+        return toResponse(ticker, interval, prices);
+    }
+
+    /**
+     * 일봉을 요청 주기로 묶고 maxPoints로 줄인 캔들을 날짜 오름차순으로 넘긴다.
+     * 수집기는 일봉만 적재하므로 주봉/월봉 등도 모두 일봉에서 만든다.
+     */
+    private void visitCandles(String ticker, PriceInterval interval, LocalDate startDate, LocalDate endDate,
+            Integer limit, Integer maxPoints, OhlcvSlice.CandleVisitor visitor) {
+        if (ohlcvColumnStore.supports(ticker, PriceInterval.DAILY.getName())) {
+            // 일봉 컬럼에서 구간만 잘라 쓴다 (Mongo Document 변환 없음)
+            loadSlice(ticker, interval, startDate, endDate, limit, maxPoints).forEach(visitor);
+        } else {
+            visitMongoCandles(ticker, interval, startDate, endDate, limit, maxPoints, visitor);
+        }
+    }
+
+    private OhlcvSlice loadSlice(String ticker, PriceInterval interval, LocalDate startDate, LocalDate endDate,
+            Integer limit, Integer maxPoints) {
+        long fromMillis = startDate != null ? toEpochMillis(startDate) : Long.MIN_VALUE;
+        long toMillis = endDate != null ? toEpochMillis(endDate.plusDays(1)) : Long.MAX_VALUE;
+        String daily = PriceInterval.DAILY.getName();
+        if (interval.isDaily() && maxPoints == null) {
+            return ohlcvColumnStore.range(ticker, daily, fromMillis, toMillis, limit);
+        }
+        OhlcvSlice dailySlice = ohlcvColumnStore.range(ticker, daily, fromMillis, toMillis, null);
+        return OhlcvResampler.resample(dailySlice, interval, limit, maxPoints);
+    }
+
+    // 컬럼 저장소가 다루지 않는 종목: 일봉이면 커서를 그대로 흘리고, 그 외에는 힙 컬럼에 담아 같은 방식으로 묶는다
+    private void visitMongoCandles(String ticker, PriceInterval interval, LocalDate startDate, LocalDate endDate,
+            Integer limit, Integer maxPoints, OhlcvSlice.CandleVisitor visitor) {
+        var cursor = getCollection().find(priceQuery(ticker, startDate, endDate))
+                .sort(Sorts.ascending("date")).batchSize(STREAM_CHUNK_SIZE);
+        if (interval.isDaily() && maxPoints == null) {
+            if (limit != null && limit > 0) {
+                cursor.limit(limit);
+            }
+            for (Document doc : cursor) {
+                visitDocument(doc, visitor);
+            }
+            return;
+        }
+        OhlcvResampler.Columns daily = new OhlcvResampler.Columns(STREAM_CHUNK_SIZE);
+        for (Document doc : cursor) {
+            visitDocument(doc, daily::add);
+        }
+        OhlcvResampler.resample(daily.toSlice(), interval, limit, maxPoints).forEach(visitor);
+    }
+
+    private static void visitDocument(Document doc, OhlcvSlice.CandleVisitor visitor) {
+        visitor.visit(doc.getDate("date").getTime(), doc.getDouble("open"), doc.getDouble("high"),
+                doc.getDouble("low"), doc.getDouble("close"), doc.getDouble("volume"));
+    }
+
+    private Document priceQuery(String ticker, LocalDate startDate, LocalDate endDate) {
+        var query = new Document("ticker", ticker).append("interval", PriceInterval.DAILY.getName());
 
         if (startDate != null || endDate != null) {
             var dateQuery = new Document();
@@ -60,16 +135,10 @@ public class StockPriceService {
             }
             query.append("date", dateQuery);
         }
+        return query;
+    }
 
-        var prices = new ArrayList<StockPriceDto>();
-        var cursor = collection.find(query).sort(Sorts.ascending("date"));
-
-        if (limit != null) {
-            cursor.limit(limit);
-        }
-
-        cursor.forEach(doc -> prices.add(documentToDto(doc)));
-
+    private StockPriceResponse toResponse(String ticker, String interval, List<StockPriceDto> prices) {
         if (prices.isEmpty()) {
             return StockPriceResponse.builder().ticker(ticker).interval(interval).prices(List.of())
                     .meta(StockPriceResponse.MetaData.builder().totalCount(0).build()).build();
@@ -82,17 +151,60 @@ public class StockPriceService {
         return StockPriceResponse.builder().ticker(ticker).interval(interval).prices(prices).meta(meta).build();
     }
 
-    public StockPriceResponse getPriceByDate(String ticker, String interval, LocalDate date) {
-        var collection = getCollection();
-        var query = new Document("ticker", ticker).append("interval", interval.toLowerCase()).append("date",
-                new Document("$gte", date.atStartOfDay()).append("$lt", date.plusDays(1).atStartOfDay()));
-
-        var doc = collection.find(query).first();
-        var prices = new ArrayList<StockPriceDto>();
-        if (doc != null) {
-            prices.add(documentToDto(doc));
+    /**
+     * getPrices와 같은 응답(ApiResponse 형태)을 목록을 만들지 않고 출력 스트림에 바로 쓴다.
+     * 캔들은 컬럼 저장소(또는 Mongo 커서)에서 읽어 주기 집계/다운샘플링을 거친 뒤
+     * STREAM_CHUNK_SIZE개마다 flush되고, meta는 마지막에 쓴다.
+     */
+    public void streamPrices(String ticker, String interval, LocalDate startDate, LocalDate endDate, Integer limit,
+            Integer maxPoints, OutputStream out) throws IOException {
+        PriceInterval priceInterval = PriceInterval.parse(interval);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        generator.writeStartObject();
+        generator.writeBooleanField("success", true);
+        generator.writeObjectFieldStart("data");
+        generator.writeStringField("ticker", ticker);
+        generator.writeStringField("interval", interval);
+        generator.writeArrayFieldStart("prices");
+
+        CandleStreamWriter writer = new CandleStreamWriter(generator, ticker, priceInterval.getName());
+        try {
+            visitCandles(ticker, priceInterval, startDate, endDate, limit, maxPoints, writer);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
 
+        generator.writeEndArray();
+        generator.writeObjectFieldStart("meta");
+        generator.writeNumberField("totalCount", writer.count);
+        generator.writeStringField("startDate", writer.count > 0 ? toLocalDateTime(writer.firstMillis).toString() : null);
+        generator.writeStringField("endDate", writer.count > 0 ? toLocalDateTime(writer.lastMillis).toString() : null);
+        generator.writeEndObject();
+        generator.writeEndObject();
+        generator.writeNullField("message");
+        generator.writeEndObject();
+        generator.flush();
+    }
+
+    /**
+     * date의 캔들 하나. 주/월/분기/연 주기는 date가 속한 구간을, N거래일 주기는 date부터 N거래일을 묶는다.
+     */
+    public StockPriceResponse getPriceByDate(String ticker, String interval, LocalDate date) {
+        PriceInterval priceInterval = PriceInterval.parse(interval);
+        LocalDate start = priceInterval.isCalendar() ? priceInterval.periodStart(date) : date;
+        // 구간 끝 다음 날 캔들이 섞여 들어와도 limit 1로 첫 캔들만 남는다
+        LocalDate end = priceInterval.isCalendar()
+                ? LocalDate.ofEpochDay(priceInterval.nextBoundary(start.toEpochDay())) : null;
+        var prices = new ArrayList<StockPriceDto>(1);
+        visitCandles(ticker, priceInterval, start, end, 1, null, (dateMillis, open, high, low, close, volume) -> {
+            // 거래일 주기는 그날 거래가 있어야 한다 (일봉 날짜는 UTC 자정)
+            if (priceInterval.isCalendar() || Math.floorDiv(dateMillis, MILLIS_PER_DAY) == date.toEpochDay()) {
+                prices.add(toDto(ticker, priceInterval, dateMillis, open, high, low, close, volume));
+            }
+        });
+
         var meta = StockPriceResponse.MetaData.builder().totalCount(prices.size()).startDate(date.toString())
                 .endDate(date.toString()).build();
 
@@ -100,13 +212,20 @@ public class StockPriceService {
     }
 
     public List<StockPriceResponse> getLatestPrices(List<String> tickers) {
-        var collection = getCollection();
-        var responses = new ArrayList<StockPriceResponse>();
+        if (tickers == null || tickers.isEmpty()) {
+            return new ArrayList<>();
+        }
+        // 종목별 최신 일봉을 한 번의 aggregation으로 조회
+        var latestByTicker = new HashMap<String, Document>();
+        getCollection().aggregate(List.of(
+                Aggregates.match(Filters.and(Filters.in("ticker", tickers), Filters.eq("interval", "daily"))),
+                Aggregates.sort(Sorts.orderBy(Sorts.ascending("ticker"), Sorts.descending("date"))),
+                Aggregates.group("$ticker", Accumulators.first("latest", "$$ROOT"))))
+                .forEach(result -> latestByTicker.put(result.getString("_id"), result.get("latest", Document.class)));
 
+        var responses = new ArrayList<StockPriceResponse>();
         for (String ticker : tickers) {
-            var query = new Document("ticker", ticker).append("interval", "daily");
-
-            var doc = collection.find(query).sort(Sorts.descending("date")).first();
+            var doc = latestByTicker.get(ticker);
 
             if (doc != null) {
                 var prices = List.of(documentToDto(doc));
@@ -123,18 +242,8 @@ public class StockPriceService {
 
     public RealtimeStockPriceDto handleRealtimePrice(RealtimeStockPriceDto priceData) {
         try {
-            // Redis에 데이터 저장
-            String key = "stock:realtime:" + priceData.getStockCode();
-            String jsonData = objectMapper.writeValueAsString(priceData);
-
-            // Redis에 저장 (TTL: 1시간)
-            redisTemplate.opsForValue().set(key, jsonData, Duration.ofHours(1));
-
-            // 최근 N개의 가격 데이터를 리스트로 저장
-            String listKey = "stock:history:" + priceData.getStockCode();
-            redisTemplate.opsForList().leftPush(listKey, jsonData);
-            redisTemplate.opsForList().trim(listKey, 0, 99); // 최근 100개만 유지
-
+            // near-cache 즉시 반영, Redis(SET/LPUSH/LTRIM)는 주기적으로 파이프라인 기록 (TTL 1시간, 최근 100개 유지)
+            realtimePriceCache.put(priceData);
             return priceData;
         } catch (Exception e) {
             log.error("실시간 주가 데이터 저장 중 오류 발생: ", e);
@@ -255,6 +364,21 @@ public class StockPriceService {
         }
     }
 
+    // Mongo 드라이버는 LocalDateTime을 UTC 기준으로 저장/비교한다
+    private static long toEpochMillis(LocalDate date) {
+        return date.atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), SYSTEM_ZONE);
+    }
+
+    private static StockPriceDto toDto(String ticker, PriceInterval interval, long dateMillis, double open,
+            double high, double low, double close, double volume) {
+        return StockPriceDto.builder().ticker(ticker).date(toLocalDateTime(dateMillis)).interval(interval.getName())
+                .open(open).high(high).low(low).close(close).volume(volume).build();
+    }
+
     private StockPriceDto documentToDto(Document doc) {
         return StockPriceDto.builder().ticker(doc.getString("ticker"))
                 .date(doc.getDate("date").toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime())
@@ -262,50 +386,76 @@ public class StockPriceService {
                 .low(doc.getDouble("low")).close(doc.getDouble("close")).volume(doc.getDouble("volume")).build();
     }
 
-    // 최신 가격 조회
+    // 최신 가격 조회 (near-cache 우선, 없으면 Redis)
     public RealtimeStockPriceDto getLatestPrice(String stockCode) {
         try {
-            String key = "stock:realtime:" + stockCode;
-            String jsonData = redisTemplate.opsForValue().get(key);
-            log.debug("Redis key: {}, value: {}", key, jsonData);
-            if (jsonData != null) {
-                // 앞뒤 큰따옴표 제거
-                if (jsonData.startsWith("\"") && jsonData.endsWith("\"")) {
-                    jsonData = jsonData.substring(1, jsonData.length() - 1);
-                }
-                RealtimeStockPriceDto dto = objectMapper.readValue(jsonData, RealtimeStockPriceDto.class);
-                log.debug("Parsed DTO: {}", dto);
-                return dto;
-            }
-            return null;
+            return realtimePriceCache.get(stockCode);
         } catch (Exception e) {
             log.error("실시간 주가 데이터 조회 중 오류 발생: ", e);
             return null;
         }
     }
 
+    // 여러 종목의 최신 가격 일괄 조회 (near-cache 우선, 나머지는 MGET 한 번). 시세가 없는 종목은 결과에 없다
+    public Map<String, RealtimeStockPriceDto> getLatestRealtimePrices(Collection<String> stockCodes) {
+        try {
+            return realtimePriceCache.getAll(stockCodes);
+        } catch (Exception e) {
+            log.error("실시간 주가 데이터 조회 중 오류 발생: ", e);
+            return new HashMap<>();
+        }
+    }
+
     // 최근 이력 조회
     public List<RealtimeStockPriceDto> getPriceHistory(String stockCode) {
         try {
-            String listKey = "stock:history:" + stockCode;
-            List<String> jsonList = redisTemplate.opsForList().range(listKey, 0, -1);
-            if (jsonList != null) {
-                return jsonList.stream()
-                        .map(json -> {
-                            try {
-                                return objectMapper.readValue(json, RealtimeStockPriceDto.class);
-                            } catch (Exception e) {
-                                log.error("JSON 파싱 중 오류 발생: ", e);
-                                return null;
-                            }
-                        })
-                        .filter(Objects::nonNull)
-                        .collect(Collectors.toList());
-            }
-            return new ArrayList<>();
+            return realtimePriceCache.history(stockCode);
         } catch (Exception e) {
             log.error("주가 이력 데이터 조회 중 오류 발생: ", e);
             return new ArrayList<>();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 캔들을 JSON 배열 원소로 바로 쓰는 visitor. 개수와 처음/마지막 날짜만 기억한다.
+     */
+    private static final class CandleStreamWriter implements OhlcvSlice.CandleVisitor {
+        private final JsonGenerator generator;
+        private final String ticker;
+        private final String interval;
+        private int count;
+        private long firstMillis;
+        private long lastMillis;
+
+        private CandleStreamWriter(JsonGenerator generator, String ticker, String interval) {
+            this.generator = generator;
+            this.ticker = ticker;
+            this.interval = interval;
+        }
+
+        @Override
+        public void visit(long dateMillis, double open, double high, double low, double close, double volume) {
+            try {
+                generator.writeStartObject();
+                generator.writeStringField("ticker", ticker);
+                generator.writeStringField("date", toLocalDateTime(dateMillis).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+                generator.writeStringField("interval", interval);
+                generator.writeNumberField("open", open);
+                generator.writeNumberField("high", high);
+                generator.writeNumberField("low", low);
+                generator.writeNumberField("close", close);
+                generator.writeNumberField("volume", volume);
+                generator.writeEndObject();
+                if (count == 0) {
+                    firstMillis = dateMillis;
+                }
+                lastMillis = dateMillis;
+                if (++count % STREAM_CHUNK_SIZE == 0) {
+                    generator.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
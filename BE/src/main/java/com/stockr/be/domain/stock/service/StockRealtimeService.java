@@ -1,15 +1,11 @@
 package com.stockr.be.domain.stock.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.stockr.be.domain.trade.client.StockWebSocketClient;
-import com.stockr.be.global.config.KISConfig;
+import com.stockr.be.domain.trade.client.KisSubscriptionRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Set;
 
 @Slf4j
@@ -20,10 +16,8 @@ public class StockRealtimeService {
     private final RedisTemplate<String, String> redisTemplate;
     private static final String TARGET_STOCKS_KEY = "target_stocks";
 
-    // KIS WebSocket-related fields
-    private final StockWebSocketClient webSocketClient;
-    private final KISConfig kisConfig;
-    private final ObjectMapper objectMapper;
+    // KIS WebSocket 구독 참조 카운트
+    private final KisSubscriptionRegistry subscriptionRegistry;
 
     public void addTargetStock(String stockCode) {
         redisTemplate.opsForSet().add(TARGET_STOCKS_KEY, stockCode);
@@ -42,72 +36,20 @@ public class StockRealtimeService {
     }
 
     /**
-     * 실시간 호가 구독
+     * 실시간 호가 구독. 같은 종목을 여러 구독자가 봐도 KIS에는 한 번만 등록된다.
+     * @param subscriberId 구독자 (STOMP 세션 ID 등)
      * @param stockCode 종목코드
      */
-    public void subscribeStockPrice(String stockCode) {
-        try {
-            Map<String, String> header = new HashMap<>();
-            header.put("appkey", kisConfig.getApi().getAppKey());
-            header.put("appsecret", kisConfig.getApi().getAppSecret());
-            header.put("custtype", "P");
-            header.put("tr_type", "1"); 
-            header.put("tr_id", "H0STASP0"); // 주식 호가 TR ID
-
-            Map<String, String> input = new HashMap<>();
-            input.put("tr_id", "H0STASP0");
-            input.put("tr_key", stockCode);
-
-            Map<String, Object> body = new HashMap<>();
-            body.put("input", input);
-
-            Map<String, Object> request = new HashMap<>();
-            request.put("header", header);
-            request.put("body", body);
-
-            String message = objectMapper.writeValueAsString(request);
-            webSocketClient.send(message);
-
-            log.info("Subscribed to KIS order book for: {}", stockCode);
-
-        } catch (Exception e) {
-            log.error("Failed to subscribe KIS order book for: " + stockCode, e);
-            throw new RuntimeException("Failed to subscribe KIS order book", e);
-        }
+    public void subscribeStockPrice(String subscriberId, String stockCode) {
+        subscriptionRegistry.subscribe(subscriberId, stockCode);
     }
 
     /**
-     * 실시간 호가 구독 취소
+     * 실시간 호가 구독 취소. 마지막 구독자가 취소할 때만 KIS 등록을 해제한다.
+     * @param subscriberId 구독자 (STOMP 세션 ID 등)
      * @param stockCode 종목코드
      */
-    public void unsubscribeStockPrice(String stockCode) {
-        try {
-            Map<String, String> header = new HashMap<>();
-            header.put("appkey", kisConfig.getApi().getAppKey());
-            header.put("appsecret", kisConfig.getApi().getAppSecret());
-            header.put("custtype", "P");
-            header.put("tr_type", "2"); // 구독 취소
-            header.put("tr_id", "H0STASP0");
-
-            Map<String, String> input = new HashMap<>();
-            input.put("tr_id", "H0STASP0");
-            input.put("tr_key", stockCode);
-
-            Map<String, Object> body = new HashMap<>();
-            body.put("input", input);
-
-            Map<String, Object> request = new HashMap<>();
-            request.put("header", header);
-            request.put("body", body);
-
-            String message = objectMapper.writeValueAsString(request);
-            webSocketClient.send(message);
-
-            log.info("Unsubscribed from KIS order book for: {}", stockCode);
-
-        } catch (Exception e) {
-            log.error("Failed to unsubscribe KIS order book for: " + stockCode, e);
-            throw new RuntimeException("Failed to unsubscribe KIS order book", e);
-        }
+    public void unsubscribeStockPrice(String subscriberId, String stockCode) {
+        subscriptionRegistry.unsubscribe(subscriberId, stockCode);
     }
-} 
\ No newline at end of file
+}
@@ -1,43 +1,42 @@
 package com.stockr.be.domain.stock.service;
 
 import com.stockr.be.domain.stock.dto.StockResponseDto;
-import com.stockr.be.domain.stock.entity.Stock;
-import com.stockr.be.domain.stock.repository.StockRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
+/**
+ * 종목 조회. stocks 테이블 대신 {@link StockCatalog} 스냅샷을 읽는다.
+ */
 @Service
 @RequiredArgsConstructor
-@Transactional(readOnly = true)
 public class StockService {
-    private final StockRepository stockRepository;
+    private final StockCatalog stockCatalog;
     
     public StockResponseDto getStock(String ticker) {
-        Stock stock = stockRepository.findById(ticker)
+        return stockCatalog.find(ticker)
                 .orElseThrow(() -> new EntityNotFoundException("Stock not found: " + ticker));
-        return StockResponseDto.from(stock);
     }
     
     public List<StockResponseDto> getStocks(List<String> tickers) {
-        return stockRepository.findByTickerIn(tickers).stream()
-                .map(StockResponseDto::from)
-                .collect(Collectors.toList());
+        return stockCatalog.findAll(tickers);
     }
     
     public List<StockResponseDto> getAllStocks() {
-        return stockRepository.findAll().stream()
-                .map(StockResponseDto::from)
-                .collect(Collectors.toList());
+        return stockCatalog.all();
     }
     
     public List<StockResponseDto> getTopMarketCapStocks() {
-        return stockRepository.findTop10ByOrderByMarketCapDesc().stream()
-                .map(StockResponseDto::from)
-                .collect(Collectors.toList());
+        return stockCatalog.top(StockCatalog.SortKey.MARKET_CAP, 10);
     }
-} 
\ No newline at end of file
+
+    public List<StockResponseDto> getRanking(StockCatalog.SortKey sortKey, int limit) {
+        return stockCatalog.top(sortKey, limit);
+    }
+
+    public List<StockResponseDto> suggest(String query, int limit) {
+        return stockCatalog.suggest(query, limit);
+    }
+} 
@@ -0,0 +1,39 @@
+package com.stockr.be.domain.trade.client;
+
+/**
+ * 테스트/리플레이용 H0STASP0(주식호가) 메시지 생성기.
+ * {@link KisQuoteParser}가 읽는 45개 필드 배치(종목코드, 시각, 현재가, 매도/매수 10호가, 매도/매수 10호가잔량, 총잔량 2개)로 만든다.
+ */
+public final class KisQuoteFrames {
+
+    private KisQuoteFrames() {
+    }
+
+    /**
+     * 현재가를 기준으로 priceStep 간격의 매도/매수 10호가와 같은 잔량을 채운 메시지.
+     */
+    public static String synthetic(String stockCode, String hour, long price, long priceStep, long volume) {
+        StringBuilder frame = new StringBuilder(320);
+        frame.append("0|").append(KisQuoteParser.TR_ID).append("|001|");
+        frame.append(stockCode).append('^'); // 종목코드
+        frame.append(hour).append('^'); // 시각
+        frame.append(price).append('^'); // 현재가
+
+        // 매도호가 10개 (현재가 기준으로 상승)
+        for (int i = 1; i <= RealtimeQuote.DEPTH; i++) {
+            frame.append(price + i * priceStep).append('^');
+        }
+        // 매수호가 10개 (현재가 기준으로 하락)
+        for (int i = 1; i <= RealtimeQuote.DEPTH; i++) {
+            frame.append(price - i * priceStep).append('^');
+        }
+        // 매도호가잔량, 매수호가잔량 10개씩
+        for (int i = 0; i < RealtimeQuote.DEPTH * 2; i++) {
+            frame.append(volume).append('^');
+        }
+        // 총매도호가잔량과 총매수호가잔량
+        frame.append(volume * RealtimeQuote.DEPTH).append('^');
+        frame.append(volume * RealtimeQuote.DEPTH);
+        return frame.toString();
+    }
+}
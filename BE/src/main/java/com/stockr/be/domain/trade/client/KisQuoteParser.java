@@ -0,0 +1,207 @@
+package com.stockr.be.domain.trade.client;
+
+/**
+ * KIS 실시간 H0STASP0(주식호가) 메시지 파서.
+ * "0|H0STASP0|건수|필드^필드^..." 형식의 payload를 커서로 한 번만 훑으면서
+ * '^' 구분 필드를 곧바로 primitive 값으로 {@link RealtimeQuote}에 채운다.
+ * split/정규식/중간 String을 만들지 않으므로 틱당 할당이 없다.
+ */
+public final class KisQuoteParser {
+
+    public static final String TR_ID = "H0STASP0";
+
+    // 필드 인덱스 (기존 StockWebSocketClient 매핑과 동일)
+    private static final int CODE = 0;
+    private static final int HOUR = 1;
+    private static final int PRICE = 2;
+    private static final int ASK_PRICE_START = 3;
+    private static final int SIGN = 4;
+    private static final int COMPARE_YESTERDAY = 5;
+    private static final int COMPARE_YESTERDAY_RATE = 6;
+    private static final int BID_PRICE_START = 13;
+    private static final int ACCUMULATED_VOLUME = 13;
+    private static final int ASK_VOLUME_START = 23;
+    private static final int BID_VOLUME_START = 33;
+    private static final int TOTAL_ASK_VOLUME = 43;
+    private static final int TOTAL_BID_VOLUME = 44;
+    private static final int FIELD_COUNT = 45;
+
+    private KisQuoteParser() {
+    }
+
+    public static boolean isQuote(CharSequence payload) {
+        return payload.length() > 2 + TR_ID.length()
+                && payload.charAt(0) == '0' && payload.charAt(1) == '|'
+                && regionMatches(payload, 2, TR_ID);
+    }
+
+    /**
+     * payload를 파싱해 quote에 채운다.
+     *
+     * @return 필드 수가 부족한 등 호가 메시지가 아니면 false
+     * @throws NumberFormatException 숫자 필드가 올바르지 않은 경우
+     */
+    public static boolean parse(CharSequence payload, RealtimeQuote quote) {
+        int length = payload.length();
+        int cursor = skipPipes(payload, 0, 3);
+        if (cursor < 0) {
+            return false;
+        }
+
+        int field = 0;
+        while (cursor <= length && field < FIELD_COUNT) {
+            int end = cursor;
+            while (end < length) {
+                char c = payload.charAt(end);
+                if (c == '^' || c == '|') {
+                    break;
+                }
+                end++;
+            }
+            readField(payload, cursor, end, field, quote);
+            field++;
+            if (end >= length || payload.charAt(end) == '|') {
+                break;
+            }
+            cursor = end + 1;
+        }
+        return field == FIELD_COUNT;
+    }
+
+    private static void readField(CharSequence s, int start, int end, int field, RealtimeQuote quote) {
+        if (field == CODE) {
+            quote.codeLength = copyChars(s, start, end, quote.codeChars);
+            return;
+        }
+        if (field == HOUR) {
+            quote.hourLength = copyChars(s, start, end, quote.hourChars);
+            return;
+        }
+        if (field == PRICE) {
+            quote.price = parseLong(s, start, end);
+            return;
+        }
+        if (field < BID_PRICE_START) {
+            quote.askPrices[field - ASK_PRICE_START] = parseLong(s, start, end);
+            if (field == SIGN) {
+                quote.compareYesterdaySign = end > start ? s.charAt(start) : '3';
+            } else if (field == COMPARE_YESTERDAY) {
+                quote.compareYesterday = parseDouble(s, start, end);
+            } else if (field == COMPARE_YESTERDAY_RATE) {
+                quote.compareYesterdayRate = parseDouble(s, start, end);
+            }
+            return;
+        }
+        long value = parseLong(s, start, end);
+        if (field < ASK_VOLUME_START) {
+            quote.bidPrices[field - BID_PRICE_START] = value;
+            if (field == ACCUMULATED_VOLUME) {
+                quote.accumulatedTradeVolume = value;
+            }
+        } else if (field < BID_VOLUME_START) {
+            quote.askVolumes[field - ASK_VOLUME_START] = value;
+        } else if (field < TOTAL_ASK_VOLUME) {
+            quote.bidVolumes[field - BID_VOLUME_START] = value;
+        } else if (field == TOTAL_ASK_VOLUME) {
+            quote.totalAskVolume = value;
+        } else if (field == TOTAL_BID_VOLUME) {
+            quote.totalBidVolume = value;
+        }
+    }
+
+    static long parseLong(CharSequence s, int start, int end) {
+        if (start >= end) {
+            throw new NumberFormatException("Empty numeric field");
+        }
+        int i = start;
+        boolean negative = false;
+        char first = s.charAt(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+            if (i == end) {
+                throw new NumberFormatException("Sign without digits");
+            }
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = s.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("Invalid digit in numeric field");
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    static double parseDouble(CharSequence s, int start, int end) {
+        if (start >= end) {
+            throw new NumberFormatException("Empty numeric field");
+        }
+        int i = start;
+        boolean negative = false;
+        char first = s.charAt(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+        }
+        long integerPart = 0;
+        long fraction = 0;
+        long scale = 1;
+        boolean seenDigit = false;
+        boolean inFraction = false;
+        for (; i < end; i++) {
+            char c = s.charAt(i);
+            if (c == '.' && !inFraction) {
+                inFraction = true;
+                continue;
+            }
+            int digit = c - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("Invalid digit in numeric field");
+            }
+            seenDigit = true;
+            if (inFraction) {
+                if (scale < 1_000_000_000_000L) {
+                    fraction = fraction * 10 + digit;
+                    scale *= 10;
+                }
+            } else {
+                integerPart = integerPart * 10 + digit;
+            }
+        }
+        if (!seenDigit) {
+            throw new NumberFormatException("Numeric field without digits");
+        }
+        double value = integerPart + (double) fraction / scale;
+        return negative ? -value : value;
+    }
+
+    private static int copyChars(CharSequence s, int start, int end, char[] target) {
+        int length = Math.min(end - start, target.length);
+        for (int i = 0; i < length; i++) {
+            target[i] = s.charAt(start + i);
+        }
+        return length;
+    }
+
+    // count번째 '|' 다음 위치를 반환한다
+    private static int skipPipes(CharSequence s, int from, int count) {
+        int found = 0;
+        for (int i = from; i < s.length(); i++) {
+            if (s.charAt(i) == '|' && ++found == count) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean regionMatches(CharSequence s, int offset, String expected) {
+        for (int i = 0; i < expected.length(); i++) {
+            if (s.charAt(offset + i) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
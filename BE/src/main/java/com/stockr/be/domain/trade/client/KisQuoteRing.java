@@ -0,0 +1,184 @@
+package com.stockr.be.domain.trade.client;
+
+import com.stockr.be.global.ring.BroadcastRing;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * KIS 수신 스레드와 호가 소비자({@link QuoteConsumer}) 사이의 링 버퍼.
+ * 수신 스레드는 원본 메시지를 미리 잡아 둔 슬롯에 복사만 하고 바로 돌아가므로, 어떤 후속 단계가 느려도 KIS 소켓을 막지 않는다.
+ * 소비자마다 전용 스레드가 자기 sequence로 따라 읽으며 각자 파싱한다. 링 크기 이상 뒤처진 소비자는 덮어쓰인 틱을 건너뛰고
+ * 링 절반만큼 뒤에서 이어 읽으므로, 다른 종목의 최근 틱까지 함께 버리지 않으면서 다시 따라잡을 여유를 가진다.
+ * 소비자별 지연(발행 sequence - 처리 sequence)은 realtime.ring.lag, 잃은 틱 수는 realtime.ring.overrun 메트릭으로 노출되고
+ * 소비자에게는 따라잡은 뒤(따라잡지 못하면 최대 1초마다) 그동안 잃은 틱을 모아 {@link QuoteConsumer#onOverrun(long)}으로 한 번 알린다.
+ */
+@Slf4j
+@Component
+public class KisQuoteRing {
+
+    private static final int SPIN_TRIES = 100;
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long OVERRUN_REPORT_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final BroadcastRing ring;
+    private final List<Worker> workers = new ArrayList<>();
+
+    public KisQuoteRing(List<QuoteConsumer> consumers, MeterRegistry meterRegistry,
+            @Value("${realtime.ring.size:8192}") int size,
+            @Value("${realtime.ring.slot-chars:512}") int slotChars) {
+        this.ring = new BroadcastRing(size, slotChars);
+        for (QuoteConsumer consumer : consumers) {
+            workers.add(new Worker(consumer, meterRegistry, slotChars));
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        workers.forEach(Worker::start);
+        log.info("KIS quote ring started with {} slots and consumers {}", ring.capacity(),
+                workers.stream().map(worker -> worker.consumer.name()).toList());
+    }
+
+    @PreDestroy
+    public void stop() {
+        for (Worker worker : workers) {
+            worker.running = false;
+            LockSupport.unpark(worker.thread);
+        }
+    }
+
+    /**
+     * 호가 메시지를 링에 복사해 발행한다. 소비자를 기다리지 않는다.
+     */
+    public void publish(CharSequence payload, long receivedNanos) {
+        ring.publish(payload, receivedNanos);
+        for (Worker worker : workers) {
+            if (worker.parked) {
+                LockSupport.unpark(worker.thread);
+            }
+        }
+    }
+
+    /**
+     * 소비자 하나를 도는 전용 스레드.
+     */
+    private final class Worker implements Runnable {
+        private final QuoteConsumer consumer;
+        private final BroadcastRing.Reader reader;
+        private final RealtimeQuote quote = new RealtimeQuote();
+        private final Counter overrun;
+        private final Thread thread;
+        private volatile long sequence = -1;
+        private volatile boolean parked;
+        private volatile boolean running = true;
+        // 아직 소비자에게 알리지 않은 잃은 틱 수와 그중 첫 틱을 잃은 시각. 소비자 스레드만 쓴다
+        private long unreported;
+        private long unreportedSince;
+
+        private Worker(QuoteConsumer consumer, MeterRegistry meterRegistry, int slotChars) {
+            this.consumer = consumer;
+            this.reader = new BroadcastRing.Reader(slotChars);
+            this.overrun = Counter.builder("realtime.ring.overrun")
+                    .tag("consumer", consumer.name())
+                    .register(meterRegistry);
+            Gauge.builder("realtime.ring.lag", this, worker -> ring.cursor() - worker.sequence)
+                    .tag("consumer", consumer.name())
+                    .register(meterRegistry);
+            this.thread = new Thread(this, "kis-quote-" + consumer.name());
+            this.thread.setDaemon(true);
+        }
+
+        private void start() {
+            thread.start();
+        }
+
+        @Override
+        public void run() {
+            long next = sequence + 1;
+            int idle = 0;
+            while (running) {
+                long available = ring.cursor();
+                if (next > available) {
+                    report();
+                    idle = idle(next, idle);
+                    continue;
+                }
+                idle = 0;
+                if (next <= available - ring.capacity()) {
+                    next = skip(next, available);
+                }
+                if (!ring.read(next, reader)) {
+                    // 읽는 사이에 덮어쓰였다
+                    next = skip(next, ring.cursor());
+                    continue;
+                }
+                dispatch();
+                sequence = next++;
+                if (unreported > 0 && System.nanoTime() - unreportedSince >= OVERRUN_REPORT_NANOS) {
+                    report();
+                }
+            }
+        }
+
+        // 가장 오래된 슬롯은 생산자가 바로 다음에 덮어쓸 자리라, 거기서 이어 읽으면 곧바로 다시 뒤처진다.
+        // 링 절반만큼 뒤에서 이어 읽어 따라잡을 여유를 둔다
+        private long skip(long next, long available) {
+            long resume = Math.max(next + 1, available - ring.capacity() / 2);
+            long ticks = resume - next;
+            overrun.increment(ticks);
+            if (unreported == 0) {
+                unreportedSince = System.nanoTime();
+            }
+            unreported += ticks;
+            return resume;
+        }
+
+        private void report() {
+            if (unreported == 0) {
+                return;
+            }
+            long ticks = unreported;
+            unreported = 0;
+            try {
+                consumer.onOverrun(ticks);
+            } catch (Exception e) {
+                log.error("Quote consumer {} failed on overrun", consumer.name(), e);
+            }
+        }
+
+        private void dispatch() {
+            try {
+                if (KisQuoteParser.parse(reader, quote)) {
+                    consumer.onQuote(quote, reader.timestamp());
+                }
+            } catch (Exception e) {
+                log.error("Quote consumer {} failed on: {}", consumer.name(), reader, e);
+            }
+        }
+
+        // 잠깐 돌며 기다리다가 그래도 없으면 생산자가 깨울 때까지(최대 1ms) 잠든다
+        private int idle(long next, int idle) {
+            if (idle < SPIN_TRIES) {
+                Thread.onSpinWait();
+                return idle + 1;
+            }
+            parked = true;
+            if (ring.cursor() < next) {
+                LockSupport.parkNanos(this, PARK_NANOS);
+            }
+            parked = false;
+            return idle;
+        }
+    }
+}
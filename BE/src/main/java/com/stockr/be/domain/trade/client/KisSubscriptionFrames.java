@@ -0,0 +1,57 @@
+package com.stockr.be.domain.trade.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.regex.Pattern;
+
+/**
+ * KIS 실시간 등록/해제 요청 메시지 템플릿.
+ * appkey/appsecret이 들어간 앞부분을 기동 시 한 번만 직렬화해 두고, 요청마다 종목코드만 이어 붙인다.
+ */
+public final class KisSubscriptionFrames {
+
+    public static final String PING = "{\"header\":{\"tr_id\":\"PINGPONG\"}}";
+
+    // 종목코드는 이스케이프 없이 템플릿에 끼워 넣으므로 영숫자만 허용한다
+    private static final Pattern TICKER = Pattern.compile("[0-9A-Za-z]{1,12}");
+    private static final String SUFFIX = "\"}}}";
+
+    private final String subscribePrefix;
+    private final String unsubscribePrefix;
+
+    public KisSubscriptionFrames(ObjectMapper objectMapper, String appKey, String appSecret) {
+        this.subscribePrefix = prefix(objectMapper, appKey, appSecret, "1");
+        this.unsubscribePrefix = prefix(objectMapper, appKey, appSecret, "2");
+    }
+
+    public String subscribe(String ticker) {
+        return subscribePrefix + validate(ticker) + SUFFIX;
+    }
+
+    public String unsubscribe(String ticker) {
+        return unsubscribePrefix + validate(ticker) + SUFFIX;
+    }
+
+    public static boolean isValidTicker(String ticker) {
+        return ticker != null && TICKER.matcher(ticker).matches();
+    }
+
+    private static String validate(String ticker) {
+        if (!isValidTicker(ticker)) {
+            throw new IllegalArgumentException("Invalid ticker for KIS subscription: " + ticker);
+        }
+        return ticker;
+    }
+
+    private static String prefix(ObjectMapper objectMapper, String appKey, String appSecret, String trType) {
+        try {
+            return "{\"header\":{\"appkey\":" + objectMapper.writeValueAsString(appKey)
+                    + ",\"appsecret\":" + objectMapper.writeValueAsString(appSecret)
+                    + ",\"custtype\":\"P\",\"tr_type\":\"" + trType + "\",\"tr_id\":\"" + KisQuoteParser.TR_ID + "\"}"
+                    + ",\"body\":{\"input\":{\"tr_id\":\"" + KisQuoteParser.TR_ID + "\",\"tr_key\":\"";
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize KIS credentials", e);
+        }
+    }
+}
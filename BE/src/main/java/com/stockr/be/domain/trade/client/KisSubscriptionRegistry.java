@@ -0,0 +1,109 @@
+package com.stockr.be.domain.trade.client;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * KIS 실시간 호가 구독 참조 카운트.
+ * 구독자(STOMP 세션 ID 등)별로 종목을 세고, 첫 구독자가 생길 때만 KIS에 등록하고 마지막 구독자가 나갈 때만 해제한다.
+ * 브라우저가 해제 없이 끊겨도 STOMP 세션 종료 시 그 세션의 구독을 모두 정리한다.
+ * KIS 세션이 모두 상한까지 차 있으면 대기열에 두었다가 다른 종목이 해제되면 먼저 요청된 순서로 등록한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KisSubscriptionRegistry {
+
+    private final StockWebSocketClient webSocketClient;
+    // 종목 -> 구독자
+    private final Map<String, Set<String>> subscribers = new HashMap<>();
+    // 구독자 -> 종목
+    private final Map<String, Set<String>> tickersBySubscriber = new HashMap<>();
+    // 구독자는 있지만 세션 상한 때문에 아직 KIS에 등록하지 못한 종목
+    private final Set<String> waiting = new LinkedHashSet<>();
+
+    /**
+     * @return KIS에 등록돼 시세가 들어오는 상태면 true, 세션 상한으로 대기 중이면 false
+     */
+    public synchronized boolean subscribe(String subscriberId, String ticker) {
+        if (!KisSubscriptionFrames.isValidTicker(ticker)) {
+            throw new IllegalArgumentException("Invalid ticker: " + ticker);
+        }
+        Set<String> owners = subscribers.computeIfAbsent(ticker, key -> new HashSet<>());
+        boolean first = owners.isEmpty();
+        if (owners.add(subscriberId)) {
+            tickersBySubscriber.computeIfAbsent(subscriberId, key -> new HashSet<>()).add(ticker);
+        }
+        if (!first) {
+            return !waiting.contains(ticker);
+        }
+        if (webSocketClient.subscribe(ticker)) {
+            return true;
+        }
+        waiting.add(ticker);
+        log.warn("All KIS sessions are full ({} tickers), queued subscription for {}",
+                webSocketClient.capacity(), ticker);
+        return false;
+    }
+
+    public synchronized void unsubscribe(String subscriberId, String ticker) {
+        Set<String> tickers = tickersBySubscriber.get(subscriberId);
+        if (tickers == null || !tickers.remove(ticker)) {
+            return;
+        }
+        if (tickers.isEmpty()) {
+            tickersBySubscriber.remove(subscriberId);
+        }
+        release(subscriberId, ticker);
+        promoteWaiting();
+    }
+
+    public synchronized void unsubscribeAll(String subscriberId) {
+        Set<String> tickers = tickersBySubscriber.remove(subscriberId);
+        if (tickers == null) {
+            return;
+        }
+        for (String ticker : tickers) {
+            release(subscriberId, ticker);
+        }
+        promoteWaiting();
+    }
+
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        unsubscribeAll(event.getSessionId());
+    }
+
+    public synchronized int subscriberCount(String ticker) {
+        Set<String> owners = subscribers.get(ticker);
+        return owners == null ? 0 : owners.size();
+    }
+
+    private void release(String subscriberId, String ticker) {
+        Set<String> owners = subscribers.get(ticker);
+        if (owners == null || !owners.remove(subscriberId) || !owners.isEmpty()) {
+            return;
+        }
+        subscribers.remove(ticker);
+        if (!waiting.remove(ticker)) {
+            webSocketClient.unsubscribe(ticker);
+        }
+    }
+
+    private void promoteWaiting() {
+        Iterator<String> iterator = waiting.iterator();
+        while (iterator.hasNext() && webSocketClient.subscribe(iterator.next())) {
+            iterator.remove();
+        }
+    }
+}
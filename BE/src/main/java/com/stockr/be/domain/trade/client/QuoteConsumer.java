@@ -0,0 +1,28 @@
+package com.stockr.be.domain.trade.client;
+
+/**
+ * {@link KisQuoteRing}에서 호가 틱을 받아 처리하는 독립 소비자. 소비자마다 전용 스레드와 sequence를 가지므로
+ * 한 소비자가 느려도 다른 소비자나 KIS 수신 스레드를 막지 않는다.
+ */
+public interface QuoteConsumer {
+
+    /**
+     * 스레드 이름과 메트릭 태그에 쓰는 이름
+     */
+    String name();
+
+    /**
+     * @param quote 소비자 스레드 전용 재사용 레코드. 호출이 끝나면 덮어써지므로 보관하려면 복사해야 한다.
+     * @param receivedNanos KIS 메시지 수신 시각 (System.nanoTime)
+     */
+    void onQuote(RealtimeQuote quote, long receivedNanos);
+
+    /**
+     * 링 크기 이상 뒤처져 읽지 못하고 덮어쓰인 틱이 있을 때 소비자 스레드에서 부른다. 기본은 realtime.ring.overrun 메트릭만 남긴다.
+     * 틱마다 부르지 않고, 따라잡은 뒤(따라잡지 못하면 최대 1초마다) 그동안 잃은 틱을 모아 한 번 부른다.
+     *
+     * @param ticks 마지막 호출 이후 잃은 틱 수
+     */
+    default void onOverrun(long ticks) {
+    }
+}
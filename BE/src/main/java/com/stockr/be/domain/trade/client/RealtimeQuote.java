@@ -0,0 +1,139 @@
+package com.stockr.be.domain.trade.client;
+
+import com.stockr.be.domain.stock.dto.RealtimeOrderBookDto;
+import com.stockr.be.domain.stock.dto.RealtimeStockPriceDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * H0STASP0(주식호가) 한 틱을 담는 재사용 가능한 가변 레코드.
+ * {@link KisQuoteParser}가 스레드마다 하나씩 두고 매 틱 덮어쓰므로, 파싱 과정에서 객체를 만들지 않는다.
+ * 다른 스레드로 넘기거나 보관하려면 {@link #toPriceDto()} 등으로 복사해야 한다.
+ */
+public class RealtimeQuote {
+
+    public static final int DEPTH = 10;
+
+    private static final int MAX_CODE_LENGTH = 12;
+    private static final int CODE_CACHE_SIZE = 256;
+
+    final char[] codeChars = new char[MAX_CODE_LENGTH];
+    int codeLength;
+    final char[] hourChars = new char[MAX_CODE_LENGTH];
+    int hourLength;
+    long price;
+    char compareYesterdaySign;
+    double compareYesterday;
+    double compareYesterdayRate;
+    long accumulatedTradeVolume;
+    final long[] askPrices = new long[DEPTH];
+    final long[] bidPrices = new long[DEPTH];
+    final long[] askVolumes = new long[DEPTH];
+    final long[] bidVolumes = new long[DEPTH];
+    long totalAskVolume;
+    long totalBidVolume;
+
+    // 종목코드 문자열을 매 틱 새로 만들지 않도록 스레드 로컬 레코드마다 캐시한다
+    private final String[] codeCache = new String[CODE_CACHE_SIZE];
+
+    /**
+     * 종목코드. 같은 종목은 처음 한 번만 String을 만들고 이후에는 캐시된 인스턴스를 반환한다.
+     */
+    public String stockCode() {
+        int hash = 0;
+        for (int i = 0; i < codeLength; i++) {
+            hash = 31 * hash + codeChars[i];
+        }
+        int slot = (hash ^ (hash >>> 16)) & (CODE_CACHE_SIZE - 1);
+        String cached = codeCache[slot];
+        if (cached != null && contentEquals(cached, codeChars, codeLength)) {
+            return cached;
+        }
+        String code = new String(codeChars, 0, codeLength);
+        codeCache[slot] = code;
+        return code;
+    }
+
+    public String hour() {
+        return new String(hourChars, 0, hourLength);
+    }
+
+    public long getPrice() {
+        return price;
+    }
+
+    public char getCompareYesterdaySign() {
+        return compareYesterdaySign;
+    }
+
+    public double getCompareYesterday() {
+        return compareYesterday;
+    }
+
+    public double getCompareYesterdayRate() {
+        return compareYesterdayRate;
+    }
+
+    public long getAccumulatedTradeVolume() {
+        return accumulatedTradeVolume;
+    }
+
+    public long askPrice(int level) {
+        return askPrices[level];
+    }
+
+    public long bidPrice(int level) {
+        return bidPrices[level];
+    }
+
+    public long askVolume(int level) {
+        return askVolumes[level];
+    }
+
+    public long bidVolume(int level) {
+        return bidVolumes[level];
+    }
+
+    public long getTotalAskVolume() {
+        return totalAskVolume;
+    }
+
+    public long getTotalBidVolume() {
+        return totalBidVolume;
+    }
+
+    public RealtimeStockPriceDto toPriceDto() {
+        return RealtimeStockPriceDto.builder()
+                .stockCode(stockCode())
+                .hour(hour())
+                .price(price)
+                .compareYesterdaySign(String.valueOf(compareYesterdaySign))
+                .compareYesterday(compareYesterday)
+                .compareYesterdayRate(compareYesterdayRate)
+                .accumulatedTradeVolume(accumulatedTradeVolume)
+                .build();
+    }
+
+    public RealtimeOrderBookDto toOrderBookDto() {
+        List<RealtimeOrderBookDto.OrderBookItem> asks = new ArrayList<>(DEPTH);
+        List<RealtimeOrderBookDto.OrderBookItem> bids = new ArrayList<>(DEPTH);
+        for (int i = 0; i < DEPTH; i++) {
+            asks.add(new RealtimeOrderBookDto.OrderBookItem(askPrices[i], askVolumes[i]));
+            bids.add(new RealtimeOrderBookDto.OrderBookItem(bidPrices[i], bidVolumes[i]));
+        }
+        return new RealtimeOrderBookDto(asks, bids, totalAskVolume, totalBidVolume);
+    }
+
+    private static boolean contentEquals(String value, char[] chars, int length) {
+        if (value.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) != chars[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,15 +1,22 @@
 package com.stockr.be.domain.trade.client;
 
+import java.net.URI;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.net.URI;
 
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import jakarta.annotation.PreDestroy;
+
 import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.WebSocketHttpHeaders;
@@ -19,64 +26,165 @@ import org.springframework.web.socket.client.standard.StandardWebSocketClient;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.stockr.be.domain.stock.dto.RealtimeOrderBookDto;
-import com.stockr.be.domain.stock.dto.RealtimeStockPriceDto;
-import com.stockr.be.domain.stock.repository.StockRepository;
-import com.stockr.be.domain.trading.entity.LimitOrder;
-import com.stockr.be.domain.trading.entity.TradingOrderStatus;
-import com.stockr.be.domain.trading.entity.TradingOrderType;
-import com.stockr.be.domain.trading.repository.LimitOrderRepository;
-import com.stockr.be.domain.trading.service.InternalTradeService;
 import com.stockr.be.global.config.KISConfig;
 
 import lombok.extern.slf4j.Slf4j;
 
-import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.List;
 import java.time.LocalDateTime;
 
+/**
+ * KIS 실시간 WebSocket 연결 풀.
+ * 종목 등록을 세션당 상한(kis.websocket.max-subscriptions) 안에서 가장 덜 찬 세션에 나눠 싣고,
+ * 세션마다 자기 종목 목록을 들고 있다가 연결(재연결)되면 등록 요청을 다시 보낸다.
+ * 어떤 종목을 등록할지(참조 카운트)는 {@link KisSubscriptionRegistry}가 정한다.
+ * 받은 호가 메시지는 {@link KisQuoteRing}에 넘기기만 하므로 후속 처리가 느려도 수신 스레드가 막히지 않는다.
+ */
 @Slf4j
 @Component
 public class StockWebSocketClient {
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private static final long RECONNECT_DELAY_SECONDS = 5;
+    private static final long PING_INTERVAL_SECONDS = 30;
+
     private final KISConfig kisConfig;
-    private final ObjectMapper objectMapper;
     private final ScheduledExecutorService scheduler;
     private final WebSocketClient client;
-    private final InternalTradeService internalTradeService;
-    private final StockRepository stockRepository;
-    private final LimitOrderRepository limitOrderRepository;
-    private WebSocketSession session;
-    private ScheduledFuture<?> pingTask;
-    private final AtomicBoolean isReconnecting = new AtomicBoolean(false);
-    private WebSocketHandler webSocketHandler;
+    private final KisQuoteRing quoteRing;
+    private final KisSubscriptionFrames frames;
+    private final int maxSubscriptionsPerSession;
+    private final List<Connection> connections = new ArrayList<>();
+    // 종목 -> 등록된 세션 (this 잠금 안에서만 읽고 쓴다)
+    private final Map<String, Connection> assignments = new HashMap<>();
 
-    public StockWebSocketClient(SimpMessagingTemplate messagingTemplate,
-            KISConfig kisConfig,
+    public StockWebSocketClient(KISConfig kisConfig,
             ObjectMapper objectMapper,
-            ScheduledExecutorService scheduler,
-            InternalTradeService internalTradeService, StockRepository stockRepository,
-            LimitOrderRepository limitOrderRepository) {
-        this.messagingTemplate = messagingTemplate;
+            KisQuoteRing quoteRing) {
         this.kisConfig = kisConfig;
-        this.objectMapper = objectMapper;
-        this.scheduler = scheduler;
-        this.internalTradeService = internalTradeService;
-        this.stockRepository = stockRepository;
-        this.limitOrderRepository = limitOrderRepository;
+        // ping/재연결 전용 스레드. @Scheduled 잡과 공유하지 않아 느린 배치 잡이 KIS keep-alive를 밀지 않는다
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kis-websocket");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.quoteRing = quoteRing;
         this.client = new StandardWebSocketClient();
-        this.webSocketHandler = createWebSocketHandler();
+        this.frames = new KisSubscriptionFrames(objectMapper,
+                kisConfig.getApi().getAppKey(), kisConfig.getApi().getAppSecret());
+        KISConfig.Websocket websocket = kisConfig.getWebsocket();
+        this.maxSubscriptionsPerSession = websocket.getMaxSubscriptions();
+        for (int i = 0; i < websocket.getSessions(); i++) {
+            connections.add(new Connection(i));
+        }
+    }
+
+    private void processMessage(String payload) {
+        if (log.isDebugEnabled()) {
+            log.debug("=== WebSocket Message Received at: {} ===", LocalDateTime.now());
+            log.debug("Payload: {}", payload);
+        }
+
+        if (KisQuoteParser.isQuote(payload)) { // 주식호가
+            // 파싱/체결 매칭/시세 발행/캐시 반영은 링 소비자 스레드가 각자 한다. 수신 스레드는 슬롯에 복사만 하고 돌아간다
+            quoteRing.publish(payload, System.nanoTime());
+        } else if (payload.startsWith("1|")) { // 주식체결
+            // 필요 시 체결 데이터 처리 로직 추가
+        } else if (payload.startsWith("{")) {
+            if (payload.contains("PINGPONG")) {
+                log.debug("Received PINGPONG: {}", payload);
+            } else {
+                log.info("Received JSON message (likely auth response): {}", payload);
+            }
+        }
+    }
+
+    public void connect() {
+        connections.forEach(Connection::connect);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
     }
 
-    private WebSocketHandler createWebSocketHandler() {
-        return new TextWebSocketHandler() {
+    /**
+     * 종목을 가장 덜 찬 세션에 등록한다. 세션이 아직 연결 전이면 연결되는 대로 보낸다.
+     *
+     * @return 모든 세션이 상한까지 차서 등록하지 못하면 false
+     */
+    public synchronized boolean subscribe(String ticker) {
+        if (assignments.containsKey(ticker)) {
+            return true;
+        }
+        Connection target = null;
+        for (Connection connection : connections) {
+            if (connection.tickers.size() < maxSubscriptionsPerSession
+                    && (target == null || connection.tickers.size() < target.tickers.size())) {
+                target = connection;
+            }
+        }
+        if (target == null) {
+            return false;
+        }
+        String frame = frames.subscribe(ticker);
+        target.tickers.add(ticker);
+        assignments.put(ticker, target);
+        target.send(frame);
+        log.info("Subscribed to KIS order book for {} on session {} ({}/{})",
+                ticker, target.index, target.tickers.size(), maxSubscriptionsPerSession);
+        return true;
+    }
+
+    public synchronized void unsubscribe(String ticker) {
+        Connection connection = assignments.remove(ticker);
+        if (connection == null) {
+            return;
+        }
+        connection.tickers.remove(ticker);
+        connection.send(frames.unsubscribe(ticker));
+        log.info("Unsubscribed from KIS order book for {} on session {}", ticker, connection.index);
+    }
+
+    public synchronized int subscriptionCount() {
+        return assignments.size();
+    }
+
+    public int capacity() {
+        return connections.size() * maxSubscriptionsPerSession;
+    }
+
+    // 재연결된 세션에 원래 싣고 있던 종목을 다시 등록한다
+    private synchronized void replay(Connection connection) {
+        for (String ticker : connection.tickers) {
+            connection.send(frames.subscribe(ticker));
+        }
+        if (!connection.tickers.isEmpty()) {
+            log.info("Replayed {} KIS subscriptions on session {}", connection.tickers.size(), connection.index);
+        }
+    }
+
+    public void handleMockMessage(String mockData) {
+        try {
+            processMessage(mockData);
+        } catch (Exception e) {
+            log.error("Failed to process mock message: {}", mockData, e);
+        }
+    }
+
+    /**
+     * KIS WebSocket 세션 하나. 핑과 재연결을 세션마다 따로 돌린다.
+     */
+    private final class Connection {
+        private final int index;
+        // 이 세션에 등록된 종목 (StockWebSocketClient 잠금 안에서만 읽고 쓴다)
+        private final Set<String> tickers = new LinkedHashSet<>();
+        private final AtomicBoolean reconnecting = new AtomicBoolean(false);
+        private final WebSocketHandler handler = new TextWebSocketHandler() {
             @Override
             public void afterConnectionEstablished(WebSocketSession session) {
-                log.info("WebSocket Connection Established. Session ID: {}", session.getId());
-                StockWebSocketClient.this.session = session;
+                log.info("WebSocket Connection Established. Session {} ID: {}", index, session.getId());
+                Connection.this.session = session;
                 startPingTask();
+                replay(Connection.this);
             }
 
             @Override
@@ -85,180 +193,83 @@ public class StockWebSocketClient {
             }
 
             @Override
-            public void afterConnectionClosed(WebSocketSession session,
-                    org.springframework.web.socket.CloseStatus status) {
-                log.warn("WebSocket Connection Closed. Session ID: {}, Status: {}", session.getId(), status);
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+                log.warn("WebSocket Connection Closed. Session {} ID: {}, Status: {}", index, session.getId(), status);
                 stopPingTask();
-                if (!isReconnecting.get()) {
-                    scheduleReconnect();
-                }
+                scheduleReconnect();
             }
 
             @Override
             public void handleTransportError(WebSocketSession session, Throwable exception) {
-                log.error("WebSocket Transport Error. Session ID: {}", session.getId(), exception);
+                log.error("WebSocket Transport Error. Session {} ID: {}", index, session.getId(), exception);
             }
         };
-    }
+        private volatile WebSocketSession session;
+        private ScheduledFuture<?> pingTask;
 
-    private void processMessage(String payload) {
-        log.debug("=== WebSocket Message Received at: {} ===", LocalDateTime.now());
-        log.debug("Payload: {}", payload);
+        private Connection(int index) {
+            this.index = index;
+        }
 
-        if (payload.startsWith("0|H0STASP0")) { // 주식호가
+        private void connect() {
+            WebSocketSession current = session;
+            if (current != null && current.isOpen()) {
+                log.info("WebSocket session {} is already connected.", index);
+                return;
+            }
             try {
-                String[] parts = payload.split("\\|");
-                if (parts.length < 4)
-                    return;
-
-                String[] data = parts[3].split("\\^");
-                String stockCode = data[0];
-                final BigDecimal currentPrice = new BigDecimal(Long.parseLong(data[2]));
-
-                log.debug("Processing stock: {}, price: {}", stockCode, currentPrice);
-                // ---- Trade Execution Logic ----
-                stockRepository.findById(stockCode).ifPresent(stock -> {
-                    List<LimitOrder> pendingOrders = limitOrderRepository.findByStockAndStatus(stock,
-                            TradingOrderStatus.PENDING);
-                    for (LimitOrder order : pendingOrders) {
-                        boolean shouldProcess = false;
-                        if (order.getOrderType() == TradingOrderType.BUY
-                                && currentPrice.compareTo(order.getPrice()) <= 0) {
-                            shouldProcess = true;
-                        } else if (order.getOrderType() == TradingOrderType.SELL
-                                && currentPrice.compareTo(order.getPrice()) >= 0) {
-                            shouldProcess = true;
-                        }
-
-                        if (shouldProcess) {
-                            try {
-                                internalTradeService.processOrder(order, currentPrice);
-                                log.info("Processed order {} for stock {}", order.getId(), stockCode);
-                            } catch (Exception e) {
-                                log.error("Failed to process order {}: {}", order.getId(), e.getMessage());
-                            }
-                        }
-                    }
-                });
-                // ---- End of Trade Execution Logic ----
-
-                // 실시간 시세 처리
-                RealtimeStockPriceDto priceDto = RealtimeStockPriceDto.builder()
-                        .stockCode(stockCode)
-                        .hour(data[1])
-                        .price(Long.parseLong(data[2]))
-                        .compareYesterdaySign(data[4])
-                        .compareYesterday(Double.parseDouble(data[5]))
-                        .compareYesterdayRate(Double.parseDouble(data[6]))
-                        .accumulatedTradeVolume(Long.parseLong(data[13]))
-                        .build();
-                messagingTemplate.convertAndSend("/topic/price/" + stockCode, priceDto);
-
-                // 실시간 호가 처리 (인덱스 전면 수정)
-                List<RealtimeOrderBookDto.OrderBookItem> askPrices = new ArrayList<>();
-                List<RealtimeOrderBookDto.OrderBookItem> bidPrices = new ArrayList<>();
-
-                // KIS H0STASP0 명세 기준: 매도호가(3~12), 매수호가(13~22), 매도호가잔량(23~32), 매수호가잔량(33~42)
-                for (int i = 0; i < 10; i++) {
-                    askPrices.add(new RealtimeOrderBookDto.OrderBookItem(Long.parseLong(data[3 + i]),
-                            Long.parseLong(data[23 + i])));
-                    bidPrices.add(new RealtimeOrderBookDto.OrderBookItem(Long.parseLong(data[13 + i]),
-                            Long.parseLong(data[33 + i])));
-                }
-
-                RealtimeOrderBookDto orderBookDto = new RealtimeOrderBookDto(askPrices, bidPrices,
-                        Long.parseLong(data[43]), Long.parseLong(data[44]));
-                log.info("Processed Order Book for {}: {}", stockCode, orderBookDto);
-                messagingTemplate.convertAndSend("/topic/orderbook/" + stockCode, orderBookDto);
-
+                log.info("Attempting to connect WebSocket session {} to {}...", index, kisConfig.getApi().getWsUrl());
+                client.execute(handler, new WebSocketHttpHeaders(), URI.create(kisConfig.getApi().getWsUrl()));
+                log.info("WebSocket handshake initiated for session {}.", index);
             } catch (Exception e) {
-                log.error("Error processing KIS real-time data: {}", payload, e);
-            }
-        } else if (payload.startsWith("1|")) { // 주식체결
-            // 필요 시 체결 데이터 처리 로직 추가
-        } else if (payload.startsWith("{")) {
-            log.info("Received JSON message (likely auth response): {}", payload);
-        }
-    }
-
-    public void connect() {
-        if (session != null && session.isOpen()) {
-            log.info("WebSocket is already connected.");
-            return;
-        }
-        try {
-            log.info("Attempting to connect to WebSocket at {}...", kisConfig.getApi().getWsUrl());
-            client.execute(webSocketHandler, new WebSocketHttpHeaders(), URI.create(kisConfig.getApi().getWsUrl()));
-            log.info("WebSocket handshake initiated.");
-        } catch (Exception e) {
-            log.error("Failed to connect to WebSocket", e);
-            if (!isReconnecting.get()) {
+                log.error("Failed to connect WebSocket session {}", index, e);
                 scheduleReconnect();
             }
         }
-    }
 
-    public void send(String message) {
-        try {
-            if (session != null && session.isOpen()) {
-                log.info("Sending to KIS: {}", message);
-                session.sendMessage(new TextMessage(message));
-            } else {
-                log.warn("WebSocket session is not available. Message not sent: {}", message);
-                connect(); // Try to reconnect
-            }
-        } catch (Exception e) {
-            log.error("Failed to send message: {}", message, e);
-            if (!isReconnecting.get()) {
-                scheduleReconnect();
+        /**
+         * 연결돼 있으면 보낸다. 연결 전이면 버리고, 등록 요청은 연결 후 replay로 다시 보내진다.
+         * WebSocketSession은 동시 전송을 허용하지 않으므로 세션 단위로 직렬화한다.
+         */
+        private synchronized void send(String message) {
+            WebSocketSession current = session;
+            if (current == null || !current.isOpen()) {
+                log.debug("WebSocket session {} is not open, deferring: {}", index, message);
+                return;
             }
-        }
-    }
-
-    private void startPingTask() {
-        stopPingTask();
-        pingTask = scheduler.scheduleAtFixedRate(() -> {
             try {
-                if (session != null && session.isOpen()) {
-                    Map<String, Object> pingHeader = new HashMap<>();
-                    pingHeader.put("tr_id", "PINGPONG");
-                    Map<String, Object> pingRequest = new HashMap<>();
-                    pingRequest.put("header", pingHeader);
-                    String pingMessage = objectMapper.writeValueAsString(pingRequest);
-                    session.sendMessage(new TextMessage(pingMessage)); // 핑 메시지
-                }
+                current.sendMessage(new TextMessage(message));
             } catch (Exception e) {
-                log.error("Error sending ping", e);
+                log.error("Failed to send message on session {}", index, e);
+                scheduleReconnect();
             }
-        }, 0, 30, TimeUnit.SECONDS);
-    }
+        }
 
-    private void stopPingTask() {
-        if (pingTask != null && !pingTask.isCancelled()) {
-            pingTask.cancel(true);
+        private void startPingTask() {
+            stopPingTask();
+            pingTask = scheduler.scheduleAtFixedRate(() -> send(KisSubscriptionFrames.PING),
+                    0, PING_INTERVAL_SECONDS, TimeUnit.SECONDS);
         }
-    }
 
-    private void scheduleReconnect() {
-        if (isReconnecting.compareAndSet(false, true)) {
-            scheduler.schedule(() -> {
-                try {
-                    log.info("Attempting to reconnect...");
-                    connect();
-                } catch (Exception e) {
-                    log.error("Reconnection failed", e);
-                } finally {
-                    isReconnecting.set(false);
-                }
-            }, 5, TimeUnit.SECONDS);
+        private void stopPingTask() {
+            if (pingTask != null && !pingTask.isCancelled()) {
+                pingTask.cancel(true);
+            }
         }
-    }
 
-    public void handleMockMessage(String mockData) {
-        try {
-            processMessage(mockData);
-        } catch (Exception e) {
-            log.error("Failed to process mock message: {}", mockData, e);
+        private void scheduleReconnect() {
+            if (reconnecting.compareAndSet(false, true)) {
+                scheduler.schedule(() -> {
+                    try {
+                        log.info("Attempting to reconnect session {}...", index);
+                        connect();
+                    } catch (Exception e) {
+                        log.error("Reconnection of session {} failed", index, e);
+                    } finally {
+                        reconnecting.set(false);
+                    }
+                }, RECONNECT_DELAY_SECONDS, TimeUnit.SECONDS);
+            }
         }
     }
-}
\ No newline at end of file
+}
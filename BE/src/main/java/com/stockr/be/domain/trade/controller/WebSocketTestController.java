@@ -1,6 +1,7 @@
 package com.stockr.be.domain.trade.controller;
 
 import com.stockr.be.domain.stock.service.StockRealtimeService;
+import com.stockr.be.domain.trade.client.KisQuoteFrames;
 import com.stockr.be.domain.trade.client.StockWebSocketClient;
 import com.stockr.be.global.common.ApiResponse;
 import lombok.RequiredArgsConstructor;
@@ -15,18 +16,21 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class WebSocketTestController {
 
+    // REST 테스트 호출은 STOMP 세션이 없으므로 하나의 구독자로 센다
+    private static final String TEST_SUBSCRIBER = "rest-test";
+
     private final StockRealtimeService stockRealtimeService;
     private final StockWebSocketClient stockWebSocketClient;
 
     @PostMapping("/subscribe/{stockCode}")
     public ApiResponse<String> testSubscribe(@PathVariable String stockCode) {
-        stockRealtimeService.subscribeStockPrice(stockCode);
+        stockRealtimeService.subscribeStockPrice(TEST_SUBSCRIBER, stockCode);
         return ApiResponse.success("Subscription test initiated for stock: " + stockCode);
     }
 
     @PostMapping("/unsubscribe/{stockCode}")
     public ApiResponse<String> testUnsubscribe(@PathVariable String stockCode) {
-        stockRealtimeService.unsubscribeStockPrice(stockCode);
+        stockRealtimeService.unsubscribeStockPrice(TEST_SUBSCRIBER, stockCode);
         return ApiResponse.success("Unsubscription test initiated for stock: " + stockCode);
     }
 
@@ -38,41 +42,10 @@ public class WebSocketTestController {
 
         try {
             // 테스트용 메시지 생성 (KIS API 형식)
-            StringBuilder mockData = new StringBuilder();
-            mockData.append("0|H0STASP0|TEST|");
-            mockData.append(stockCode).append("^"); // 종목코드
-            mockData.append("1430^"); // 시각
-            mockData.append(price).append("^"); // 현재가
-            mockData.append("2^"); // 전일대비구분
-            mockData.append("0^"); // 전일대비
-            mockData.append("0^"); // 등락률 (0.0 -> 0으로 변경)
-
-            // 매도호가 10개 (현재가 기준으로 상승)
-            for (int i = 1; i <= 10; i++) {
-                mockData.append(price + (i * 100)).append("^");
-            }
-
-            // 매수호가 10개 (현재가 기준으로 하락)
-            for (int i = 1; i <= 10; i++) {
-                mockData.append(price - (i * 100)).append("^");
-            }
-
-            // 매도호가잔량 10개
-            for (int i = 0; i < 10; i++) {
-                mockData.append(volume).append("^");
-            }
-
-            // 매수호가잔량 10개
-            for (int i = 0; i < 10; i++) {
-                mockData.append(volume).append("^");
-            }
-
-            // 총매도호가잔량과 총매수호가잔량
-            mockData.append(volume * 10).append("^");
-            mockData.append(volume * 10);
+            String mockData = KisQuoteFrames.synthetic(stockCode, "1430", price, 100, volume);
 
             // 직접 메시지 처리
-            stockWebSocketClient.handleMockMessage(mockData.toString());
+            stockWebSocketClient.handleMockMessage(mockData);
 
             return ApiResponse.success("Mock data processed for stock: " + stockCode);
         } catch (Exception e) {
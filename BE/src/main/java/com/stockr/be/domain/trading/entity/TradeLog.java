@@ -12,13 +12,17 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "trade_logs")
+@Table(name = "trade_logs", indexes = @Index(name = "idx_trade_logs_executed_order_id", columnList = "executed_order_id"))
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class TradeLog {
 
+    static final int ID_ALLOCATION_SIZE = 100;
+
+    // IDENTITY는 INSERT마다 키를 돌려받아야 해서 JDBC 배치가 꺼진다. pooled 시퀀스로 id를 미리 100개씩 받는다
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trade_log_seq")
+    @SequenceGenerator(name = "trade_log_seq", sequenceName = "trade_log_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     // FK 제거하고 orderId만 저장
@@ -46,15 +50,18 @@ public class TradeLog {
     @Column(nullable = false)
     private LocalDateTime executedAt;
 
+    /**
+     * @param executedAt 체결 시각, null이면 지금
+     */
     @Builder
     public TradeLog(Long executedOrderId, Account account, Stock stock, TradingOrderType orderType,
-            Long executedQuantity, BigDecimal executedPrice) {
+            Long executedQuantity, BigDecimal executedPrice, LocalDateTime executedAt) {
         this.executedOrderId = executedOrderId;
         this.account = account;
         this.stock = stock;
         this.orderType = orderType;
         this.executedQuantity = executedQuantity;
         this.executedPrice = executedPrice;
-        this.executedAt = LocalDateTime.now();
+        this.executedAt = executedAt != null ? executedAt : LocalDateTime.now();
     }
 }
\ No newline at end of file
@@ -4,9 +4,13 @@ import com.stockr.be.account.domain.Account;
 import com.stockr.be.domain.stock.entity.Stock;
 import com.stockr.be.domain.trading.entity.LimitOrder;
 import com.stockr.be.domain.trading.entity.TradingOrderStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -15,4 +19,13 @@ public interface LimitOrderRepository extends JpaRepository<LimitOrder, Long> {
     List<LimitOrder> findByStockAndStatus(Stock stock, TradingOrderStatus status);
 
     List<LimitOrder> findByAccountAndStatus(Account account, TradingOrderStatus status);
+
+    List<LimitOrder> findByStatus(TradingOrderStatus status);
+
+    @EntityGraph(attributePaths = { "account", "stock" })
+    List<LimitOrder> findByIdIn(Collection<Long> ids);
+
+    @Query("SELECT o.id FROM LimitOrder o WHERE o.id IN :orderIds AND o.status = :status")
+    List<Long> findIdsByStatus(@Param("orderIds") Collection<Long> orderIds,
+            @Param("status") TradingOrderStatus status);
 }
\ No newline at end of file
@@ -2,8 +2,27 @@ package com.stockr.be.domain.trading.repository;
 
 import com.stockr.be.domain.trading.entity.TradeLog;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
 
 @Repository
 public interface TradeLogRepository extends JpaRepository<TradeLog, Long> {
+
+    // 이미 적재된 주문 ID (TradeLogProjector가 같은 체결을 두 번 넣지 않도록 거른다)
+    @Query("SELECT t.executedOrderId FROM TradeLog t WHERE t.executedOrderId IN :orderIds")
+    List<Long> findExecutedOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    // IDENTITY로 쌓인 기존 id 뒤에서 시퀀스가 시작하도록 맞춘다 (MySQL은 시퀀스를 trade_log_seq 테이블로 흉내 낸다)
+    // 101 = TradeLog.ID_ALLOCATION_SIZE + 1
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE trade_log_seq SET next_val = (SELECT COALESCE(MAX(id), 0) + 101 FROM trade_logs) " +
+            "WHERE next_val < (SELECT COALESCE(MAX(id), 0) + 101 FROM trade_logs)", nativeQuery = true)
+    int alignIdSequence();
 }
\ No newline at end of file
@@ -1,56 +1,110 @@
 package com.stockr.be.domain.trading.service;
 
 import com.stockr.be.account.domain.Account;
+import com.stockr.be.account.service.AccountLedger;
 import com.stockr.be.domain.stock.entity.Stock;
 import com.stockr.be.domain.stock.entity.StockHolding;
 import com.stockr.be.domain.stock.repository.StockHoldingRepository;
 import com.stockr.be.domain.trading.entity.LimitOrder;
-import com.stockr.be.domain.trading.entity.TradeLog;
 import com.stockr.be.domain.trading.entity.TradingOrderStatus;
 import com.stockr.be.domain.trading.repository.LimitOrderRepository;
-import com.stockr.be.domain.trading.repository.TradeLogRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
-public class InternalTradeService {
+public class InternalTradeService implements OrderExecutor {
 
     private final StockHoldingRepository stockHoldingRepository;
     private final LimitOrderRepository limitOrderRepository;
-    private final TradeLogRepository tradeLogRepository;
+    private final TradeJournal tradeJournal;
+    private final AccountLedger accountLedger;
 
     @Transactional
     public void processOrder(LimitOrder order, BigDecimal executionPrice) {
+        processOrder(order.getId(), executionPrice);
+    }
+
+    @Transactional
+    public void processOrder(Long orderId, BigDecimal executionPrice) {
+        LimitOrder order = limitOrderRepository.findById(orderId)
+                .orElseThrow(() -> new NoSuchElementException("Order not found."));
         if (order.getStatus() != TradingOrderStatus.PENDING) {
             return;
         }
 
+        List<TradeJournal.Fill> fills = new ArrayList<>(1);
+        if (!execute(order, executionPrice, fills)) {
+            throw new IllegalArgumentException("Insufficient balance or stock holding to execute order.");
+        }
+        tradeJournal.record(fills);
+    }
+
+    /**
+     * 체결 요청 묶음을 하나의 트랜잭션으로 처리한다.
+     * StockHolding, LimitOrder 변경이 배치 단위로 함께 커밋되고, 잔고와 체결 기록은 커밋 직전에
+     * {@link AccountLedger}와 {@link TradeJournal}에 반영된다(trade_logs 적재는 {@link TradeLogProjector}가 뒤에서 한다).
+     * 잔고/보유수량 부족으로 지금 체결할 수 없는 주문은 예외 없이 건너뛰고 ID를 반환한다.
+     *
+     * @param requests 체결 요청 목록
+     * @return 체결되지 않고 여전히 미체결 상태인 주문 ID 목록
+     */
+    @Override
+    @Transactional
+    public List<Long> executeOrders(List<OrderExecutionPipeline.ExecutionRequest> requests) {
+        List<Long> orderIds = requests.stream()
+                .map(request -> request.entry().orderId())
+                .collect(Collectors.toList());
+        Map<Long, LimitOrder> orders = limitOrderRepository.findByIdIn(orderIds).stream()
+                .collect(Collectors.toMap(LimitOrder::getId, Function.identity()));
+
+        List<Long> deferredOrderIds = new ArrayList<>();
+        List<TradeJournal.Fill> fills = new ArrayList<>(requests.size());
+        for (OrderExecutionPipeline.ExecutionRequest request : requests) {
+            LimitOrder order = orders.get(request.entry().orderId());
+            // 이미 체결/취소된 주문은 주문장에 되돌리지 않는다
+            if (order == null || order.getStatus() != TradingOrderStatus.PENDING) {
+                continue;
+            }
+            if (!execute(order, request.executionPrice(), fills)) {
+                deferredOrderIds.add(order.getId());
+            }
+        }
+        tradeJournal.record(fills);
+        return deferredOrderIds;
+    }
+
+    private boolean execute(LimitOrder order, BigDecimal executionPrice, List<TradeJournal.Fill> fills) {
         switch (order.getOrderType()) {
             case BUY:
-                executeBuyOrder(order, executionPrice);
-                break;
+                return executeBuyOrder(order, executionPrice, fills);
             case SELL:
-                executeSellOrder(order, executionPrice);
-                break;
+                return executeSellOrder(order, executionPrice, fills);
+            default:
+                return false;
         }
     }
 
-    @Transactional
-    private void executeBuyOrder(LimitOrder order, BigDecimal executionPrice) {
+    private boolean executeBuyOrder(LimitOrder order, BigDecimal executionPrice, List<TradeJournal.Fill> fills) {
         Account account = order.getAccount();
         Stock stock = order.getStock();
         long quantity = order.getQuantity();
 
         BigDecimal totalCost = executionPrice.multiply(BigDecimal.valueOf(quantity));
-        account.withdraw(totalCost);
+        if (!accountLedger.tryWithdraw(account.getId(), totalCost, order.getId())) {
+            return false;
+        }
 
         StockHolding holding = stockHoldingRepository.findByAccountAndStock(account, stock)
                 .orElseGet(() -> {
@@ -72,46 +126,35 @@ public class InternalTradeService {
 
         holding.updateQuantityAndPrice(newTotalQuantity, newAveragePrice);
 
-        finishOrder(order, executionPrice);
+        fills.add(finishOrder(order, executionPrice));
+        return true;
     }
 
-    @Transactional
-    private void executeSellOrder(LimitOrder order, BigDecimal executionPrice) {
+    private boolean executeSellOrder(LimitOrder order, BigDecimal executionPrice, List<TradeJournal.Fill> fills) {
         Account account = order.getAccount();
         Stock stock = order.getStock();
         long quantity = order.getQuantity();
 
-        StockHolding holding = stockHoldingRepository.findByAccountAndStock(account, stock)
-                .orElseThrow(() -> new NoSuchElementException("Stock holding not found for selling."));
-
-        if (holding.getQuantity() < quantity) {
-            throw new IllegalArgumentException("Not enough stock to sell.");
+        StockHolding holding = stockHoldingRepository.findByAccountAndStock(account, stock).orElse(null);
+        if (holding == null || holding.getQuantity() < quantity) {
+            return false;
         }
 
         long newQuantity = holding.getQuantity() - quantity;
         holding.updateQuantityAndPrice(newQuantity, holding.getAveragePurchasePrice());
 
         BigDecimal totalProceeds = executionPrice.multiply(BigDecimal.valueOf(quantity));
-        account.deposit(totalProceeds);
+        accountLedger.deposit(account.getId(), totalProceeds, order.getId());
 
-        finishOrder(order, executionPrice);
+        fills.add(finishOrder(order, executionPrice));
+        return true;
     }
 
-    @Transactional
-    private void finishOrder(LimitOrder order, BigDecimal executionPrice) {
+    private TradeJournal.Fill finishOrder(LimitOrder order, BigDecimal executionPrice) {
+        // 영속 상태의 주문이므로 트랜잭션 커밋 시 dirty checking으로 반영된다
         order.updateStatus(TradingOrderStatus.EXECUTED);
-        LimitOrder savedOrder = limitOrderRepository.save(order);
-
-        TradeLog tradeLog = TradeLog.builder()
-                .executedOrderId(savedOrder.getId())
-                .account(savedOrder.getAccount())
-                .stock(savedOrder.getStock())
-                .orderType(savedOrder.getOrderType())
-                .executedQuantity(savedOrder.getQuantity())
-                .executedPrice(executionPrice)
-                .build();
-
-        tradeLogRepository.save(tradeLog);
-        System.out.println("Order executed successfully - Order ID: " + savedOrder.getId());
+
+        return new TradeJournal.Fill(order.getId(), order.getAccount().getId(), order.getStock().getTicker(),
+                order.getOrderType(), order.getQuantity(), executionPrice, LocalDateTime.now());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,177 @@
+package com.stockr.be.domain.trading.service;
+
+import com.stockr.be.domain.trading.entity.TradingOrderType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 종목 하나의 미체결 지정가 주문장.
+ * 매수/매도 호가를 가격 순으로 정렬된 primitive long 배열로 유지하며,
+ * 시세 한 틱에 체결 조건을 만족하는 주문만 O(log n)으로 찾아 꺼낸다.
+ */
+public class LimitOrderBook {
+
+    private final String ticker;
+    private final Side buySide = new Side();
+    private final Side sellSide = new Side();
+    private final Map<Long, Entry> entriesById = new HashMap<>();
+
+    public LimitOrderBook(String ticker) {
+        this.ticker = ticker;
+    }
+
+    public String getTicker() {
+        return ticker;
+    }
+
+    public synchronized void add(Entry entry) {
+        if (entriesById.putIfAbsent(entry.orderId(), entry) != null) {
+            return;
+        }
+        sideOf(entry.orderType()).add(keyOf(entry), entry);
+    }
+
+    public synchronized boolean remove(long orderId) {
+        Entry entry = entriesById.remove(orderId);
+        if (entry == null) {
+            return false;
+        }
+        return sideOf(entry.orderType()).remove(keyOf(entry), orderId);
+    }
+
+    /**
+     * 현재가에 체결되는 주문을 주문장에서 제거하고 반환한다.
+     * 매수는 현재가 <= 주문가, 매도는 현재가 >= 주문가일 때 체결된다.
+     */
+    public synchronized List<Entry> match(long currentPrice) {
+        if (entriesById.isEmpty()) {
+            return List.of();
+        }
+        List<Entry> matched = null;
+        matched = buySide.drainFrom(currentPrice, matched);
+        matched = sellSide.drainFrom(-currentPrice, matched);
+        if (matched == null) {
+            return List.of();
+        }
+        for (Entry entry : matched) {
+            entriesById.remove(entry.orderId());
+        }
+        return matched;
+    }
+
+    public synchronized int size() {
+        return entriesById.size();
+    }
+
+    private Side sideOf(TradingOrderType orderType) {
+        return orderType == TradingOrderType.BUY ? buySide : sellSide;
+    }
+
+    // 매도 측은 가격을 음수로 저장해 두 측 모두 "키 >= 기준값"인 꼬리 구간이 체결 대상이 되도록 한다.
+    private static long keyOf(Entry entry) {
+        return entry.orderType() == TradingOrderType.BUY ? entry.price() : -entry.price();
+    }
+
+    /**
+     * 주문 가격(BigDecimal)을 주문장 가격(long)으로 변환한다.
+     * 소수 호가는 체결 조건이 바뀌지 않도록 매수는 내림, 매도는 올림한다.
+     */
+    public static long toBookPrice(BigDecimal price, TradingOrderType orderType) {
+        RoundingMode mode = orderType == TradingOrderType.BUY ? RoundingMode.FLOOR : RoundingMode.CEILING;
+        return price.setScale(0, mode).longValueExact();
+    }
+
+    public record Entry(long orderId, long accountId, String ticker, TradingOrderType orderType, long price) {
+    }
+
+    /**
+     * 가격 키 오름차순으로 정렬된 호가 레벨 배열.
+     */
+    private static final class Side {
+        private long[] keys = new long[16];
+        private ArrayDeque<Entry>[] levels = newLevels(16);
+        private int size;
+
+        void add(long key, Entry entry) {
+            int index = Arrays.binarySearch(keys, 0, size, key);
+            if (index < 0) {
+                index = -index - 1;
+                ensureCapacity();
+                System.arraycopy(keys, index, keys, index + 1, size - index);
+                System.arraycopy(levels, index, levels, index + 1, size - index);
+                keys[index] = key;
+                levels[index] = new ArrayDeque<>(4);
+                size++;
+            }
+            levels[index].addLast(entry);
+        }
+
+        boolean remove(long key, long orderId) {
+            int index = Arrays.binarySearch(keys, 0, size, key);
+            if (index < 0) {
+                return false;
+            }
+            ArrayDeque<Entry> level = levels[index];
+            boolean removed = level.removeIf(entry -> entry.orderId() == orderId);
+            if (level.isEmpty()) {
+                System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+                System.arraycopy(levels, index + 1, levels, index, size - index - 1);
+                levels[--size] = null;
+            }
+            return removed;
+        }
+
+        /**
+         * 키가 threshold 이상인 레벨을 모두 꺼낸다. 정렬 순서상 항상 배열의 꼬리 구간이다.
+         */
+        List<Entry> drainFrom(long threshold, List<Entry> out) {
+            if (size == 0 || keys[size - 1] < threshold) {
+                return out;
+            }
+            int from = lowerBound(threshold);
+            if (out == null) {
+                out = new ArrayList<>();
+            }
+            // 체결 우선순위: 매수는 높은 가격, 매도는 낮은 가격(=높은 키)부터
+            for (int i = size - 1; i >= from; i--) {
+                out.addAll(levels[i]);
+                levels[i] = null;
+            }
+            size = from;
+            return out;
+        }
+
+        private int lowerBound(long key) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid] < key) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private void ensureCapacity() {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                levels = Arrays.copyOf(levels, size * 2);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static ArrayDeque<Entry>[] newLevels(int capacity) {
+            return (ArrayDeque<Entry>[]) new ArrayDeque[capacity];
+        }
+    }
+}
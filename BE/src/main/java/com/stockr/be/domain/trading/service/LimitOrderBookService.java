@@ -0,0 +1,77 @@
+package com.stockr.be.domain.trading.service;
+
+import com.stockr.be.domain.trading.entity.LimitOrder;
+import com.stockr.be.domain.trading.entity.TradingOrderStatus;
+import com.stockr.be.domain.trading.repository.LimitOrderRepository;
+import com.stockr.be.global.common.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 종목별 인메모리 지정가 주문장 관리.
+ * 기동 시 PENDING 주문을 한 번 적재하고, 이후에는 주문 생성/취소 시점에만 갱신되므로
+ * 시세 틱마다 DB를 조회하지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LimitOrderBookService {
+
+    private final LimitOrderRepository limitOrderRepository;
+    private final Map<String, LimitOrderBook> books = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPendingOrders() {
+        List<LimitOrder> pendingOrders = limitOrderRepository.findByStatus(TradingOrderStatus.PENDING);
+        pendingOrders.forEach(order -> add(toEntry(order)));
+        log.info("Loaded {} pending limit orders into {} order books", pendingOrders.size(), books.size());
+    }
+
+    /**
+     * 주문 생성 트랜잭션이 커밋된 뒤 주문장에 등록한다.
+     * 커밋 전에 틱이 들어와 아직 존재하지 않는 주문을 체결하려는 경우를 막는다.
+     */
+    public void addAfterCommit(LimitOrder order) {
+        LimitOrderBook.Entry entry = toEntry(order);
+        TransactionCallbacks.runAfterCommit(() -> add(entry));
+    }
+
+    public void removeAfterCommit(LimitOrder order) {
+        String ticker = order.getStock().getTicker();
+        long orderId = order.getId();
+        TransactionCallbacks.runAfterCommit(() -> remove(ticker, orderId));
+    }
+
+    public void add(LimitOrderBook.Entry entry) {
+        books.computeIfAbsent(entry.ticker(), LimitOrderBook::new).add(entry);
+    }
+
+    public boolean remove(String ticker, long orderId) {
+        LimitOrderBook book = books.get(ticker);
+        return book != null && book.remove(orderId);
+    }
+
+    /**
+     * 현재가에 체결되는 주문을 주문장에서 꺼낸다. DB 조회 없이 메모리에서만 처리된다.
+     */
+    public List<LimitOrderBook.Entry> match(String ticker, long currentPrice) {
+        LimitOrderBook book = books.get(ticker);
+        return book == null ? List.of() : book.match(currentPrice);
+    }
+
+    public static LimitOrderBook.Entry toEntry(LimitOrder order) {
+        return new LimitOrderBook.Entry(
+                order.getId(),
+                order.getAccount().getId(),
+                order.getStock().getTicker(),
+                order.getOrderType(),
+                LimitOrderBook.toBookPrice(order.getPrice(), order.getOrderType()));
+    }
+}
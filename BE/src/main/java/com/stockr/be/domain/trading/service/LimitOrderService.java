@@ -11,7 +11,7 @@ import com.stockr.be.account.domain.Account;
 import com.stockr.be.account.repository.AccountRepository;
 import com.stockr.be.domain.stock.entity.Stock;
 import com.stockr.be.domain.stock.repository.StockHoldingRepository;
-import com.stockr.be.domain.stock.repository.StockRepository;
+import com.stockr.be.domain.stock.service.StockCatalog;
 import com.stockr.be.domain.trading.dto.LimitOrderRequestDto;
 import com.stockr.be.domain.trading.entity.LimitOrder;
 import com.stockr.be.domain.trading.entity.TradingOrderStatus;
@@ -27,8 +27,9 @@ public class LimitOrderService {
 
     private final LimitOrderRepository limitOrderRepository;
     private final AccountRepository accountRepository;
-    private final StockRepository stockRepository;
+    private final StockCatalog stockCatalog;
     private final StockHoldingRepository stockHoldingRepository;
+    private final LimitOrderBookService limitOrderBookService;
 
     private Long getCurrentUserId() {
         User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
@@ -41,7 +42,7 @@ public class LimitOrderService {
         Account account = accountRepository.findByUser_UserId(userId)
                 .orElseThrow(() -> new NoSuchElementException("User account not found."));
 
-        Stock stock = stockRepository.findById(request.getStockId())
+        Stock stock = stockCatalog.reference(request.getStockId())
                 .orElseThrow(() -> new NoSuchElementException("Stock not found."));
 
         if (request.getOrderType() == TradingOrderType.SELL) {
@@ -57,7 +58,9 @@ public class LimitOrderService {
                 .status(TradingOrderStatus.PENDING)
                 .build();
 
-        return limitOrderRepository.save(order);
+        LimitOrder savedOrder = limitOrderRepository.save(order);
+        limitOrderBookService.addAfterCommit(savedOrder);
+        return savedOrder;
     }
 
     private void validateSellOrder(Account account, Stock stock, Long quantityToSell) {
@@ -86,7 +89,9 @@ public class LimitOrderService {
         }
 
         order.updateStatus(TradingOrderStatus.CANCELLED);
-        return limitOrderRepository.save(order);
+        LimitOrder cancelledOrder = limitOrderRepository.save(order);
+        limitOrderBookService.removeAfterCommit(cancelledOrder);
+        return cancelledOrder;
     }
 
     @Transactional(readOnly = true)
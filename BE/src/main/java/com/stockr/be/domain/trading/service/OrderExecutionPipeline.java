@@ -0,0 +1,174 @@
+package com.stockr.be.domain.trading.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 지정가 주문 체결 전용 단계.
+ * 시세 수신 스레드는 체결 대상 주문을 큐에 넣기만 하고, 워커가 큐를 비우며 마이크로 배치 단위로 커밋한다.
+ * 같은 계좌의 주문은 항상 같은 워커(파티션)로 가므로 계좌 단위 갱신이 워커 간에 겹치지 않는다.
+ * 틱 수신부터 체결 커밋까지의 지연은 trading.execution.latency 타이머로 남긴다.
+ */
+@Slf4j
+@Component
+public class OrderExecutionPipeline {
+
+    private final OrderExecutor orderExecutor;
+    private final LimitOrderBookService limitOrderBookService;
+    private final Timer executionLatency;
+    private final int batchSize;
+    private final List<BlockingQueue<ExecutionRequest>> partitions = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    public OrderExecutionPipeline(OrderExecutor orderExecutor,
+            LimitOrderBookService limitOrderBookService,
+            MeterRegistry meterRegistry,
+            @Value("${trading.execution.workers:2}") int workerCount,
+            @Value("${trading.execution.queue-capacity:10000}") int queueCapacity,
+            @Value("${trading.execution.batch-size:100}") int batchSize) {
+        this.orderExecutor = orderExecutor;
+        this.limitOrderBookService = limitOrderBookService;
+        this.executionLatency = Timer.builder("trading.execution.latency")
+                .description("시세 틱 수신부터 체결 커밋까지")
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .register(meterRegistry);
+        this.batchSize = batchSize;
+        for (int i = 0; i < workerCount; i++) {
+            partitions.add(new ArrayBlockingQueue<>(queueCapacity));
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (int i = 0; i < partitions.size(); i++) {
+            BlockingQueue<ExecutionRequest> queue = partitions.get(i);
+            Thread worker = new Thread(() -> runWorker(queue), "order-execution-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+        log.info("Order execution pipeline started with {} workers", workers.size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+    }
+
+    /**
+     * 시세 한 틱에 체결되는 주문을 인메모리 주문장에서 꺼내 체결 큐에 넣는다. DB 조회 없이 호출 스레드에서 바로 끝난다.
+     *
+     * @param receivedNanos 틱 수신 시각 (System.nanoTime)
+     * @return 체결 큐에 넣은 주문 수
+     */
+    public int onTick(String ticker, long currentPrice, long receivedNanos) {
+        List<LimitOrderBook.Entry> matchedOrders = limitOrderBookService.match(ticker, currentPrice);
+        if (matchedOrders.isEmpty()) {
+            return 0;
+        }
+        BigDecimal executionPrice = BigDecimal.valueOf(currentPrice);
+        for (LimitOrderBook.Entry entry : matchedOrders) {
+            submit(entry, executionPrice, receivedNanos);
+        }
+        return matchedOrders.size();
+    }
+
+    /**
+     * 체결 대상 주문을 비동기 체결 큐에 넣는다. 호출 스레드를 막지 않는다.
+     * 큐가 가득 차면 주문을 주문장에 되돌려 다음 틱에서 다시 매칭되도록 한다.
+     */
+    public void submit(LimitOrderBook.Entry entry, BigDecimal executionPrice, long receivedNanos) {
+        ExecutionRequest request = new ExecutionRequest(entry, executionPrice, receivedNanos);
+        if (!partitionOf(entry).offer(request)) {
+            log.warn("Order execution queue is full, deferring order {}", entry.orderId());
+            limitOrderBookService.add(entry);
+        }
+    }
+
+    public int pendingCount() {
+        return partitions.stream().mapToInt(BlockingQueue::size).sum();
+    }
+
+    private BlockingQueue<ExecutionRequest> partitionOf(LimitOrderBook.Entry entry) {
+        return partitions.get(Math.floorMod(entry.accountId(), partitions.size()));
+    }
+
+    private void runWorker(BlockingQueue<ExecutionRequest> queue) {
+        List<ExecutionRequest> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                ExecutionRequest first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                executeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Unexpected error in order execution worker", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void executeBatch(List<ExecutionRequest> batch) {
+        try {
+            List<Long> deferredOrderIds = orderExecutor.executeOrders(batch);
+            long executedNanos = System.nanoTime();
+            for (ExecutionRequest request : batch) {
+                if (!deferredOrderIds.contains(request.entry().orderId())) {
+                    executionLatency.record(executedNanos - request.receivedNanos(), TimeUnit.NANOSECONDS);
+                }
+            }
+            restore(batch, deferredOrderIds);
+            log.debug("Executed batch of {} orders", batch.size());
+        } catch (Exception e) {
+            if (batch.size() == 1) {
+                log.error("Failed to process order {}: {}", batch.get(0).entry().orderId(), e.getMessage());
+                limitOrderBookService.add(batch.get(0).entry());
+                return;
+            }
+            // 배치 트랜잭션이 롤백되면 주문 하나씩 다시 실행해 실패한 주문만 격리한다
+            log.warn("Batch of {} orders rolled back, retrying individually: {}", batch.size(), e.getMessage());
+            for (ExecutionRequest request : batch) {
+                executeBatch(List.of(request));
+            }
+        }
+    }
+
+    private void restore(List<ExecutionRequest> batch, List<Long> deferredOrderIds) {
+        if (deferredOrderIds.isEmpty()) {
+            return;
+        }
+        for (ExecutionRequest request : batch) {
+            if (deferredOrderIds.contains(request.entry().orderId())) {
+                limitOrderBookService.add(request.entry());
+            }
+        }
+    }
+
+    /**
+     * @param receivedNanos 체결을 일으킨 틱의 수신 시각 (System.nanoTime)
+     */
+    public record ExecutionRequest(LimitOrderBook.Entry entry, BigDecimal executionPrice, long receivedNanos) {
+    }
+}
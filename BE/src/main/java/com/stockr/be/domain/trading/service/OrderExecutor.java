@@ -0,0 +1,15 @@
+package com.stockr.be.domain.trading.service;
+
+import java.util.List;
+
+/**
+ * {@link OrderExecutionPipeline} 워커가 체결 배치를 넘기는 대상. 운영에서는 {@link InternalTradeService}가 DB에 커밋한다.
+ */
+public interface OrderExecutor {
+
+    /**
+     * @param requests 체결 요청 목록
+     * @return 체결되지 않고 여전히 미체결 상태인 주문 ID 목록
+     */
+    List<Long> executeOrders(List<OrderExecutionPipeline.ExecutionRequest> requests);
+}
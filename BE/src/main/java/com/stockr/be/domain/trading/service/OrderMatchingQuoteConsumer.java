@@ -0,0 +1,38 @@
+package com.stockr.be.domain.trading.service;
+
+import com.stockr.be.domain.trade.client.QuoteConsumer;
+import com.stockr.be.domain.trade.client.RealtimeQuote;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 호가 틱마다 인메모리 주문장에서 체결 대상 주문을 꺼내 체결 큐에 넣는다 (DB 조회 없음).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderMatchingQuoteConsumer implements QuoteConsumer {
+
+    private final OrderExecutionPipeline orderExecutionPipeline;
+
+    @Override
+    public String name() {
+        return "matcher";
+    }
+
+    @Override
+    public void onQuote(RealtimeQuote quote, long receivedNanos) {
+        orderExecutionPipeline.onTick(quote.stockCode(), quote.getPrice(), receivedNanos);
+    }
+
+    /**
+     * 잃은 틱 사이에 지정가를 지나간 주문은 다음 틱이 다시 그 가격을 지나기 전까지 체결되지 않으므로 오류로 알린다.
+     * 링이 따라잡을 때마다(최대 1초마다) 모아서 한 번 불린다.
+     */
+    @Override
+    public void onOverrun(long ticks) {
+        log.error("Order matcher fell a full ring behind and skipped {} quote ticks; crossed limit orders may be delayed",
+                ticks);
+    }
+}
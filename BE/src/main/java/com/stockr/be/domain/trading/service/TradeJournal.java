@@ -0,0 +1,226 @@
+package com.stockr.be.domain.trading.service;
+
+import com.stockr.be.domain.trading.entity.TradingOrderType;
+import com.stockr.be.global.journal.JournalGroupCommit;
+import com.stockr.be.global.journal.MappedJournal;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * 체결 저널. 체결 한 건을 고정 길이 레코드로 {@link MappedJournal}에 덧붙이고, fsync는 {@link JournalGroupCommit}이
+ * 잔고 원장과 함께 묶어서 한다. 체결 트랜잭션은 커밋 직전에 자기 레코드를 붙이고 fsync될 때까지만 기다리므로
+ * 행 단위 INSERT를 기다리지 않는다. trade_logs 적재는 {@link TradeLogProjector}가 뒤에서 일괄로 한다.
+ *
+ * 커밋 결과가 정해지지 않은 레코드(unsettled)가 있으면 그 앞까지만 적재 대상으로 내보낸다.
+ * 롤백된 체결은 취소 레코드를 덧붙여 표시하고 {@link #read}에서 빼므로, 같은 주문을 다시 체결해도 롤백된 체결이 적재되지 않는다.
+ * 취소 레코드가 디스크에 내려가기 전에 죽은 경우는 적재 시 주문 상태(EXECUTED)로 한 번 더 거른다.
+ */
+@Slf4j
+@Component
+public class TradeJournal {
+
+    // record: [orderId 8][accountId 8][quantity 8][priceCents 8][executedAt millis 8][orderType 1][tickerLength 1][ticker 16]
+    // 취소 레코드: [취소된 체결의 sequence 8] ... [orderType = ABORTED]
+    private static final int RECORD_SIZE = 58;
+    private static final int ORDER_TYPE_OFFSET = 40;
+    private static final byte ABORTED = -1;
+    private static final int TICKER_OFFSET = 42;
+    private static final int MAX_TICKER_BYTES = 16;
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final MappedJournal journal;
+    private final JournalGroupCommit groupCommit;
+    private final ConcurrentSkipListSet<Long> unsettled = new ConcurrentSkipListSet<>();
+    private final ConcurrentSkipListSet<Long> aborted = new ConcurrentSkipListSet<>();
+
+    /**
+     * 체결 한 건. price는 1주당 체결가.
+     */
+    public record Fill(long orderId, long accountId, String ticker, TradingOrderType orderType, long quantity,
+            BigDecimal price, LocalDateTime executedAt) {
+    }
+
+    public TradeJournal(JournalGroupCommit groupCommit,
+            @Value("${trading.journal.dir}") String directory,
+            @Value("${trading.journal.segment-records:65536}") int segmentRecords) {
+        this.journal = new MappedJournal(Path.of(directory), RECORD_SIZE, segmentRecords);
+        this.groupCommit = groupCommit;
+        // 지난 실행에서 남긴 취소 레코드를 다시 모아 롤백된 체결이 적재되지 않게 한다
+        journal.replay(1, (sequence, record) -> {
+            if (record.get(ORDER_TYPE_OFFSET) == ABORTED) {
+                aborted.add(record.getLong(0));
+            }
+        });
+        groupCommit.register(journal);
+    }
+
+    /**
+     * fsync를 기다리던 체결 트랜잭션을 실패(롤백)시킨 뒤 저널을 닫는다.
+     */
+    @PreDestroy
+    public void stop() {
+        groupCommit.stop();
+        journal.close();
+    }
+
+    /**
+     * 체결을 기록한다. DB 트랜잭션 안이면 커밋 직전에 붙이고 fsync까지 기다리며, 커밋 결과가 나오면 적재 대상으로 풀어 준다.
+     * fsync가 timeout 안에 끝나지 않으면 예외가 나 트랜잭션이 롤백된다. 트랜잭션 밖이면 바로 붙이고 fsync까지 기다리며,
+     * 실패하면 붙인 체결을 취소로 표시하고 예외를 던진다.
+     */
+    public void record(List<Fill> fills) {
+        if (fills.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            long[] sequences = append(fills);
+            try {
+                groupCommit.awaitFlush();
+            } catch (RuntimeException e) {
+                abort(sequences);
+                throw e;
+            } finally {
+                settle(sequences);
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long[] sequences;
+
+            @Override
+            public int getOrder() {
+                return JournalGroupCommit.APPEND_ORDER;
+            }
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                sequences = append(fills);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (sequences == null) {
+                    return;
+                }
+                if (status != STATUS_COMMITTED) {
+                    abort(sequences);
+                }
+                settle(sequences);
+            }
+        });
+        groupCommit.awaitBeforeCommit();
+    }
+
+    /**
+     * 적재해도 되는 마지막 sequence: 그 앞에 커밋 결과를 기다리는 레코드가 없다.
+     * 커밋된 체결은 커밋 전에 fsync를 기다렸으므로 이 범위는 모두 디스크에 있다.
+     */
+    public synchronized long settledSequence() {
+        Long first = unsettled.isEmpty() ? null : unsettled.first();
+        return first == null ? journal.nextSequence() - 1 : first - 1;
+    }
+
+    public long firstSequence() {
+        return journal.firstSequence();
+    }
+
+    /**
+     * [fromSequence, toSequence] 체결을 읽는다. 롤백된 체결과 취소 레코드는 건너뛴다.
+     */
+    public void read(long fromSequence, long toSequence, ObjLongConsumer<Fill> consumer) {
+        journal.read(fromSequence, toSequence, (sequence, record) -> {
+            if (record.get(ORDER_TYPE_OFFSET) != ABORTED && !aborted.contains(sequence)) {
+                consumer.accept(decode(record), sequence);
+            }
+        });
+    }
+
+    /**
+     * 적재가 끝난 sequence 이전 세그먼트를 지운다.
+     */
+    public void truncateBefore(long sequence) {
+        journal.truncateBefore(sequence);
+        aborted.headSet(journal.firstSequence()).clear();
+    }
+
+    // 번호를 받는 것과 unsettled 등록을 한 번에 해서 settledSequence가 그 사이를 보지 못하게 한다
+    private synchronized long[] append(List<Fill> fills) {
+        long[] sequences = new long[fills.size()];
+        for (int i = 0; i < sequences.length; i++) {
+            Fill fill = fills.get(i);
+            sequences[i] = journal.append(record -> encode(fill, record));
+            unsettled.add(sequences[i]);
+        }
+        return sequences;
+    }
+
+    private void settle(long[] sequences) {
+        for (long sequence : sequences) {
+            unsettled.remove(sequence);
+        }
+    }
+
+    // 적재 대상으로 풀기 전에 취소를 표시해 두어야 projector가 롤백된 체결을 읽지 않는다
+    private void abort(long[] sequences) {
+        for (long sequence : sequences) {
+            aborted.add(sequence);
+        }
+        try {
+            appendAbortMarkers(sequences);
+        } catch (RuntimeException e) {
+            log.error("Failed to journal rollback of trade journal records {}..{}",
+                    sequences[0], sequences[sequences.length - 1], e);
+        }
+    }
+
+    private synchronized void appendAbortMarkers(long[] sequences) {
+        for (long sequence : sequences) {
+            journal.append(record -> record.putLong(0, sequence).put(ORDER_TYPE_OFFSET, ABORTED));
+        }
+    }
+
+    private static void encode(Fill fill, ByteBuffer record) {
+        byte[] ticker = fill.ticker().getBytes(StandardCharsets.US_ASCII);
+        if (ticker.length > MAX_TICKER_BYTES) {
+            throw new IllegalArgumentException("Ticker too long for trade journal: " + fill.ticker());
+        }
+        record.putLong(fill.orderId())
+                .putLong(fill.accountId())
+                .putLong(fill.quantity())
+                .putLong(fill.price().setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact())
+                .putLong(fill.executedAt().atZone(ZONE).toInstant().toEpochMilli())
+                .put((byte) fill.orderType().ordinal())
+                .put((byte) ticker.length)
+                .put(ticker);
+    }
+
+    private static Fill decode(ByteBuffer record) {
+        byte[] ticker = new byte[record.get(TICKER_OFFSET - 1)];
+        record.get(TICKER_OFFSET, ticker);
+        return new Fill(
+                record.getLong(0),
+                record.getLong(8),
+                new String(ticker, StandardCharsets.US_ASCII),
+                TradingOrderType.values()[record.get(ORDER_TYPE_OFFSET)],
+                record.getLong(16),
+                BigDecimal.valueOf(record.getLong(24), 2),
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(record.getLong(32)), ZONE));
+    }
+}
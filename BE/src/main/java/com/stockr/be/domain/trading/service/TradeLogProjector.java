@@ -0,0 +1,109 @@
+package com.stockr.be.domain.trading.service;
+
+import com.stockr.be.account.repository.AccountRepository;
+import com.stockr.be.domain.stock.repository.StockRepository;
+import com.stockr.be.domain.trading.entity.TradeLog;
+import com.stockr.be.domain.trading.entity.TradingOrderStatus;
+import com.stockr.be.domain.trading.repository.LimitOrderRepository;
+import com.stockr.be.domain.trading.repository.TradeLogRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link TradeJournal}의 체결을 trade_logs에 일괄 적재한다.
+ * 한 번에 batch-size건씩 읽어(롤백된 체결은 저널이 이미 뺀다) 이미 적재된 주문과 커밋되지 않은(EXECUTED가 아닌) 주문을
+ * 걸러낸 뒤 saveAll로 넣는다.
+ * TradeLog id는 pooled 시퀀스라 INSERT가 hibernate.jdbc.batch_size 단위로 묶인다.
+ * 적재 위치는 메모리에만 두고, 재시작하면 저널에 남은 처음부터 다시 읽는다(이미 적재된 주문은 걸러지므로 중복되지 않는다).
+ */
+@Slf4j
+@Component
+public class TradeLogProjector {
+
+    private final TradeJournal tradeJournal;
+    private final TradeLogRepository tradeLogRepository;
+    private final LimitOrderRepository limitOrderRepository;
+    private final AccountRepository accountRepository;
+    private final StockRepository stockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private long projectedSequence;
+
+    public TradeLogProjector(TradeJournal tradeJournal, TradeLogRepository tradeLogRepository,
+            LimitOrderRepository limitOrderRepository, AccountRepository accountRepository,
+            StockRepository stockRepository, PlatformTransactionManager transactionManager,
+            @Value("${trading.journal.project-batch-size:500}") int batchSize) {
+        this.tradeJournal = tradeJournal;
+        this.tradeLogRepository = tradeLogRepository;
+        this.limitOrderRepository = limitOrderRepository;
+        this.accountRepository = accountRepository;
+        this.stockRepository = stockRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.projectedSequence = tradeJournal.firstSequence() - 1;
+    }
+
+    @PostConstruct
+    public void alignIdSequence() {
+        tradeLogRepository.alignIdSequence();
+    }
+
+    @Scheduled(fixedDelayString = "${trading.journal.project-interval-ms:50}")
+    public synchronized void project() {
+        long settled = tradeJournal.settledSequence();
+        while (projectedSequence < settled) {
+            long to = Math.min(settled, projectedSequence + batchSize);
+            List<TradeJournal.Fill> fills = new ArrayList<>((int) (to - projectedSequence));
+            tradeJournal.read(projectedSequence + 1, to, (fill, sequence) -> fills.add(fill));
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(fills));
+            } catch (RuntimeException e) {
+                log.error("Failed to project trade journal {}..{}, retrying later", projectedSequence + 1, to, e);
+                return;
+            }
+            projectedSequence = to;
+            tradeJournal.truncateBefore(projectedSequence + 1);
+        }
+    }
+
+    private void insert(List<TradeJournal.Fill> fills) {
+        // 취소 레코드가 디스크에 내려가기 전에 죽으면 롤백된 체결이 남는다. 롤백 뒤 재체결이 항상 뒤에 붙으므로 주문당 마지막 체결을 남긴다
+        Map<Long, TradeJournal.Fill> lastFills = new LinkedHashMap<>(fills.size() * 2);
+        fills.forEach(fill -> lastFills.put(fill.orderId(), fill));
+        Set<Long> orderIds = lastFills.keySet();
+        Set<Long> executed = new HashSet<>(limitOrderRepository.findIdsByStatus(orderIds, TradingOrderStatus.EXECUTED));
+        Set<Long> projected = new HashSet<>(tradeLogRepository.findExecutedOrderIds(orderIds));
+
+        List<TradeLog> tradeLogs = new ArrayList<>(lastFills.size());
+        for (TradeJournal.Fill fill : lastFills.values()) {
+            if (!executed.contains(fill.orderId()) || projected.contains(fill.orderId())) {
+                continue;
+            }
+            tradeLogs.add(TradeLog.builder()
+                    .executedOrderId(fill.orderId())
+                    .account(accountRepository.getReferenceById(fill.accountId()))
+                    .stock(stockRepository.getReferenceById(fill.ticker()))
+                    .orderType(fill.orderType())
+                    .executedQuantity(fill.quantity())
+                    .executedPrice(fill.price())
+                    .executedAt(fill.executedAt())
+                    .build());
+        }
+        if (!tradeLogs.isEmpty()) {
+            tradeLogRepository.saveAll(tradeLogs);
+            log.debug("Projected {} trade logs", tradeLogs.size());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.stockr.be.global.common;
+
+import com.stockr.be.global.exception.BusinessException;
+import com.stockr.be.global.exception.ErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 키셋 페이지네이션 커서 - 마지막으로 내려준 행의 (정렬 시각, id).
+ * 클라이언트에는 Base64URL로 감싼 불투명 문자열로만 노출한다.
+ */
+public record Cursor(LocalDateTime time, String id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static String encode(LocalDateTime time, Object id) {
+        String raw = time.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return 커서, 비어 있으면 null (첫 페이지)
+     */
+    public static Cursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0 || separator == raw.length() - 1) {
+                throw new BusinessException(ErrorCode.INVALID_CURSOR);
+            }
+            return new Cursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException(ErrorCode.INVALID_CURSOR);
+        }
+    }
+
+    /**
+     * 관련도 순 검색 결과처럼 키셋으로 이어 읽을 수 없는 목록은 다음 위치(offset)를 커서로 감싼다
+     */
+    public static String encodeOffset(int offset) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Integer.toString(offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return 다음 위치, 비어 있으면 0
+     */
+    public static int decodeOffset(String value) {
+        if (value == null || value.isBlank()) {
+            return 0;
+        }
+        try {
+            int offset = Integer.parseInt(new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8));
+            if (offset < 0) {
+                throw new BusinessException(ErrorCode.INVALID_CURSOR);
+            }
+            return offset;
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ErrorCode.INVALID_CURSOR);
+        }
+    }
+
+    public Long longId() {
+        try {
+            return Long.valueOf(id);
+        } catch (NumberFormatException e) {
+            throw new BusinessException(ErrorCode.INVALID_CURSOR);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.stockr.be.global.common;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 커서 기반 페이지. 전체 개수를 세지 않으므로 몇 번째 페이지든 비용이 같다.
+ * 조회는 size + 1건을 요청해서 한 건이 더 있으면 다음 페이지가 있다고 본다.
+ */
+@Getter
+public class CursorPage<T> {
+
+    public static final int DEFAULT_SIZE = 10;
+    private static final int MAX_SIZE = 100;
+
+    private final List<T> content;
+    private final String nextCursor;
+    private final boolean hasNext;
+
+    private CursorPage(List<T> content, String nextCursor, boolean hasNext) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+
+    /**
+     * @param rows     size + 1건까지 조회한 결과
+     * @param cursorOf 행의 커서 (마지막 행으로 다음 커서를 만든다)
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, String> cursorOf) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null, false);
+        }
+        List<T> content = rows.subList(0, size);
+        return new CursorPage<>(content, cursorOf.apply(content.get(size - 1)), true);
+    }
+
+    public static <T> CursorPage<T> of(List<T> content, String nextCursor) {
+        return new CursorPage<>(content, nextCursor, nextCursor != null);
+    }
+
+    public static <T> CursorPage<T> empty() {
+        return new CursorPage<>(List.of(), null, false);
+    }
+
+    /**
+     * 요청 크기를 1 ~ MAX_SIZE로 맞춘다
+     */
+    public static int clampSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(Math.max(size, 1), MAX_SIZE);
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(content.stream().map(mapper).collect(Collectors.toList()), nextCursor, hasNext);
+    }
+}
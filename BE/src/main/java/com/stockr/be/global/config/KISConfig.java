@@ -15,6 +15,7 @@ public class KISConfig {
     private App app;
     private Api api = new Api();
     private Virtual virtual = new Virtual();
+    private Websocket websocket = new Websocket();
 
     @Getter
     @Setter
@@ -43,6 +44,13 @@ public class KISConfig {
         private String productCode;
     }
 
+    @Getter
+    @Setter
+    public static class Websocket {
+        private int sessions = 1;
+        private int maxSubscriptions = 40;
+    }
+
     @Bean
     public WebClient kisWebClient() {
         return WebClient.builder()
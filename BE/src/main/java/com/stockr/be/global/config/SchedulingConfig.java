@@ -0,0 +1,26 @@
+package com.stockr.be.global.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * @Scheduled 잡(시세 발행 flush, 캐시/카운터 flush, 뉴스/종목 스냅샷 갱신, 원장 체크포인트, 체결 로그 적재)용 스케줄러.
+ * 풀 크기는 spring.task.scheduling.pool.size를 그대로 따라, 느린 DB 잡 하나가 다른 잡을 밀지 않게 한다.
+ */
+@Configuration
+public class SchedulingConfig {
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(
+            @Value("${spring.task.scheduling.pool.size:4}") int poolSize,
+            @Value("${spring.task.scheduling.thread-name-prefix:scheduling-}") String threadNamePrefix) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix(threadNamePrefix);
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(10);
+        return scheduler;
+    }
+}
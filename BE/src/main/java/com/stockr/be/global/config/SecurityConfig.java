@@ -2,7 +2,7 @@ package com.stockr.be.global.config;
 
 import com.stockr.be.global.jwt.JwtAuthFilter;
 import com.stockr.be.global.jwt.JwtUtil;
-import com.stockr.be.user.repository.UserRepository;
+import com.stockr.be.global.jwt.UserPrincipalCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -25,7 +25,7 @@ import java.util.Arrays;
 public class SecurityConfig {
 
     private final JwtUtil jwtUtil;
-    private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
 
     @Bean
     public BCryptPasswordEncoder passwordEncoder() {
@@ -60,6 +60,7 @@ public class SecurityConfig {
                                 "/api/users/signup",
                                 "/api/users/login",
                                 "/api/news",
+                                "/api/news/scroll",
                                 "api/news/crawl",
                                 "/api/users/me",
                                 "/api/v1/stocks/**",
@@ -75,7 +76,7 @@ public class SecurityConfig {
                                 "/api/trade/order"
                         ).permitAll()
                         .anyRequest().authenticated())
-                .addFilterBefore(new JwtAuthFilter(jwtUtil, userRepository),
+                .addFilterBefore(new JwtAuthFilter(jwtUtil, userPrincipalCache),
                         UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
@@ -15,6 +15,7 @@ public enum ErrorCode {
     INVALID_TYPE_VALUE(HttpStatus.BAD_REQUEST, "C005", "Invalid Type Value"),
     ACCESS_DENIED(HttpStatus.FORBIDDEN, "C006", "Access is Denied"),
     EXTERNAL_API_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "C007", "External API Error"),
+    INVALID_CURSOR(HttpStatus.BAD_REQUEST, "C008", "Invalid Cursor"),
 
     // User
     USER_NOT_FOUND(HttpStatus.NOT_FOUND, "U001", "User Not Found"),
@@ -32,7 +33,7 @@ public enum ErrorCode {
     INVALID_TRADE_TYPE(HttpStatus.BAD_REQUEST, "S002", "Invalid Trade Type"),
     FAVORITE_NOT_FOUND(HttpStatus.NOT_FOUND, "S003", "Favorite Not Found"),
     DUPLICATE_FAVORITE(HttpStatus.BAD_REQUEST, "S004", "Duplicate Favorite"),
-    INVALID_INTERVAL(HttpStatus.BAD_REQUEST, "S005", "Invalid interval value. Use 'daily', 'weekly', or 'monthly'"),
+    INVALID_INTERVAL(HttpStatus.BAD_REQUEST, "S005", "Invalid interval value. Use 'daily', 'Nd', 'weekly', 'monthly', 'quarterly', or 'yearly'"),
     STOCK_PRICE_NOT_FOUND(HttpStatus.NOT_FOUND, "S006", "Stock price not found"),
     STOCK_HOLDING_NOT_FOUND(HttpStatus.NOT_FOUND, "S007", "Stock Holding Not Found"),
 
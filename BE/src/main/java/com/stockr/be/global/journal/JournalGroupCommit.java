@@ -0,0 +1,189 @@
+package com.stockr.be.global.journal;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 등록된 {@link MappedJournal}(체결 저널, 잔고 원장)을 전용 스레드가 flush-interval마다 함께 fsync하는 group commit.
+ * 한 트랜잭션이 여러 저널에 레코드를 붙여도 커밋 직전에 flush 한 번만 기다린다.
+ * timeout 안에 flush되지 않거나 종료 중이면 예외를 던져, 커밋 직전이면 트랜잭션이 롤백된다.
+ */
+@Slf4j
+@Component
+public class JournalGroupCommit {
+
+    /**
+     * 커밋 직전에 저널에 붙이는 콜백의 순서. flush를 기다리는 콜백보다 먼저 돌아야 한다.
+     */
+    public static final int APPEND_ORDER = Ordered.LOWEST_PRECEDENCE - 1;
+
+    private final long flushIntervalNanos;
+    private final long timeoutNanos;
+    private final List<Registered> journals = new CopyOnWriteArrayList<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushed = lock.newCondition();
+    private long startedRound;
+    private long completedRound;
+    private volatile boolean running;
+    private Thread flusher;
+
+    public JournalGroupCommit(@Value("${journal.group-commit.flush-interval-ms:2}") long flushIntervalMillis,
+            @Value("${journal.group-commit.timeout-ms:1000}") long timeoutMillis) {
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        flusher = new Thread(this::runFlusher, "journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * flush를 멈추고 기다리던 호출을 모두 깨워 실패시킨다. 저널을 닫기 전에 부르며, 여러 번 불러도 된다.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (flusher != null) {
+            flusher.interrupt();
+        }
+        lock.lock();
+        try {
+            flushed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void register(MappedJournal journal) {
+        journals.add(new Registered(journal));
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋되기 직전, {@link #APPEND_ORDER} 콜백이 모두 저널에 붙인 뒤에 flush를 한 번 기다리게 한다.
+     * 한 트랜잭션에서 여러 번 불러도 한 번만 기다린다.
+     */
+    public void awaitBeforeCommit() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof AwaitFlush) {
+                return;
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new AwaitFlush());
+    }
+
+    /**
+     * 이 호출 이전에 붙인 레코드가 모두 fsync될 때까지 기다린다.
+     *
+     * @throws IllegalStateException timeout 안에 flush되지 않았거나, 종료 중이거나, 인터럽트된 경우
+     */
+    public void awaitFlush() {
+        lock.lock();
+        try {
+            // 이미 돌고 있는 round는 이 호출 전에 쓰기 위치를 읽었을 수 있으니 다음 round를 기다린다
+            long target = startedRound + 1;
+            long remaining = timeoutNanos;
+            while (completedRound < target) {
+                if (!running) {
+                    throw new IllegalStateException("Journal group commit stopped before flush");
+                }
+                if (remaining <= 0) {
+                    throw new IllegalStateException(
+                            "Journal flush timed out after " + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + "ms");
+                }
+                remaining = flushed.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for journal flush", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void runFlusher() {
+        while (running) {
+            LockSupport.parkNanos(flushIntervalNanos);
+            if (!running) {
+                return;
+            }
+            long round;
+            lock.lock();
+            try {
+                round = ++startedRound;
+            } finally {
+                lock.unlock();
+            }
+            // 한 저널이라도 내리지 못하면 round를 끝내지 않아, 기다리던 호출은 다음 round나 timeout까지 기다린다
+            boolean forced = true;
+            for (Registered registered : journals) {
+                forced &= registered.force();
+            }
+            if (!forced) {
+                continue;
+            }
+            lock.lock();
+            try {
+                completedRound = round;
+                flushed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private final class AwaitFlush implements TransactionSynchronization {
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            awaitFlush();
+        }
+    }
+
+    /**
+     * 마지막으로 내린 위치를 기억해, 새 레코드가 없는 저널은 fsync하지 않는다. flush 스레드만 쓴다.
+     */
+    private static final class Registered {
+        private final MappedJournal journal;
+        private long forcedSequence;
+
+        private Registered(MappedJournal journal) {
+            this.journal = journal;
+        }
+
+        private boolean force() {
+            long written = journal.nextSequence();
+            if (written == forcedSequence) {
+                return true;
+            }
+            try {
+                journal.force();
+                forcedSequence = written;
+                return true;
+            } catch (RuntimeException e) {
+                log.error("Failed to flush journal", e);
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.stockr.be.global.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 고정 길이 레코드 append-only 저널. 세그먼트 파일을 메모리 매핑해 쓰고, 레코드마다 1부터 증가하는 sequence를 붙인다.
+ * 슬롯 = [sequence 8][payload recordSize]. payload를 먼저 쓰고 sequence를 마지막에 써서,
+ * 다시 열 때 sequence가 0이거나 이어지지 않는 첫 슬롯을 로그의 끝으로 본다.
+ * 매핑된 페이지는 프로세스가 죽어도 OS가 디스크에 쓰지만, 전원 장애까지 버티려면 {@link #force()}를 불러야 한다.
+ * 세그먼트 파일명은 첫 sequence(20자리)이고, 체크포인트 이전 세그먼트는 {@link #truncateBefore(long)}로 지운다.
+ */
+@Slf4j
+public class MappedJournal implements Closeable {
+
+    /**
+     * 재생 콜백. record는 payload만 담은 읽기 전용 버퍼이며 콜백 밖으로 들고 나가면 안 된다.
+     */
+    @FunctionalInterface
+    public interface RecordReader {
+        void read(long sequence, ByteBuffer record);
+    }
+
+    private static final String SUFFIX = ".journal";
+    private static final int SEQUENCE_SIZE = 8;
+
+    private final Path directory;
+    private final int recordSize;
+    private final int slotSize;
+    private final int recordsPerSegment;
+    private final List<Long> segmentStarts = new ArrayList<>();
+    private MappedByteBuffer active;
+    private long activeStart;
+    private int activeCount;
+    private long nextSequence = 1;
+
+    public MappedJournal(Path directory, int recordSize, int recordsPerSegment) {
+        this.directory = directory;
+        this.recordSize = recordSize;
+        this.slotSize = SEQUENCE_SIZE + recordSize;
+        this.recordsPerSegment = recordsPerSegment;
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                files.map(path -> path.getFileName().toString())
+                        .filter(name -> name.endsWith(SUFFIX))
+                        .map(name -> Long.parseLong(name.substring(0, name.length() - SUFFIX.length())))
+                        .sorted()
+                        .forEach(segmentStarts::add);
+            }
+            if (segmentStarts.isEmpty()) {
+                openSegment(1);
+            } else {
+                recover();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open journal " + directory, e);
+        }
+    }
+
+    /**
+     * 레코드 하나를 덧붙인다. writer는 위치 0부터 recordSize 바이트 이내로 써야 한다.
+     *
+     * @return 붙인 레코드의 sequence
+     */
+    public synchronized long append(Consumer<ByteBuffer> writer) {
+        if (activeCount == recordsPerSegment) {
+            active.force();
+            openSegment(nextSequence);
+        }
+        int offset = activeCount * slotSize;
+        ByteBuffer payload = active.slice(offset + SEQUENCE_SIZE, recordSize);
+        writer.accept(payload);
+        long sequence = nextSequence++;
+        active.putLong(offset, sequence);
+        activeCount++;
+        return sequence;
+    }
+
+    /**
+     * 다음에 붙을 레코드의 sequence (지금까지 붙인 마지막 sequence + 1)
+     */
+    public synchronized long nextSequence() {
+        return nextSequence;
+    }
+
+    /**
+     * 활성 세그먼트의 변경을 디스크에 내린다. 다 찬 세그먼트는 넘어갈 때 이미 내렸다.
+     */
+    public synchronized void force() {
+        active.force();
+    }
+
+    /**
+     * 남아 있는 가장 오래된 레코드의 sequence (비어 있으면 nextSequence)
+     */
+    public synchronized long firstSequence() {
+        return segmentStarts.get(0);
+    }
+
+    /**
+     * fromSequence 이상인 레코드를 순서대로 읽는다.
+     */
+    public void replay(long fromSequence, RecordReader reader) {
+        read(fromSequence, Long.MAX_VALUE, reader);
+    }
+
+    /**
+     * [fromSequence, toSequence] 구간의 레코드를 순서대로 읽는다. 읽는 동안 append는 기다리므로 콜백은 짧게 유지한다.
+     */
+    public synchronized void read(long fromSequence, long toSequence, RecordReader reader) {
+        for (int i = 0; i < segmentStarts.size(); i++) {
+            long start = segmentStarts.get(i);
+            long end = Math.min(i + 1 < segmentStarts.size() ? segmentStarts.get(i + 1) : nextSequence,
+                    toSequence == Long.MAX_VALUE ? Long.MAX_VALUE : toSequence + 1);
+            if (end <= fromSequence) {
+                continue;
+            }
+            if (start > toSequence) {
+                return;
+            }
+            ByteBuffer buffer = start == activeStart ? active.duplicate() : map(start, FileChannel.MapMode.READ_ONLY);
+            for (long sequence = Math.max(start, fromSequence); sequence < end; sequence++) {
+                int offset = (int) (sequence - start) * slotSize;
+                reader.read(sequence, buffer.slice(offset + SEQUENCE_SIZE, recordSize).asReadOnlyBuffer());
+            }
+        }
+    }
+
+    /**
+     * sequence 미만 레코드만 담은 세그먼트 파일을 지운다. 활성 세그먼트는 남긴다.
+     */
+    public synchronized void truncateBefore(long sequence) {
+        while (segmentStarts.size() > 1 && segmentStarts.get(1) <= sequence) {
+            Path file = segmentPath(segmentStarts.remove(0));
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Failed to delete journal segment {}", file, e);
+            }
+        }
+    }
+
+    /**
+     * 모든 세그먼트를 지우고 nextSequence부터 다시 시작한다. 저널 내용이 전부 다른 곳(DB 등)에 반영된 뒤에만 부른다.
+     */
+    public synchronized void reset(long nextSequence) {
+        for (long start : segmentStarts) {
+            try {
+                Files.deleteIfExists(segmentPath(start));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to delete journal segment " + segmentPath(start), e);
+            }
+        }
+        segmentStarts.clear();
+        openSegment(nextSequence);
+        this.nextSequence = nextSequence;
+    }
+
+    @Override
+    public synchronized void close() {
+        active.force();
+    }
+
+    // 마지막 세그먼트에서 이어지는 sequence가 끊기는 첫 슬롯을 찾아 쓰기 위치로 삼는다
+    private void recover() {
+        activeStart = segmentStarts.get(segmentStarts.size() - 1);
+        active = map(activeStart, FileChannel.MapMode.READ_WRITE);
+        activeCount = 0;
+        while (activeCount < recordsPerSegment
+                && active.getLong(activeCount * slotSize) == activeStart + activeCount) {
+            activeCount++;
+        }
+        nextSequence = activeStart + activeCount;
+        // 끊긴 뒤에 남은 찌꺼기를 지워 다음 복구가 잘못 이어 읽지 않게 한다
+        for (int i = activeCount; i < recordsPerSegment && active.getLong(i * slotSize) != 0; i++) {
+            active.putLong(i * slotSize, 0);
+        }
+        log.info("Journal {} opened at sequence {}", directory, nextSequence);
+    }
+
+    private void openSegment(long start) {
+        activeStart = start;
+        activeCount = 0;
+        active = map(start, FileChannel.MapMode.READ_WRITE);
+        if (segmentStarts.isEmpty() || segmentStarts.get(segmentStarts.size() - 1) != start) {
+            segmentStarts.add(start);
+        }
+    }
+
+    private MappedByteBuffer map(long start, FileChannel.MapMode mode) {
+        Path file = segmentPath(start);
+        try (FileChannel channel = mode == FileChannel.MapMode.READ_ONLY
+                ? FileChannel.open(file, StandardOpenOption.READ)
+                : FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE)) {
+            return channel.map(mode, 0, (long) slotSize * recordsPerSegment);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map journal segment " + file, e);
+        }
+    }
+
+    private Path segmentPath(long start) {
+        return directory.resolve(String.format("%020d%s", start, SUFFIX));
+    }
+}
@@ -1,12 +1,12 @@
 package com.stockr.be.global.jwt;
 
 import com.stockr.be.user.domain.User;
-import com.stockr.be.user.repository.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,10 +15,11 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.util.List;
 
+@Slf4j
 @RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
     private final JwtUtil jwtUtil;
-    private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -27,19 +28,14 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
 
         String token = resolveToken(request);
-        System.out.println(">>> [JwtAuthFilter] Authorization 헤더에서 추출한 토큰: " + token);
 
-        if (token != null && jwtUtil.validateToken(token)) {
-            System.out.println(">>> [JwtAuthFilter] 토큰 유효함");
-
-            String email = jwtUtil.getEmailFromToken(token);
-            System.out.println(">>> [JwtAuthFilter] 토큰에서 추출한 이메일: " + email);
-
-            User user = userRepository.findByEmail(email).orElse(null);
+        // 토큰은 요청당 한 번만 검증/파싱한다
+        String email = token != null ? jwtUtil.parseEmail(token) : null;
+        if (email != null) {
+            // 사용자는 캐시에서 조회 (없을 때만 DB)
+            User user = userPrincipalCache.get(email);
 
             if (user != null) {
-                System.out.println(">>> [JwtAuthFilter] 사용자 조회 성공: userId = " + user.getUserId());
-
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
                                 user,
@@ -48,12 +44,14 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                         );
                 SecurityContextHolder.getContext().setAuthentication(authentication);
 
-                System.out.println(">>> [JwtAuthFilter] 인증 객체 SecurityContext에 저장 완료");
-            } else {
-                System.out.println(">>> [JwtAuthFilter] 사용자 조회 실패 (DB에 없음)");
+                if (log.isDebugEnabled()) {
+                    log.debug("[JwtAuthFilter] 인증 완료: userId = {}", user.getUserId());
+                }
+            } else if (log.isDebugEnabled()) {
+                log.debug("[JwtAuthFilter] 사용자 조회 실패 (DB에 없음): {}", email);
             }
-        } else {
-            System.out.println(">>> [JwtAuthFilter] 토큰이 없거나 유효하지 않음");
+        } else if (token != null && log.isDebugEnabled()) {
+            log.debug("[JwtAuthFilter] 유효하지 않은 토큰: {}", request.getRequestURI());
         }
 
         filterChain.doFilter(request, response);
@@ -1,6 +1,7 @@
 package com.stockr.be.global.jwt;
 
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -16,12 +17,15 @@ public class JwtUtil {
 
     private final Key key;
     private final long expirationTime;
+    // 파서는 thread-safe하므로 한 번만 만들어 재사용한다
+    private final JwtParser parser;
 
     public JwtUtil(@Value("${jwt.secret}") String secretKey,
                    @Value("${jwt.expiration}") long expirationTime) {
         String encoded = Base64.getEncoder().encodeToString(secretKey.getBytes());
         this.key = Keys.hmacShaKeyFor(encoded.getBytes());
         this.expirationTime = expirationTime;
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
     }
 
 
@@ -38,20 +42,24 @@ public class JwtUtil {
     }
 
     public String getEmailFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
+        return parser.parseClaimsJws(token)
                 .getBody()
                 .getSubject();
     }
 
     public boolean validateToken(String token) {
+        return parseEmail(token) != null;
+    }
+
+    /**
+     * 토큰을 한 번만 검증/파싱해 이메일(subject)을 꺼낸다.
+     * @return 유효하지 않은 토큰이면 null
+     */
+    public String parseEmail(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
+            return parser.parseClaimsJws(token).getBody().getSubject();
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return null;
         }
     }
 }
@@ -0,0 +1,47 @@
+package com.stockr.be.global.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.stockr.be.global.common.TransactionCallbacks;
+import com.stockr.be.user.domain.User;
+import com.stockr.be.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 인증 필터가 쓰는 이메일 → 사용자 캐시.
+ * 요청마다 users 테이블을 조회하지 않도록 크기와 TTL이 제한된 캐시에 보관하고,
+ * 사용자 정보가 바뀌면 커밋 후 해당 항목을 지운다.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, User> cache;
+
+    public UserPrincipalCache(UserRepository userRepository,
+            @Value("${jwt.principal-cache.max-size:10000}") long maxSize,
+            @Value("${jwt.principal-cache.ttl:5m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * @return 사용자, 없으면 null (없는 사용자는 캐시하지 않는다)
+     */
+    public User get(String email) {
+        return cache.get(email, key -> userRepository.findByEmail(key).orElse(null));
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤 캐시에서 지운다. 트랜잭션 밖이면 바로 지운다.
+     */
+    public void invalidateAfterCommit(String email) {
+        TransactionCallbacks.runAfterCommit(() -> cache.invalidate(email));
+    }
+}
@@ -0,0 +1,151 @@
+package com.stockr.be.global.ring;
+
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * 문자 payload용 단일 생산자, 다중 소비자 방송 링 버퍼.
+ * 슬롯(char 배열)을 미리 잡아 두고 생산자는 받은 메시지를 슬롯에 복사만 한다. 소비자는 각자 sequence를 들고 따라 읽는다.
+ * 생산자는 소비자를 기다리지 않는다. 느린 소비자가 capacity 이상 뒤처지면 덮어쓰인 구간을 건너뛰고(overrun)
+ * 자기만 손해를 본다. 읽는 도중 덮어쓰였는지는 슬롯 sequence로 확인한다(seqlock).
+ */
+public final class BroadcastRing {
+
+    private static final long WRITING = -1;
+
+    private final Slot[] slots;
+    private final int mask;
+    private volatile long cursor = -1;
+
+    /**
+     * @param capacity 슬롯 수 (2의 거듭제곱)
+     * @param slotChars 슬롯당 미리 잡아 둘 문자 수. 더 긴 메시지가 오면 그 슬롯만 늘린다.
+     */
+    public BroadcastRing(int capacity, int slotChars) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two: " + capacity);
+        }
+        this.slots = new Slot[capacity];
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot(slotChars);
+        }
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * 마지막으로 발행된 sequence, 아직 없으면 -1
+     */
+    public long cursor() {
+        return cursor;
+    }
+
+    /**
+     * payload를 다음 슬롯에 복사해 발행한다. 생산자가 둘 이상이어도 되도록 직렬화하지만 경합이 없으면 잠금 비용만 든다.
+     *
+     * @return 발행한 sequence
+     */
+    public synchronized long publish(CharSequence payload, long timestamp) {
+        long next = cursor + 1;
+        Slot slot = slots[(int) next & mask];
+        slot.sequence = WRITING;
+        // 아래 내용 쓰기가 WRITING 표시보다 먼저 보이지 않도록 한다
+        VarHandle.storeStoreFence();
+        int length = payload.length();
+        if (length > slot.chars.length) {
+            slot.chars = new char[Math.max(length, slot.chars.length * 2)];
+        }
+        char[] chars = slot.chars;
+        for (int i = 0; i < length; i++) {
+            chars[i] = payload.charAt(i);
+        }
+        slot.length = length;
+        slot.timestamp = timestamp;
+        slot.sequence = next;
+        cursor = next;
+        return next;
+    }
+
+    /**
+     * sequence 슬롯을 reader로 복사한다.
+     *
+     * @return 이미 덮어쓰였거나 복사 중에 덮어쓰였으면 false (reader 내용은 버려야 한다)
+     */
+    public boolean read(long sequence, Reader reader) {
+        Slot slot = slots[(int) sequence & mask];
+        if (slot.sequence != sequence) {
+            return false;
+        }
+        char[] chars = slot.chars;
+        int length = Math.min(slot.length, chars.length);
+        reader.copy(chars, length, slot.timestamp);
+        VarHandle.loadLoadFence();
+        return slot.sequence == sequence;
+    }
+
+    private static final class Slot {
+        private volatile long sequence = WRITING;
+        private char[] chars;
+        private int length;
+        private long timestamp;
+
+        private Slot(int slotChars) {
+            this.chars = new char[slotChars];
+        }
+    }
+
+    /**
+     * 소비자 전용 복사 버퍼. 소비자 스레드 하나가 계속 재사용하며, {@link CharSequence}로 바로 파서에 넘길 수 있다.
+     */
+    public static final class Reader implements CharSequence {
+        private char[] chars;
+        private int length;
+        private long timestamp;
+
+        public Reader(int initialChars) {
+            this.chars = new char[initialChars];
+        }
+
+        private void copy(char[] source, int length, long timestamp) {
+            if (length > chars.length) {
+                chars = Arrays.copyOf(chars, Math.max(length, chars.length * 2));
+            }
+            System.arraycopy(source, 0, chars, 0, length);
+            this.length = length;
+            this.timestamp = timestamp;
+        }
+
+        /**
+         * 생산자가 발행할 때 넘긴 timestamp
+         */
+        public long timestamp() {
+            return timestamp;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index >= length) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return chars[index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().substring(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return new String(chars, 0, length);
+        }
+    }
+}
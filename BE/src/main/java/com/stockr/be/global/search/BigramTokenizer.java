@@ -0,0 +1,64 @@
+package com.stockr.be.global.search;
+
+import java.util.function.IntConsumer;
+
+/**
+ * 한글/영문 공용 n-gram 토크나이저.
+ * 문자/숫자가 아닌 문자로 단어를 나눈 뒤, 색인 시에는 단어의 각 글자(unigram)와 인접 두 글자(bigram)를,
+ * 검색 시에는 한 글자 단어면 unigram, 그 외에는 bigram만 term으로 낸다.
+ * 형태소 분석 없이도 "삼성전자" 검색이 "삼성전자우" 같은 부분 문자열에 걸린다.
+ *
+ * term은 String 대신 int로 인코딩한다: unigram = c, bigram = (c1 << 16) | c2 (c1 != 0이므로 충돌하지 않는다)
+ */
+public final class BigramTokenizer {
+
+    private BigramTokenizer() {
+    }
+
+    public static void forEachIndexTerm(CharSequence text, IntConsumer consumer) {
+        tokenize(text, false, consumer);
+    }
+
+    public static void forEachQueryTerm(CharSequence text, IntConsumer consumer) {
+        tokenize(text, true, consumer);
+    }
+
+    private static void tokenize(CharSequence text, boolean query, IntConsumer consumer) {
+        if (text == null) {
+            return;
+        }
+        int length = text.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean wordChar = i < length && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                emitWord(text, start, i, query, consumer);
+                start = -1;
+            }
+        }
+    }
+
+    private static void emitWord(CharSequence text, int start, int end, boolean query, IntConsumer consumer) {
+        if (query && end - start == 1) {
+            consumer.accept(normalize(text.charAt(start)));
+            return;
+        }
+        char previous = 0;
+        for (int i = start; i < end; i++) {
+            char current = normalize(text.charAt(i));
+            if (!query) {
+                consumer.accept(current);
+            }
+            if (previous != 0) {
+                consumer.accept((previous << 16) | current);
+            }
+            previous = current;
+        }
+    }
+
+    private static char normalize(char c) {
+        return Character.toLowerCase(c);
+    }
+}
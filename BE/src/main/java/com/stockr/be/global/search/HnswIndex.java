@@ -0,0 +1,480 @@
+package com.stockr.be.global.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+/**
+ * 인메모리 HNSW(Hierarchical Navigable Small World) 근사 최근접 이웃 색인. 거리는 제곱 유클리드 거리다.
+ * 노드 벡터는 float[] 하나에 연속 저장하고, 계층별 이웃은 int 배열(0번 칸 = 개수)로 둔다.
+ * 같은 id를 다시 넣으면 기존 노드를 삭제 표시하고 새 노드로 넣는다. 삭제된 노드는 그래프 탐색 경로로는 쓰되 결과에서는 뺀다.
+ * 검색 조건(filter)은 탐색 중 결과 후보에만 적용하므로 조건이 까다로울수록 더 넓게 탐색한다.
+ * 쓰기는 한 번에 하나씩, 검색은 동시에 여러 스레드에서 할 수 있다.
+ */
+public class HnswIndex {
+
+    /**
+     * 검색 결과 한 건 (id와 제곱 거리)
+     */
+    public record Neighbor(int id, float distance) {
+    }
+
+    private static final int MAX_LEVEL = 16;
+
+    private final int dimension;
+    private final int maxLinks;
+    private final int maxLinksLevel0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final SplittableRandom random;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ThreadLocal<Visited> visited = ThreadLocal.withInitial(Visited::new);
+
+    private final Map<Integer, Integer> nodeById = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private float[] vectors;
+    private int[] ids;
+    private int[][][] links;
+    private int nodeCount;
+    private int deletedCount;
+    private int entryPoint = -1;
+    private int topLevel = -1;
+
+    /**
+     * @param maxLinks       계층별 최대 이웃 수 M (0층은 2M)
+     * @param efConstruction 삽입 시 후보 폭
+     */
+    public HnswIndex(int dimension, int maxLinks, int efConstruction, long seed) {
+        this.dimension = dimension;
+        this.maxLinks = maxLinks;
+        this.maxLinksLevel0 = maxLinks * 2;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1 / Math.log(maxLinks);
+        this.random = new SplittableRandom(seed);
+        this.vectors = new float[64 * dimension];
+        this.ids = new int[64];
+        this.links = new int[64][][];
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodeCount - deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 삭제 표시만 되어 그래프에 남아 있는 노드 수. 살아 있는 노드보다 많아지면 다시 만드는 편이 낫다.
+     */
+    public int deletedCount() {
+        lock.readLock().lock();
+        try {
+            return deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(int id, float[] vector) {
+        if (vector.length != dimension) {
+            throw new IllegalArgumentException("Expected dimension " + dimension + " but was " + vector.length);
+        }
+        lock.writeLock().lock();
+        try {
+            markDeleted(id);
+            insert(id, vector);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            markDeleted(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param ef     탐색 폭 (k보다 작으면 k)
+     * @param filter 결과로 받을 id 조건, null이면 전체
+     * @return 거리 오름차순 최대 k건
+     */
+    public List<Neighbor> search(float[] query, int k, int ef, IntPredicate filter) {
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0 || k <= 0) {
+                return List.of();
+            }
+            int current = entryPoint;
+            float currentDistance = distance(query, current);
+            for (int level = topLevel; level > 0; level--) {
+                boolean changed = true;
+                while (changed) {
+                    changed = false;
+                    int[] neighbors = links[current][level];
+                    for (int i = 1; i <= neighbors[0]; i++) {
+                        float d = distance(query, neighbors[i]);
+                        if (d < currentDistance) {
+                            currentDistance = d;
+                            current = neighbors[i];
+                            changed = true;
+                        }
+                    }
+                }
+            }
+            LongHeap results = searchLayer(query, current, Math.max(ef, k), 0, filter, true);
+            while (results.size() > k) {
+                results.poll();
+            }
+            return toNeighbors(results);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 살아 있는 모든 노드를 훑는 정확한 top-k (근사 결과의 recall 비교와 작은 후보군 검색용)
+     */
+    public List<Neighbor> exactSearch(float[] query, int k, IntPredicate filter) {
+        lock.readLock().lock();
+        try {
+            LongHeap results = new LongHeap(k + 1);
+            for (int node = 0; node < nodeCount; node++) {
+                if (!accepts(node, filter)) {
+                    continue;
+                }
+                results.add(-key(distance(query, node), node));
+                if (results.size() > k) {
+                    results.poll();
+                }
+            }
+            return toNeighbors(results);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void insert(int id, float[] vector) {
+        int node = nodeCount++;
+        ensureCapacity(nodeCount);
+        System.arraycopy(vector, 0, vectors, node * dimension, dimension);
+        ids[node] = id;
+        nodeById.put(id, node);
+
+        int level = Math.min((int) (-Math.log(1 - random.nextDouble()) * levelMultiplier), MAX_LEVEL);
+        links[node] = new int[level + 1][];
+        for (int l = 0; l <= level; l++) {
+            links[node][l] = new int[(l == 0 ? maxLinksLevel0 : maxLinks) + 1];
+        }
+        if (entryPoint < 0) {
+            entryPoint = node;
+            topLevel = level;
+            return;
+        }
+
+        int current = entryPoint;
+        float currentDistance = distance(vector, current);
+        for (int l = topLevel; l > level; l--) {
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                int[] neighbors = links[current][l];
+                for (int i = 1; i <= neighbors[0]; i++) {
+                    float d = distance(vector, neighbors[i]);
+                    if (d < currentDistance) {
+                        currentDistance = d;
+                        current = neighbors[i];
+                        changed = true;
+                    }
+                }
+            }
+        }
+
+        for (int l = Math.min(level, topLevel); l >= 0; l--) {
+            LongHeap candidates = searchLayer(vector, current, efConstruction, l, null, false);
+            long[] sorted = candidates.drainAscending();
+            int cap = l == 0 ? maxLinksLevel0 : maxLinks;
+            int[] selected = selectNeighbors(sorted, maxLinks);
+            int[] own = links[node][l];
+            for (int neighbor : selected) {
+                own[++own[0]] = neighbor;
+                connect(neighbor, node, l, cap);
+            }
+            // 다음 층은 이번 층에서 가장 가까운 노드에서 시작한다
+            current = (int) sorted[0];
+        }
+        if (level > topLevel) {
+            topLevel = level;
+            entryPoint = node;
+        }
+    }
+
+    // from의 l층 이웃에 to를 더하고, 넘치면 from 기준으로 다시 고른다
+    private void connect(int from, int to, int level, int cap) {
+        int[] neighbors = links[from][level];
+        if (neighbors[0] < cap) {
+            neighbors[++neighbors[0]] = to;
+            return;
+        }
+        LongHeap candidates = new LongHeap(cap + 1);
+        for (int i = 1; i <= neighbors[0]; i++) {
+            candidates.add(-key(distance(from, neighbors[i]), neighbors[i]));
+        }
+        candidates.add(-key(distance(from, to), to));
+        int[] selected = selectNeighbors(candidates.drainAscending(), cap);
+        neighbors[0] = selected.length;
+        System.arraycopy(selected, 0, neighbors, 1, selected.length);
+    }
+
+    /**
+     * 이웃 선택 휴리스틱: 가까운 순으로 보되, 이미 고른 이웃보다 기준점에 더 가까운 후보만 고른다.
+     * 방향이 겹치는 이웃을 줄여 그래프가 멀리 뻗게 하고, 자리가 남으면 버린 후보로 채운다.
+     */
+    private int[] selectNeighbors(long[] sortedCandidates, int count) {
+        int[] selected = new int[Math.min(count, sortedCandidates.length)];
+        int size = 0;
+        boolean[] taken = new boolean[sortedCandidates.length];
+        for (int i = 0; i < sortedCandidates.length && size < selected.length; i++) {
+            int candidate = (int) sortedCandidates[i];
+            float candidateDistance = Float.intBitsToFloat((int) (sortedCandidates[i] >>> 32));
+            boolean diverse = true;
+            for (int j = 0; j < size; j++) {
+                if (distance(candidate, selected[j]) < candidateDistance) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected[size++] = candidate;
+                taken[i] = true;
+            }
+        }
+        for (int i = 0; i < sortedCandidates.length && size < selected.length; i++) {
+            if (!taken[i]) {
+                selected[size++] = (int) sortedCandidates[i];
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * 한 층에서 ef개 후보를 찾는다. 반환하는 힙은 최대 힙(루트 = 가장 먼 결과)으로 음수 key를 담는다.
+     *
+     * @param liveOnly true면 삭제된 노드와 filter를 통과하지 못한 노드는 결과에 넣지 않는다 (탐색 경로로는 쓴다)
+     */
+    private LongHeap searchLayer(float[] query, int entry, int ef, int level, IntPredicate filter, boolean liveOnly) {
+        Visited seen = visited.get();
+        seen.reset(nodeCount);
+        LongHeap candidates = new LongHeap(ef * 2);
+        LongHeap results = new LongHeap(ef + 1);
+
+        float entryDistance = distance(query, entry);
+        candidates.add(key(entryDistance, entry));
+        seen.mark(entry);
+        if (!liveOnly || accepts(entry, filter)) {
+            results.add(-key(entryDistance, entry));
+        }
+
+        while (candidates.size() > 0) {
+            long closest = candidates.poll();
+            float closestDistance = Float.intBitsToFloat((int) (closest >>> 32));
+            if (results.size() >= ef && closestDistance > furthest(results)) {
+                break;
+            }
+            int[] neighbors = links[(int) closest][level];
+            for (int i = 1; i <= neighbors[0]; i++) {
+                int neighbor = neighbors[i];
+                if (!seen.mark(neighbor)) {
+                    continue;
+                }
+                float d = distance(query, neighbor);
+                if (results.size() < ef || d < furthest(results)) {
+                    candidates.add(key(d, neighbor));
+                    if (!liveOnly || accepts(neighbor, filter)) {
+                        results.add(-key(d, neighbor));
+                        if (results.size() > ef) {
+                            results.poll();
+                        }
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private boolean accepts(int node, IntPredicate filter) {
+        return !deleted.get(node) && (filter == null || filter.test(ids[node]));
+    }
+
+    private void markDeleted(int id) {
+        Integer node = nodeById.remove(id);
+        if (node != null) {
+            deleted.set(node);
+            deletedCount++;
+        }
+    }
+
+    private List<Neighbor> toNeighbors(LongHeap maxHeap) {
+        long[] keys = new long[maxHeap.size()];
+        for (int i = keys.length - 1; i >= 0; i--) {
+            keys[i] = -maxHeap.poll();
+        }
+        List<Neighbor> neighbors = new ArrayList<>(keys.length);
+        for (long key : keys) {
+            int node = (int) key;
+            neighbors.add(new Neighbor(ids[node], Float.intBitsToFloat((int) (key >>> 32))));
+        }
+        return neighbors;
+    }
+
+    private static float furthest(LongHeap maxHeap) {
+        return Float.intBitsToFloat((int) (-maxHeap.peek() >>> 32));
+    }
+
+    /**
+     * 음이 아닌 float의 비트 순서는 값 순서와 같으므로 (거리, 노드)를 long 하나로 묶어 정렬한다
+     */
+    private static long key(float distance, int node) {
+        return ((long) Float.floatToIntBits(distance) << 32) | node;
+    }
+
+    private float distance(float[] query, int node) {
+        int offset = node * dimension;
+        float sum = 0f;
+        for (int i = 0; i < dimension; i++) {
+            float diff = query[i] - vectors[offset + i];
+            sum += diff * diff;
+        }
+        return sum;
+    }
+
+    private float distance(int a, int b) {
+        int offsetA = a * dimension;
+        int offsetB = b * dimension;
+        float sum = 0f;
+        for (int i = 0; i < dimension; i++) {
+            float diff = vectors[offsetA + i] - vectors[offsetB + i];
+            sum += diff * diff;
+        }
+        return sum;
+    }
+
+    private void ensureCapacity(int nodes) {
+        if (nodes <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(nodes, ids.length * 2);
+        vectors = Arrays.copyOf(vectors, capacity * dimension);
+        ids = Arrays.copyOf(ids, capacity);
+        links = Arrays.copyOf(links, capacity);
+    }
+
+    /**
+     * 방문 표시. 검색마다 배열을 새로 만들지 않도록 스레드별로 두고 세대 번호로 초기화한다.
+     */
+    private static final class Visited {
+        private int[] marks = new int[0];
+        private int generation;
+
+        void reset(int size) {
+            if (marks.length < size) {
+                marks = new int[Math.max(size, marks.length * 2)];
+                generation = 0;
+            }
+            if (++generation == 0) {
+                Arrays.fill(marks, 0);
+                generation = 1;
+            }
+        }
+
+        // 처음 방문이면 true
+        boolean mark(int node) {
+            if (marks[node] == generation) {
+                return false;
+            }
+            marks[node] = generation;
+            return true;
+        }
+    }
+
+    /**
+     * long 최소 힙 (최대 힙이 필요하면 음수로 넣는다)
+     */
+    private static final class LongHeap {
+        private long[] heap;
+        private int size;
+
+        LongHeap(int capacity) {
+            heap = new long[Math.max(capacity, 4)];
+        }
+
+        int size() {
+            return size;
+        }
+
+        long peek() {
+            return heap[0];
+        }
+
+        void add(long value) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+            }
+            int index = size++;
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (heap[parent] <= value) {
+                    break;
+                }
+                heap[index] = heap[parent];
+                index = parent;
+            }
+            heap[index] = value;
+        }
+
+        long poll() {
+            long top = heap[0];
+            long last = heap[--size];
+            int index = 0;
+            while (true) {
+                int child = index * 2 + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (last <= heap[child]) {
+                    break;
+                }
+                heap[index] = heap[child];
+                index = child;
+            }
+            if (size > 0) {
+                heap[index] = last;
+            }
+            return top;
+        }
+
+        // 최대 힙(음수 key)을 거리 오름차순 key 배열로 비운다
+        long[] drainAscending() {
+            long[] sorted = new long[size];
+            for (int i = sorted.length - 1; i >= 0; i--) {
+                sorted[i] = -poll();
+            }
+            return sorted;
+        }
+    }
+}
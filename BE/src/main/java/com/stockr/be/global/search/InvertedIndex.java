@@ -0,0 +1,298 @@
+package com.stockr.be.global.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * {@link BigramTokenizer} term 기반 인메모리 역색인.
+ * 문서는 내부 번호(추가 순서)로 관리하고, 각 term의 posting은 내부 번호 오름차순으로만 덧붙인다.
+ * 수정은 기존 번호를 삭제 표시한 뒤 새 번호로 다시 넣고, 삭제된 문서가 많아지면 posting을 압축한다.
+ * 검색은 모든 query term을 포함하는 문서(AND)를 tf-idf로 정렬하고, 동점이면 recency가 큰 문서가 앞선다.
+ * 정렬은 요청한 페이지까지의 상위 문서만 힙으로 골라 한다.
+ *
+ * @param <K> 문서 키 (게시글 ID 등)
+ */
+public class InvertedIndex<K> {
+
+    /**
+     * 검색 결과 한 페이지와 전체 일치 문서 수
+     */
+    public record Result<K>(List<K> keys, int total) {
+    }
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int COMPACT_THRESHOLD = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Postings> postings = new HashMap<>();
+    private final Map<K, Integer> liveDocs = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private List<K> keys = new ArrayList<>();
+    private long[] recency = new long[256];
+    private int deletedCount;
+
+    /**
+     * 문서를 추가하거나 교체한다. title의 term은 TITLE_WEIGHT배로 가중된다.
+     */
+    public void put(K key, long recencyValue, CharSequence title, CharSequence body) {
+        Map<Integer, int[]> frequencies = new HashMap<>();
+        BigramTokenizer.forEachIndexTerm(title, term -> frequencies.computeIfAbsent(term, t -> new int[1])[0] += TITLE_WEIGHT);
+        BigramTokenizer.forEachIndexTerm(body, term -> frequencies.computeIfAbsent(term, t -> new int[1])[0]++);
+
+        lock.writeLock().lock();
+        try {
+            markDeleted(key);
+            int doc = keys.size();
+            keys.add(key);
+            if (doc == recency.length) {
+                recency = Arrays.copyOf(recency, doc * 2);
+            }
+            recency[doc] = recencyValue;
+            liveDocs.put(key, doc);
+            frequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, t -> new Postings()).add(doc, frequency[0]));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(K key) {
+        lock.writeLock().lock();
+        try {
+            markDeleted(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Result<K> search(String query, int offset, int limit) {
+        return search(query, null, offset, limit);
+    }
+
+    /**
+     * @param filter 순위 매기기 전에 적용할 문서 조건, null이면 전체 (전체 개수도 조건을 통과한 문서 기준)
+     */
+    public Result<K> search(String query, Predicate<K> filter, int offset, int limit) {
+        int[] terms = queryTerms(query);
+        if (terms.length == 0) {
+            return new Result<>(List.of(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            Postings[] lists = new Postings[terms.length];
+            for (int i = 0; i < terms.length; i++) {
+                lists[i] = postings.get(terms[i]);
+                if (lists[i] == null) {
+                    return new Result<>(List.of(), 0);
+                }
+            }
+            // 짧은 posting부터 교집합을 구해 후보를 빠르게 줄인다
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+            int liveCount = liveDocs.size();
+            int[] candidates = Arrays.copyOf(lists[0].docs, lists[0].size);
+            double[] scores = new double[candidates.length];
+            int count = accumulate(candidates, scores, candidates.length, lists[0], liveCount, true);
+            for (int i = 1; i < lists.length && count > 0; i++) {
+                count = accumulate(candidates, scores, count, lists[i], liveCount, false);
+            }
+
+            // 페이지에 필요한 앞쪽 offset+limit개만 최소 힙(가장 뒤 순위가 루트)에 남기고, 그것만 정렬한다
+            int wanted = (int) Math.min(count, Math.max(0L, (long) offset + limit));
+            int[] heap = new int[wanted];
+            int heapSize = 0;
+            int live = 0;
+            for (int i = 0; i < count; i++) {
+                if (deleted.get(candidates[i]) || (filter != null && !filter.test(keys.get(candidates[i])))) {
+                    continue;
+                }
+                live++;
+                if (heapSize < wanted) {
+                    heap[heapSize] = i;
+                    siftUp(heap, heapSize++, candidates, scores);
+                } else if (wanted > 0 && ranksBefore(i, heap[0], candidates, scores)) {
+                    heap[0] = i;
+                    siftDown(heap, heapSize, candidates, scores);
+                }
+            }
+            // 루트(가장 뒤 순위)를 하나씩 꺼내 뒤에서부터 채우면 순위 순서가 된다
+            for (int end = heapSize - 1; end > 0; end--) {
+                int last = heap[0];
+                heap[0] = heap[end];
+                heap[end] = last;
+                siftDown(heap, end, candidates, scores);
+            }
+
+            List<K> page = new ArrayList<>(Math.max(0, heapSize - offset));
+            for (int i = offset; i < heapSize; i++) {
+                page.add(keys.get(candidates[heap[i]]));
+            }
+            return new Result<>(page, live);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 후보(내부 번호 오름차순)와 posting을 병합하며 점수를 더한다. 양쪽에 모두 있는 후보만 남긴다.
+     */
+    private static int accumulate(int[] candidates, double[] scores, int count, Postings list, int liveCount,
+            boolean first) {
+        double idf = Math.log(1 + (double) liveCount / list.size);
+        int kept = 0;
+        int j = 0;
+        for (int i = 0; i < count; i++) {
+            int doc = candidates[i];
+            if (!first) {
+                while (j < list.size && list.docs[j] < doc) {
+                    j++;
+                }
+                if (j == list.size || list.docs[j] != doc) {
+                    continue;
+                }
+            } else {
+                j = i;
+            }
+            candidates[kept] = doc;
+            scores[kept] = scores[i] + (1 + Math.log(list.frequencies[j])) * idf;
+            kept++;
+        }
+        return kept;
+    }
+
+    // 점수가 높을수록, 같으면 recency가 클수록, 그래도 같으면 먼저 넣은 문서가 앞 순위다
+    private boolean ranksBefore(int a, int b, int[] candidates, double[] scores) {
+        int byScore = Double.compare(scores[a], scores[b]);
+        if (byScore != 0) {
+            return byScore > 0;
+        }
+        int byRecency = Long.compare(recency[candidates[a]], recency[candidates[b]]);
+        return byRecency != 0 ? byRecency > 0 : a < b;
+    }
+
+    private void siftUp(int[] heap, int index, int[] candidates, double[] scores) {
+        int entry = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!ranksBefore(heap[parent], entry, candidates, scores)) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = entry;
+    }
+
+    private void siftDown(int[] heap, int size, int[] candidates, double[] scores) {
+        int entry = heap[0];
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && ranksBefore(heap[child], heap[child + 1], candidates, scores)) {
+                child++;
+            }
+            if (!ranksBefore(entry, heap[child], candidates, scores)) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = entry;
+    }
+
+    private static int[] queryTerms(String query) {
+        int[][] buffer = {new int[8]};
+        int[] size = {0};
+        BigramTokenizer.forEachQueryTerm(query, term -> {
+            if (size[0] == buffer[0].length) {
+                buffer[0] = Arrays.copyOf(buffer[0], size[0] * 2);
+            }
+            buffer[0][size[0]++] = term;
+        });
+        return Arrays.stream(buffer[0], 0, size[0]).distinct().toArray();
+    }
+
+    private void markDeleted(K key) {
+        Integer previous = liveDocs.remove(key);
+        if (previous == null) {
+            return;
+        }
+        deleted.set(previous);
+        deletedCount++;
+        if (deletedCount >= COMPACT_THRESHOLD && deletedCount > liveDocs.size()) {
+            compact();
+        }
+    }
+
+    // 삭제 표시된 문서를 posting에서 걷어내고 내부 번호를 다시 매긴다
+    private void compact() {
+        int[] remap = new int[keys.size()];
+        List<K> compactedKeys = new ArrayList<>(liveDocs.size());
+        long[] compactedRecency = new long[Math.max(256, liveDocs.size() * 2)];
+        for (int doc = 0; doc < keys.size(); doc++) {
+            if (deleted.get(doc)) {
+                remap[doc] = -1;
+                continue;
+            }
+            remap[doc] = compactedKeys.size();
+            compactedRecency[compactedKeys.size()] = recency[doc];
+            compactedKeys.add(keys.get(doc));
+            liveDocs.put(keys.get(doc), remap[doc]);
+        }
+        postings.values().removeIf(list -> list.remap(remap) == 0);
+        keys = compactedKeys;
+        recency = compactedRecency;
+        deleted.clear();
+        deletedCount = 0;
+    }
+
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        void add(int doc, int frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = doc;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        int remap(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    docs[kept] = doc;
+                    frequencies[kept] = frequencies[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            return kept;
+        }
+    }
+}
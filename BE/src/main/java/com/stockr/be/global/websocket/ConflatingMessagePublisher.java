@@ -0,0 +1,108 @@
+package com.stockr.be.global.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 실시간 시세 STOMP 발행 병합기.
+ * destination마다 가장 최근 스냅샷 하나만 보관하고, 설정된 주기(realtime.publish.interval-ms)마다 한 번씩 내보낸다.
+ * 스냅샷은 한 번만 JSON 바이트로 직렬화되어 모든 구독자에게 같은 payload로 전달된다.
+ * 토픽별(price, orderbook 등) 발행/병합/유실 건수는 realtime.publish.messages 메트릭으로 노출된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ConflatingMessagePublisher {
+
+    private static final String TOPIC_PREFIX = "/topic/";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Object> pending = new ConcurrentHashMap<>();
+    private final Map<String, TopicCounters> counters = new ConcurrentHashMap<>();
+
+    /**
+     * 발행할 스냅샷을 등록한다. 아직 내보내지 않은 이전 스냅샷이 있으면 덮어쓴다(병합).
+     */
+    public void publish(String destination, Object payload) {
+        Object previous = pending.put(destination, payload);
+        if (previous != null) {
+            countersOf(destination).conflated.increment();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${realtime.publish.interval-ms:100}")
+    public void flush() {
+        for (String destination : pending.keySet()) {
+            Object snapshot = pending.remove(destination);
+            if (snapshot == null) {
+                continue;
+            }
+            TopicCounters topicCounters = countersOf(destination);
+            try {
+                byte[] body = objectMapper.writeValueAsBytes(snapshot);
+                messagingTemplate.send(destination, MessageBuilder.createMessage(body, jsonHeaders().getMessageHeaders()));
+                topicCounters.published.increment();
+            } catch (Exception e) {
+                topicCounters.dropped.increment();
+                log.warn("Failed to publish snapshot to {}: {}", destination, e.getMessage());
+            }
+        }
+    }
+
+    private SimpMessageHeaderAccessor jsonHeaders() {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        // SimpMessagingTemplate이 destination 헤더를 채울 수 있도록 변경 가능 상태로 둔다
+        accessor.setLeaveMutable(true);
+        return accessor;
+    }
+
+    private TopicCounters countersOf(String destination) {
+        return counters.computeIfAbsent(topicOf(destination), topic -> new TopicCounters(meterRegistry, topic));
+    }
+
+    // "/topic/price/005930" -> "price"
+    private static String topicOf(String destination) {
+        if (!destination.startsWith(TOPIC_PREFIX)) {
+            return destination;
+        }
+        int end = destination.indexOf('/', TOPIC_PREFIX.length());
+        return end < 0 ? destination.substring(TOPIC_PREFIX.length())
+                : destination.substring(TOPIC_PREFIX.length(), end);
+    }
+
+    private static final class TopicCounters {
+        private final Counter published;
+        private final Counter conflated;
+        private final Counter dropped;
+
+        private TopicCounters(MeterRegistry registry, String topic) {
+            this.published = counter(registry, topic, "published");
+            this.conflated = counter(registry, topic, "conflated");
+            this.dropped = counter(registry, topic, "dropped");
+        }
+
+        private static Counter counter(MeterRegistry registry, String topic, String result) {
+            return Counter.builder("realtime.publish.messages")
+                    .tag("topic", topic)
+                    .tag("result", result)
+                    .register(registry);
+        }
+    }
+}
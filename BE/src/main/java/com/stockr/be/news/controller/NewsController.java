@@ -1,10 +1,14 @@
 package com.stockr.be.news.controller;
 
+import com.stockr.be.global.common.CursorPage;
 import com.stockr.be.news.dto.NewsResponseDto;
 import com.stockr.be.news.service.NewsService;
 import com.stockr.be.news.service.NewsCrawlingScheduler;
+import com.stockr.be.news.service.NewsIngestionJob;
+import com.stockr.be.news.service.NewsIngestionService;
 import com.stockr.be.user.domain.User;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
@@ -20,12 +24,22 @@ public class NewsController {
 
     private final NewsService newsService;
     private final NewsCrawlingScheduler newsScheduler;  // ✅ 크롤러 주입
+    private final NewsIngestionService newsIngestionService;
 
     @GetMapping
     public List<NewsResponseDto> getAllNews() {
         return newsService.getAllNews();
     }
 
+    // 커서 기반 무한 스크롤 - 응답의 nextCursor를 다음 요청의 cursor로 넘긴다
+    @GetMapping("/scroll")
+    public CursorPage<NewsResponseDto> scrollNews(@RequestParam(required = false) String type,
+                                                  @RequestParam(required = false) String stockCode,
+                                                  @RequestParam(required = false) String cursor,
+                                                  @RequestParam(required = false) Integer size) {
+        return newsService.scrollNews(type, stockCode, cursor, CursorPage.clampSize(size));
+    }
+
     @GetMapping("/main")
     public List<NewsResponseDto> getMainNews() {
         return newsService.getMainNews();
@@ -41,10 +55,25 @@ public class NewsController {
         return newsService.searchNewsByKeyword(keyword);
     }
 
-    // ✅ 수동 크롤링 실행 API
+    @GetMapping("/search/scroll")
+    public CursorPage<NewsResponseDto> searchNews(@RequestParam String keyword,
+                                                  @RequestParam(required = false) String type,
+                                                  @RequestParam(required = false) String stockCode,
+                                                  @RequestParam(required = false) String sentiment,
+                                                  @RequestParam(required = false) String cursor,
+                                                  @RequestParam(required = false) Integer size) {
+        return newsService.searchNews(keyword, type, stockCode, sentiment, cursor, CursorPage.clampSize(size));
+    }
+
+    // ✅ 수동 크롤링 실행 API - 작업 ID를 바로 돌려주고 수집은 백그라운드에서 진행
     @PostMapping("/crawl")
-    public String crawlNow() {
-        newsScheduler.runCrawler();  // 수동으로 크롤러 실행
-        return "🕒 크롤러 실행 요청됨!";
+    public ResponseEntity<NewsIngestionJob> crawlNow() {
+        return ResponseEntity.accepted().body(newsScheduler.runCrawler());
+    }
+
+    @GetMapping("/crawl/{jobId}")
+    public ResponseEntity<NewsIngestionJob> getCrawlJob(@PathVariable String jobId) {
+        NewsIngestionJob job = newsIngestionService.getJob(jobId);
+        return job == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(job);
     }
 }
@@ -28,6 +28,9 @@ public class News {
     private List<String> category; // 뉴스 카테고리 목록
     private String url;          // 뉴스 URL
 
+    @Field("url_hash")
+    private String urlHash;      // 기사 식별자(언론사/기사 번호) 해시 - 수집 중복 제거용
+
     @Field("thumbnail_url")  // MongoDB의 thumbnail_url 필드와 매핑
     private String thumbnailUrl; // 뉴스 썸네일 이미지 URL
 
@@ -0,0 +1,120 @@
+package com.stockr.be.news.service;
+
+import com.stockr.be.news.domain.News;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 네이버 금융 뉴스 목록/기사 페이지 파싱 (crawler/better-news-crawler.py와 같은 선택자).
+ */
+final class NaverNewsParser {
+
+    private static final DateTimeFormatter PUBLISHED_AT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final Pattern SCRIPT_REDIRECT = Pattern.compile("location\\.href\\s*=\\s*['\"]([^'\"]+)['\"]");
+    private static final Pattern OFFICE_ID = Pattern.compile("[?&](?:office_id|oid)=(\\d+)");
+    private static final Pattern ARTICLE_ID = Pattern.compile("[?&](?:article_id|aid)=(\\d+)");
+    private static final Pattern ARTICLE_PATH = Pattern.compile("/article/(\\d+)/(\\d+)");
+
+    private NaverNewsParser() {
+    }
+
+    static List<String> mainNewsLinks(Document document) {
+        return links(document, ".articleSubject a");
+    }
+
+    static List<String> stockNewsLinks(Document document) {
+        return links(document, "td.title > a");
+    }
+
+    /**
+     * 중간 리다이렉트 페이지(news_read.naver)면 스크립트의 실제 기사 URL, 아니면 null
+     */
+    static String scriptRedirect(Document document) {
+        for (Element script : document.select("script")) {
+            Matcher matcher = SCRIPT_REDIRECT.matcher(script.data());
+            if (matcher.find()) {
+                return matcher.group(1);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return 기사, 필수 요소(제목/본문/언론사/발행일시)가 없으면 null
+     */
+    static News article(Document document, String url, String type, String stockCode, String stockName,
+            LocalDateTime crawledAt) {
+        Element title = document.selectFirst("#title_area span");
+        Element content = document.selectFirst("#dic_area");
+        Element source = document.selectFirst(".media_end_head_top_logo img");
+        Element datetime = document.selectFirst(".media_end_head_info_datestamp_time");
+        if (title == null || content == null || source == null || datetime == null
+                || datetime.attr("data-date-time").isEmpty()) {
+            return null;
+        }
+        List<String> category = document.select("em.media_end_categorize_item").eachText();
+        Element thumbnail = document.selectFirst("meta[property=og:image]");
+
+        return News.builder()
+                .title(title.text().strip())
+                .content(content.outerHtml())
+                .source(source.attr("alt").strip())
+                .category(category.isEmpty() ? List.of("미분류") : category)
+                .url(url)
+                .urlHash(urlHash(url))
+                .thumbnailUrl(thumbnail == null ? null : thumbnail.attr("content"))
+                .publishedAt(LocalDateTime.parse(datetime.attr("data-date-time"), PUBLISHED_AT_FORMAT))
+                .crawledAt(crawledAt)
+                .type(type)
+                .stockCode(stockCode)
+                .stockName(stockName)
+                .build();
+    }
+
+    /**
+     * 목록 링크(finance.naver.com/...news_read.naver?office_id=&article_id=)와
+     * 최종 기사 URL(n.news.naver.com/mnews/article/{office}/{article})이 같은 값을 갖도록
+     * 언론사/기사 번호로 해시한다. 번호를 찾지 못하면 URL 전체를 해시한다.
+     */
+    static String urlHash(String url) {
+        String key = url;
+        Matcher path = ARTICLE_PATH.matcher(url);
+        Matcher office = OFFICE_ID.matcher(url);
+        Matcher article = ARTICLE_ID.matcher(url);
+        if (path.find()) {
+            key = path.group(1) + "/" + path.group(2);
+        } else if (office.find() && article.find()) {
+            key = office.group(1) + "/" + article.group(1);
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<String> links(Document document, String selector) {
+        Set<String> links = new LinkedHashSet<>();
+        for (Element anchor : document.select(selector)) {
+            String href = anchor.absUrl("href");
+            if (!href.isEmpty()) {
+                links.add(href);
+            }
+        }
+        return new ArrayList<>(links);
+    }
+}
@@ -0,0 +1,132 @@
+package com.stockr.be.news.service;
+
+import com.stockr.be.news.domain.News;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 종목별 최신 뉴스 head를 메모리에 유지한다.
+ * 기동 시 종목마다 최신 HEAD_SIZE건을 읽고, 이후에는 새 뉴스가 들어올 때(또는 주기적으로)
+ * 마지막으로 본 crawled_at 이후 문서만 읽어 head에 합친다. 개인화 피드는 요청 시 DB를 조회하지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NewsFeedIndex {
+
+    private static final int HEAD_SIZE = 5;
+    private static final String STOCK_NEWS_TYPE = "stock";
+    private static final DateTimeFormatter CRAWLED_AT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final Comparator<News> LATEST_FIRST = Comparator
+            .comparing(News::getPublishedAt, Comparator.reverseOrder())
+            .thenComparing(News::getId, Comparator.reverseOrder());
+
+    private final MongoTemplate mongoTemplate;
+
+    // 종목코드 -> 최신순 head (교체만 하고 수정하지 않는 불변 리스트)
+    private final Map<String, List<News>> heads = new ConcurrentHashMap<>();
+    private LocalDateTime watermark;
+    private boolean built;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void build() {
+        List<String> stockCodes = mongoTemplate.findDistinct(new Query(stockNewsCriteria()), "stockCode",
+                News.class, String.class);
+        for (String stockCode : stockCodes) {
+            Query query = new Query(Criteria.where("type").is(STOCK_NEWS_TYPE)
+                    .and("stockCode").is(stockCode)
+                    .and("publishedAt").ne(null))
+                    .with(Sort.by(Sort.Direction.DESC, "publishedAt", "id"))
+                    .limit(HEAD_SIZE);
+            heads.put(stockCode, List.copyOf(mongoTemplate.find(query, News.class)));
+        }
+        News lastCrawled = mongoTemplate.findOne(new Query(Criteria.where("crawledAt").ne(null))
+                .with(Sort.by(Sort.Direction.DESC, "crawledAt")), News.class);
+        watermark = lastCrawled == null ? null : lastCrawled.getCrawledAt();
+        built = true;
+        log.info("News feed index built for {} stocks", heads.size());
+    }
+
+    @EventListener(NewsIngestedEvent.class)
+    public void onNewsIngested(NewsIngestedEvent event) {
+        log.debug("News ingested by {}, refreshing feed index", event.source());
+        refresh();
+    }
+
+    /**
+     * crawler가 직접 저장한 뉴스도 놓치지 않도록 주기적으로도 갱신한다
+     */
+    @Scheduled(fixedDelayString = "${news.feed.refresh-interval-ms:300000}",
+            initialDelayString = "${news.feed.refresh-interval-ms:300000}")
+    public synchronized void refresh() {
+        if (!built) {
+            return;
+        }
+        Query query = new Query(stockNewsCriteria());
+        if (watermark != null) {
+            // 같은 초에 저장된 문서가 있을 수 있어 경계를 포함하고 id로 중복을 거른다
+            query.addCriteria(Criteria.where("crawledAt").gte(watermark.format(CRAWLED_AT_FORMAT)));
+        }
+        List<News> fresh = mongoTemplate.find(query, News.class);
+        for (News news : fresh) {
+            heads.compute(news.getStockCode(), (stockCode, head) -> merge(head, news));
+            if (news.getCrawledAt() != null && (watermark == null || news.getCrawledAt().isAfter(watermark))) {
+                watermark = news.getCrawledAt();
+            }
+        }
+    }
+
+    /**
+     * 관심 종목 순서대로 종목별 최신 뉴스 한 건씩, 최대 limit건
+     */
+    public List<News> latestFor(List<String> stockCodes, int limit) {
+        List<News> feed = new ArrayList<>(Math.min(stockCodes.size(), limit));
+        for (String stockCode : stockCodes) {
+            if (feed.size() == limit) {
+                break;
+            }
+            List<News> head = heads.get(stockCode);
+            if (head != null && !head.isEmpty()) {
+                feed.add(head.get(0));
+            }
+        }
+        return feed;
+    }
+
+    private static List<News> merge(List<News> head, News news) {
+        List<News> merged = new ArrayList<>(HEAD_SIZE + 1);
+        if (head != null) {
+            for (News existing : head) {
+                if (!Objects.equals(existing.getId(), news.getId())) {
+                    merged.add(existing);
+                }
+            }
+        }
+        merged.add(news);
+        merged.sort(LATEST_FIRST);
+        return List.copyOf(merged.subList(0, Math.min(HEAD_SIZE, merged.size())));
+    }
+
+    private static Criteria stockNewsCriteria() {
+        return Criteria.where("type").is(STOCK_NEWS_TYPE)
+                .and("stockCode").ne(null)
+                .and("publishedAt").ne(null);
+    }
+}
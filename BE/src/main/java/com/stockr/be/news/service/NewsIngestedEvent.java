@@ -0,0 +1,10 @@
+package com.stockr.be.news.service;
+
+/**
+ * 새 뉴스가 news 컬렉션에 저장되었음을 알리는 이벤트.
+ * 뉴스 기반 인메모리 색인은 이 이벤트를 받으면 마지막으로 본 crawled_at 이후 문서만 다시 읽는다.
+ *
+ * @param source 저장 주체 (로그용)
+ */
+public record NewsIngestedEvent(String source) {
+}
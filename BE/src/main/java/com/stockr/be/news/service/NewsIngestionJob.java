@@ -0,0 +1,43 @@
+package com.stockr.be.news.service;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 뉴스 수집 작업 한 건의 진행 상태. 수집 스레드가 갱신하고 조회 API가 그대로 직렬화한다.
+ */
+@Getter
+public class NewsIngestionJob {
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    private final String id;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private volatile Status status = Status.RUNNING;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+    private final AtomicInteger discovered = new AtomicInteger();  // 목록에서 찾은 링크
+    private final AtomicInteger duplicates = new AtomicInteger();  // 이미 저장된 기사라 건너뛴 링크
+    private final AtomicInteger failed = new AtomicInteger();      // 가져오기/파싱 실패
+    private final AtomicInteger saved = new AtomicInteger();       // 새로 저장한 기사
+    private final AtomicInteger analyzed = new AtomicInteger();    // 감정 분석 결과를 채운 기사 (이전 작업에서 남은 것 포함)
+
+    NewsIngestionJob(String id) {
+        this.id = id;
+    }
+
+    void complete() {
+        finishedAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+
+    void fail(Exception e) {
+        finishedAt = LocalDateTime.now();
+        error = e.getMessage();
+        status = Status.FAILED;
+    }
+}
@@ -0,0 +1,330 @@
+package com.stockr.be.news.service;
+
+import com.stockr.be.domain.stock.entity.Stock;
+import com.stockr.be.domain.stock.repository.StockRepository;
+import com.stockr.be.news.domain.News;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.jsoup.Jsoup;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 네이버 금융 뉴스 수집기 (기존 python crawler 프로세스 실행 대체).
+ * 수집은 별도 작업 스레드에서 돌고 호출자는 작업 ID만 받는다. 페이지 요청은 크기가 고정된 풀에서 병렬로 보내고,
+ * 기사 링크는 언론사/기사 번호 해시로 이미 저장된 것을 먼저 걸러낸 뒤에만 가져온다.
+ * 저장은 해시 기준 upsert를 batch-size 단위 bulk write로 보낸다.
+ * 저장을 마치면 {@link NewsSentimentAnnotator}로 아직 감정 분석이 안 된 종목 뉴스를 분석한 뒤 색인 갱신 이벤트를 낸다.
+ */
+@Slf4j
+@Service
+public class NewsIngestionService {
+
+    private static final String USER_AGENT = "Mozilla/5.0 (compatible; StockrNewsBot/1.0)";
+    private static final int MAX_JOB_HISTORY = 20;
+
+    private final MongoTemplate mongoTemplate;
+    private final StockRepository stockRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NewsSentimentAnnotator sentimentAnnotator;
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final Duration requestTimeout;
+    private final int mainLinks;
+    private final int stockPages;
+    private final int linksPerPage;
+    private final int batchSize;
+    private final ExecutorService jobExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "news-ingestion");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ThreadPoolExecutor fetchPool;
+    private final Map<String, NewsIngestionJob> jobs = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, NewsIngestionJob> eldest) {
+            return size() > MAX_JOB_HISTORY;
+        }
+    };
+    private NewsIngestionJob runningJob;
+
+    public NewsIngestionService(MongoTemplate mongoTemplate,
+            StockRepository stockRepository,
+            ApplicationEventPublisher eventPublisher,
+            NewsSentimentAnnotator sentimentAnnotator,
+            @Value("${news.ingest.base-url:https://finance.naver.com}") String baseUrl,
+            @Value("${news.ingest.fetch-threads:8}") int fetchThreads,
+            @Value("${news.ingest.request-timeout:10s}") Duration requestTimeout,
+            @Value("${news.ingest.main-links:5}") int mainLinks,
+            @Value("${news.ingest.stock-pages:1}") int stockPages,
+            @Value("${news.ingest.links-per-page:3}") int linksPerPage,
+            @Value("${news.ingest.batch-size:100}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.stockRepository = stockRepository;
+        this.eventPublisher = eventPublisher;
+        this.sentimentAnnotator = sentimentAnnotator;
+        this.baseUrl = baseUrl;
+        this.requestTimeout = requestTimeout;
+        this.mainLinks = mainLinks;
+        this.stockPages = stockPages;
+        this.linksPerPage = linksPerPage;
+        this.batchSize = batchSize;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(requestTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        // 대기열이 차면 제출한 스레드가 직접 실행해 요청 속도를 자연스럽게 늦춘다
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.fetchPool = new ThreadPoolExecutor(fetchThreads, fetchThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fetchThreads * 4), runnable -> {
+                    Thread thread = new Thread(runnable, "news-fetch-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void stop() {
+        jobExecutor.shutdownNow();
+        fetchPool.shutdownNow();
+    }
+
+    /**
+     * 수집 작업을 시작하고 바로 반환한다. 이미 돌고 있는 작업이 있으면 그 작업을 돌려준다.
+     */
+    public synchronized NewsIngestionJob start() {
+        if (runningJob != null && runningJob.getStatus() == NewsIngestionJob.Status.RUNNING) {
+            return runningJob;
+        }
+        NewsIngestionJob job = new NewsIngestionJob(UUID.randomUUID().toString());
+        jobs.put(job.getId(), job);
+        runningJob = job;
+        jobExecutor.execute(() -> run(job));
+        return job;
+    }
+
+    public synchronized NewsIngestionJob getJob(String jobId) {
+        return jobs.get(jobId);
+    }
+
+    private void run(NewsIngestionJob job) {
+        log.info("News ingestion {} started", job.getId());
+        try {
+            LocalDateTime crawledAt = LocalDateTime.now().withNano(0);
+            List<Link> links = discoverLinks(job);
+            List<CompletableFuture<News>> articles = links.stream()
+                    .map(link -> CompletableFuture.supplyAsync(() -> fetchArticle(link, crawledAt, job), fetchPool))
+                    .collect(Collectors.toList());
+
+            List<News> batch = new ArrayList<>(batchSize);
+            for (CompletableFuture<News> article : articles) {
+                News news = article.join();
+                if (news != null) {
+                    batch.add(news);
+                }
+                if (batch.size() == batchSize) {
+                    upsert(batch, job);
+                    batch.clear();
+                }
+            }
+            upsert(batch, job);
+            // 색인이 sentiment까지 읽도록 갱신 이벤트보다 먼저 분석한다
+            job.getAnalyzed().addAndGet(sentimentAnnotator.annotatePending());
+            job.complete();
+            log.info("News ingestion {} completed: {} links, {} duplicates, {} saved, {} failed, {} analyzed",
+                    job.getId(), job.getDiscovered().get(), job.getDuplicates().get(), job.getSaved().get(),
+                    job.getFailed().get(), job.getAnalyzed().get());
+        } catch (Exception e) {
+            job.fail(e);
+            log.error("News ingestion {} failed", job.getId(), e);
+        } finally {
+            if (job.getSaved().get() > 0) {
+                eventPublisher.publishEvent(new NewsIngestedEvent("news-ingestion"));
+            }
+        }
+    }
+
+    /**
+     * 주요 뉴스와 종목별 뉴스 목록을 병렬로 읽어 아직 저장되지 않은 기사 링크만 모은다.
+     * 종목 목록은 최신순이므로, 한 페이지의 링크가 모두 이미 저장된 것이면 그 종목은 더 넘기지 않는다.
+     */
+    private List<Link> discoverLinks(NewsIngestionJob job) {
+        List<CompletableFuture<List<Link>>> lists = new ArrayList<>();
+        lists.add(CompletableFuture.supplyAsync(() -> mainNewsLinks(job), fetchPool));
+        for (Stock stock : stockRepository.findAll()) {
+            lists.add(CompletableFuture.supplyAsync(() -> stockNewsLinks(stock, job), fetchPool));
+        }
+
+        Map<String, Link> unique = new LinkedHashMap<>();
+        for (CompletableFuture<List<Link>> list : lists) {
+            for (Link link : list.join()) {
+                unique.putIfAbsent(link.hash(), link);
+            }
+        }
+        return new ArrayList<>(unique.values());
+    }
+
+    private List<Link> mainNewsLinks(NewsIngestionJob job) {
+        String listUrl = baseUrl + "/news/mainnews.naver";
+        try {
+            List<String> urls = NaverNewsParser.mainNewsLinks(fetch(listUrl, null));
+            return newLinks(urls.subList(0, Math.min(mainLinks, urls.size())), "main", null, job);
+        } catch (IOException e) {
+            log.warn("Failed to read main news list: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    private List<Link> stockNewsLinks(Stock stock, NewsIngestionJob job) {
+        List<Link> links = new ArrayList<>();
+        String referer = baseUrl + "/item/news.naver?code=" + stock.getTicker();
+        for (int page = 1; page <= stockPages; page++) {
+            // 종목 뉴스 페이지의 iframe(news_frame) 내용을 직접 요청한다
+            String listUrl = baseUrl + "/item/news_news.naver?code=" + stock.getTicker()
+                    + "&page=" + page;
+            try {
+                List<String> urls = NaverNewsParser.stockNewsLinks(fetch(listUrl, referer));
+                if (urls.isEmpty()) {
+                    break;
+                }
+                List<Link> fresh = newLinks(urls.subList(0, Math.min(linksPerPage, urls.size())), "stock", stock, job);
+                if (fresh.isEmpty()) {
+                    break;
+                }
+                links.addAll(fresh);
+            } catch (IOException e) {
+                log.warn("Failed to read news list of {} page {}: {}", stock.getTicker(), page, e.getMessage());
+                break;
+            }
+        }
+        return links;
+    }
+
+    // 이미 저장된 기사(해시)는 요청하기 전에 걸러낸다
+    private List<Link> newLinks(List<String> urls, String type, Stock stock, NewsIngestionJob job) {
+        job.getDiscovered().addAndGet(urls.size());
+        Map<String, String> urlByHash = new LinkedHashMap<>();
+        urls.forEach(url -> urlByHash.putIfAbsent(NaverNewsParser.urlHash(url), url));
+
+        Query query = new Query(Criteria.where("urlHash").in(urlByHash.keySet()));
+        query.fields().include("urlHash");
+        Set<String> known = new HashSet<>();
+        mongoTemplate.find(query, News.class).forEach(news -> known.add(news.getUrlHash()));
+        job.getDuplicates().addAndGet(urls.size() - urlByHash.size() + known.size());
+
+        List<Link> links = new ArrayList<>();
+        urlByHash.forEach((hash, url) -> {
+            if (!known.contains(hash)) {
+                links.add(new Link(url, hash, type, stock == null ? null : stock.getTicker(),
+                        stock == null ? null : stock.getName()));
+            }
+        });
+        return links;
+    }
+
+    private News fetchArticle(Link link, LocalDateTime crawledAt, NewsIngestionJob job) {
+        try {
+            String url = link.url();
+            org.jsoup.nodes.Document document = fetch(url, null);
+            String redirect = NaverNewsParser.scriptRedirect(document);
+            if (document.location().contains("news_read.naver") && redirect != null) {
+                document = fetch(redirect, null);
+            }
+            String finalUrl = document.location();
+            // 정책에 따라 스포츠 기사는 수집하지 않는다
+            if (finalUrl.contains("m.sports.naver.com")) {
+                return null;
+            }
+            News news = NaverNewsParser.article(document, finalUrl, link.type(), link.stockCode(), link.stockName(),
+                    crawledAt);
+            if (news == null) {
+                job.getFailed().incrementAndGet();
+                log.debug("Skipping article without required elements: {}", finalUrl);
+            }
+            return news;
+        } catch (IOException | RuntimeException e) {
+            // 발행일시 형식이 다르거나 리다이렉트 URL이 깨진 기사 하나 때문에 작업 전체를 멈추지 않는다
+            job.getFailed().incrementAndGet();
+            log.warn("Failed to fetch article {}: {}", link.url(), e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * 해시(또는 URL이 같은 기존 문서)가 없을 때만 넣는다. 이미 있으면 아무것도 바꾸지 않는다.
+     */
+    private void upsert(List<News> batch, NewsIngestionJob job) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, News.class);
+        for (News news : batch) {
+            Document document = new Document();
+            mongoTemplate.getConverter().write(news, document);
+            document.remove("_id");
+            document.remove("_class");
+            Update update = new Update();
+            document.forEach(update::setOnInsert);
+            bulk.upsert(new Query(new Criteria().orOperator(
+                    Criteria.where("urlHash").is(news.getUrlHash()),
+                    Criteria.where("url").is(news.getUrl()))), update);
+        }
+        job.getSaved().addAndGet(bulk.execute().getUpserts().size());
+    }
+
+    private org.jsoup.nodes.Document fetch(String url, String referer) throws IOException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(requestTimeout)
+                .header("User-Agent", USER_AGENT);
+        if (referer != null) {
+            request.header("Referer", referer);
+        }
+        HttpResponse<byte[]> response;
+        try {
+            response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while fetching " + url, e);
+        }
+        if (response.statusCode() >= 400) {
+            throw new IOException("HTTP " + response.statusCode() + " for " + url);
+        }
+        String location = response.uri().toString();
+        // 목록 페이지는 EUC-KR이므로 charset은 응답 meta에서 판별하게 둔다
+        return Jsoup.parse(new ByteArrayInputStream(response.body()), null, location);
+    }
+
+    private record Link(String url, String hash, String type, String stockCode, String stockName) {
+    }
+}
@@ -0,0 +1,106 @@
+package com.stockr.be.news.service;
+
+import com.stockr.be.global.search.InvertedIndex;
+import com.stockr.be.news.domain.News;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 뉴스 제목/본문 검색용 인메모리 역색인.
+ * 정규식 스캔 대신 bigram 색인으로 후보를 찾으므로 컬렉션이 커져도 검색 비용은 일치 문서 수에만 비례한다.
+ * 필터(type/stockCode/sentiment)는 문서별 메타데이터로 순위 매기기 전에 거른다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NewsSearchIndex {
+
+    private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+    private static final DateTimeFormatter CRAWLED_AT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]*>|&[a-zA-Z#0-9]+;");
+
+    private final MongoTemplate mongoTemplate;
+    private final InvertedIndex<String> index = new InvertedIndex<>();
+    private final Map<String, Meta> metas = new ConcurrentHashMap<>();
+    private LocalDateTime watermark;
+    private boolean built;
+
+    private record Meta(String type, String stockCode, String sentiment) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void build() {
+        load(newsQuery());
+        built = true;
+        log.info("Indexed {} news documents for search", index.size());
+    }
+
+    @EventListener(NewsIngestedEvent.class)
+    public synchronized void onNewsIngested(NewsIngestedEvent event) {
+        if (!built) {
+            return;
+        }
+        Query query = newsQuery();
+        if (watermark != null) {
+            query.addCriteria(Criteria.where("crawledAt").gte(watermark.format(CRAWLED_AT_FORMAT)));
+        }
+        load(query);
+    }
+
+    /**
+     * 관련도, 동점이면 최신 발행 순으로 한 페이지의 뉴스 ID를 돌려준다. 필터 값이 null이면 조건 없음.
+     */
+    public InvertedIndex.Result<String> search(String keyword, String type, String stockCode, String sentiment,
+            int offset, int limit) {
+        if (type == null && stockCode == null && sentiment == null) {
+            return index.search(keyword, offset, limit);
+        }
+        return index.search(keyword, id -> {
+            Meta meta = metas.get(id);
+            return meta != null
+                    && (type == null || type.equals(meta.type()))
+                    && (stockCode == null || stockCode.equals(meta.stockCode()))
+                    && (sentiment == null || sentiment.equals(meta.sentiment()));
+        }, offset, limit);
+    }
+
+    private void load(Query query) {
+        // 본문이 커서 한 번에 다 올리지 않고 커서로 흘려 읽는다
+        try (Stream<News> stream = mongoTemplate.stream(query, News.class)) {
+            stream.forEach(this::put);
+        }
+    }
+
+    private void put(News news) {
+        long recency = news.getPublishedAt().atZone(SEOUL).toInstant().toEpochMilli();
+        metas.put(news.getId(), new Meta(news.getType(), news.getStockCode(), news.getSentiment()));
+        index.put(news.getId(), recency, news.getTitle(), stripHtml(news.getContent()));
+        if (news.getCrawledAt() != null && (watermark == null || news.getCrawledAt().isAfter(watermark))) {
+            watermark = news.getCrawledAt();
+        }
+    }
+
+    private static String stripHtml(String content) {
+        return content == null ? null : HTML_TAG.matcher(content).replaceAll(" ");
+    }
+
+    private static Query newsQuery() {
+        Query query = new Query(Criteria.where("publishedAt").ne(null));
+        query.fields().include("title", "content", "type", "stockCode", "sentiment", "publishedAt", "crawledAt");
+        return query;
+    }
+}
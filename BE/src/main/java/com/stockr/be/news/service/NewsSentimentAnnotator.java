@@ -0,0 +1,153 @@
+package com.stockr.be.news.service;
+
+import com.stockr.be.news.domain.News;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.Jsoup;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 감정 분석 결과가 없는 종목 뉴스에 기존 python 모델(crawler/inference.py)로 sentiment를 채운다.
+ * 수집 작업이 저장을 마친 뒤 부르며, 모델 로딩 비용 때문에 한 번 부를 때 python 프로세스 하나로 batch-size씩 나눠 보낸다.
+ * 이전 작업에서 분석하지 못한 문서도 sentiment가 비어 있으므로 다음 작업에서 다시 분석된다.
+ */
+@Slf4j
+@Component
+public class NewsSentimentAnnotator {
+
+    // 기존 crawler와 같이 종목 뉴스만 분석한다
+    private static final String ANALYZED_TYPE = "stock";
+    private static final Set<String> LABELS = Set.of("neutral", "positive", "negative");
+    // 모델 입력은 128 토큰에서 잘리므로 그 이상은 보내지 않는다
+    private static final int MAX_TEXT_LENGTH = 1000;
+
+    private final MongoTemplate mongoTemplate;
+    private final String python;
+    private final String script;
+    private final int batchSize;
+    private final Duration timeout;
+
+    public NewsSentimentAnnotator(MongoTemplate mongoTemplate,
+            @Value("${news.sentiment.python:python}") String python,
+            @Value("${news.sentiment.script:crawler/sentiment-job.py}") String script,
+            @Value("${news.sentiment.batch-size:100}") int batchSize,
+            @Value("${news.sentiment.timeout:10m}") Duration timeout) {
+        this.mongoTemplate = mongoTemplate;
+        this.python = python;
+        this.script = script;
+        this.batchSize = batchSize;
+        this.timeout = timeout;
+    }
+
+    /**
+     * sentiment가 비어 있는 종목 뉴스를 모두 분석해 저장한다. 실패해도 예외를 던지지 않고 저장한 건수만 돌려준다.
+     */
+    public int annotatePending() {
+        if (!mongoTemplate.exists(pendingQuery(), News.class)) {
+            return 0;
+        }
+        Process process;
+        try {
+            process = new ProcessBuilder(python, script)
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+        } catch (IOException e) {
+            log.error("Failed to start sentiment job {}: {}", script, e.getMessage());
+            return 0;
+        }
+        // 모델이 멈춰도 수집 작업이 끝나도록 timeout이 지나면 프로세스를 죽인다. 읽기는 EOF로 풀린다
+        CompletableFuture<Void> watchdog = CompletableFuture.runAsync(process::destroyForcibly,
+                CompletableFuture.delayedExecutor(timeout.toMillis(), TimeUnit.MILLISECONDS));
+        int annotated = 0;
+        try (BufferedWriter in = new BufferedWriter(
+                new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+             BufferedReader out = new BufferedReader(
+                     new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String afterId = null;
+            while (true) {
+                List<News> batch = pendingBatch(afterId);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (News news : batch) {
+                    in.write(news.getId() + "\t" + text(news));
+                    in.newLine();
+                }
+                in.flush();
+                annotated += save(batch.size(), out);
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } catch (IOException e) {
+            log.error("Sentiment job stopped after {} articles: {}", annotated, e.getMessage());
+        } finally {
+            watchdog.cancel(false);
+            process.destroy();
+        }
+        return annotated;
+    }
+
+    private Query pendingQuery() {
+        return new Query(Criteria.where("type").is(ANALYZED_TYPE).and("sentiment").is(null));
+    }
+
+    // 분석에 실패해 계속 비어 있는 문서를 다시 보내지 않도록 _id 순서로 한 번씩만 훑는다
+    private List<News> pendingBatch(String afterId) {
+        Query query = pendingQuery();
+        if (afterId != null) {
+            query.addCriteria(Criteria.where("id").gt(afterId));
+        }
+        query.with(Sort.by(Sort.Direction.ASC, "id")).limit(batchSize);
+        query.fields().include("title", "content");
+        return mongoTemplate.find(query, News.class);
+    }
+
+    private int save(int expected, BufferedReader out) throws IOException {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, News.class);
+        int labeled = 0;
+        for (int i = 0; i < expected; i++) {
+            String line = out.readLine();
+            if (line == null) {
+                throw new IOException("sentiment job exited early");
+            }
+            int tab = line.indexOf('\t');
+            if (tab < 0 || !LABELS.contains(line.substring(tab + 1))) {
+                continue;
+            }
+            // 그 사이 다른 경로로 분석된 문서는 덮어쓰지 않는다
+            bulk.updateOne(new Query(Criteria.where("id").is(line.substring(0, tab)).and("sentiment").is(null)),
+                    Update.update("sentiment", line.substring(tab + 1)));
+            labeled++;
+        }
+        if (labeled == 0) {
+            return 0;
+        }
+        return bulk.execute().getModifiedCount();
+    }
+
+    // 기존 crawler처럼 본문에서 이미지/스크립트/링크/강조 태그를 빼고 제목과 이어 붙인다
+    private static String text(News news) {
+        org.jsoup.nodes.Document content = Jsoup.parseBodyFragment(news.getContent() == null ? "" : news.getContent());
+        content.select("img, script, style, a, strong").remove();
+        String text = (news.getTitle() == null ? "" : news.getTitle().strip()) + " " + content.text();
+        text = text.replaceAll("\\s+", " ").strip();
+        return text.length() > MAX_TEXT_LENGTH ? text.substring(0, MAX_TEXT_LENGTH) : text;
+    }
+}
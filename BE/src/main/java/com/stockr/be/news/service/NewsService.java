@@ -3,15 +3,28 @@ package com.stockr.be.news.service;
 import com.stockr.be.news.domain.News;
 import com.stockr.be.news.dto.NewsResponseDto;
 import com.stockr.be.news.repository.NewsRepository;
-import com.stockr.be.domain.stock.entity.Stock;
 import com.stockr.be.domain.stock.service.FavoriteService;
+import com.stockr.be.global.common.Cursor;
+import com.stockr.be.global.common.CursorPage;
+import com.stockr.be.global.search.InvertedIndex;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -21,8 +34,28 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class NewsService {
 
+    private static final int PERSONALIZED_NEWS_LIMIT = 4;
+    private static final int SEARCH_LIMIT = 50;
+    // crawler가 published_at을 이 형식의 문자열로 저장하므로 문자열 비교가 곧 시간 비교다
+    private static final DateTimeFormatter PUBLISHED_AT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
     private final NewsRepository newsRepository;
     private final FavoriteService favoriteService;
+    private final MongoTemplate mongoTemplate;
+    private final NewsFeedIndex newsFeedIndex;
+    private final NewsSearchIndex newsSearchIndex;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        IndexOperations indexOps = mongoTemplate.indexOps(News.class);
+        indexOps.ensureIndex(new Index().on("published_at", Sort.Direction.DESC).on("_id", Sort.Direction.DESC)
+                .named("published_at_id"));
+        indexOps.ensureIndex(new Index().on("news_type", Sort.Direction.ASC).on("stock_code", Sort.Direction.ASC)
+                .on("published_at", Sort.Direction.DESC).on("_id", Sort.Direction.DESC)
+                .named("type_stock_published_at_id"));
+        indexOps.ensureIndex(new Index().on("crawled_at", Sort.Direction.DESC).named("crawled_at"));
+        indexOps.ensureIndex(new Index().on("url_hash", Sort.Direction.ASC).sparse().named("url_hash"));
+    }
 
     public List<NewsResponseDto> getAllNews() {
         // publishedAt이 null이 아닌 뉴스만 최신 순으로 정렬하여 20개 가져오기
@@ -32,6 +65,33 @@ public class NewsService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 커서 기반 뉴스 목록 (publishedAt, id 내림차순). type/stockCode는 선택 조건이다.
+     */
+    public CursorPage<NewsResponseDto> scrollNews(String type, String stockCode, String cursor, int size) {
+        Criteria criteria = Criteria.where("publishedAt").ne(null);
+        if (type != null) {
+            criteria.and("type").is(type);
+        }
+        if (stockCode != null) {
+            criteria.and("stockCode").is(stockCode);
+        }
+        Cursor after = Cursor.decode(cursor);
+        if (after != null) {
+            String publishedAt = after.time().format(PUBLISHED_AT_FORMAT);
+            criteria.orOperator(
+                    Criteria.where("publishedAt").lt(publishedAt),
+                    Criteria.where("publishedAt").is(publishedAt).and("id").lt(after.id()));
+        }
+        Query query = Query.query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "publishedAt", "id"))
+                .limit(size + 1);
+
+        List<News> rows = mongoTemplate.find(query, News.class);
+        return CursorPage.of(rows, size, news -> Cursor.encode(news.getPublishedAt(), news.getId()))
+                .map(NewsResponseDto::from);
+    }
+
     public List<NewsResponseDto> getMainNews() {
         // main 타입의 뉴스만 최신 순으로 정렬하여 10개 가져오기
         return newsRepository.findByTypeAndPublishedAtIsNotNullOrderByPublishedAtDesc("main", PageRequest.of(0, 10))
@@ -41,30 +101,36 @@ public class NewsService {
     }
 
     public List<NewsResponseDto> getPersonalizedNews(Long userId) {
-        // 사용자의 즐겨찾기 종목 조회
-        List<Stock> favoriteStocks = favoriteService.getFavoriteStocks(userId);
-        
-        if (favoriteStocks.isEmpty()) {
-            return List.of(); // 즐겨찾기 종목이 없으면 빈 리스트 반환
-        }
-        
-        // 각 종목별로 최신 뉴스 1개씩 가져오기 (최대 4개)
-        return favoriteStocks.stream()
-                .limit(4) // 최대 4개 종목
-                .map(stock -> {
-                    List<News> stockNews = newsRepository.findByTypeAndStockCodeAndPublishedAtIsNotNullOrderByPublishedAtDesc(
-                            "stock", stock.getTicker(), PageRequest.of(0, 1));
-                    return stockNews.isEmpty() ? null : stockNews.get(0);
-                })
-                .filter(news -> news != null)
+        // 관심 종목 코드만 한 번에 조회하고, 종목별 최신 뉴스는 메모리 색인에서 꺼낸다 (최대 4개)
+        List<String> stockCodes = favoriteService.getFavoriteTickers(userId);
+        return newsFeedIndex.latestFor(stockCodes, PERSONALIZED_NEWS_LIMIT)
+                .stream()
                 .map(NewsResponseDto::from)
                 .collect(Collectors.toList());
     }
 
     public List<NewsResponseDto> searchNewsByKeyword(String keyword) {
-        // 키워드 검색도 publishedAt이 null이 아닌 뉴스만 최신 순으로 정렬
-        return newsRepository.findByTitleContainingAndPublishedAtIsNotNullOrderByPublishedAtDesc(keyword)
-                .stream()
+        // 제목/본문 색인에서 관련도 + 최신순으로 상위 SEARCH_LIMIT건만 가져온다
+        return findRanked(newsSearchIndex.search(keyword, null, null, null, 0, SEARCH_LIMIT).keys());
+    }
+
+    /**
+     * 필터와 커서를 지원하는 뉴스 검색. 커서는 관련도 순 결과의 다음 위치다.
+     */
+    public CursorPage<NewsResponseDto> searchNews(String keyword, String type, String stockCode, String sentiment,
+            String cursor, int size) {
+        int offset = Cursor.decodeOffset(cursor);
+        InvertedIndex.Result<String> result = newsSearchIndex.search(keyword, type, stockCode, sentiment, offset, size);
+        int next = offset + result.keys().size();
+        return CursorPage.of(findRanked(result.keys()), next < result.total() ? Cursor.encodeOffset(next) : null);
+    }
+
+    private List<NewsResponseDto> findRanked(List<String> ids) {
+        Map<String, News> newsById = new HashMap<>();
+        newsRepository.findAllById(ids).forEach(news -> newsById.put(news.getId(), news));
+        return ids.stream()
+                .map(newsById::get)
+                .filter(Objects::nonNull)
                 .map(NewsResponseDto::from)
                 .collect(Collectors.toList());
     }
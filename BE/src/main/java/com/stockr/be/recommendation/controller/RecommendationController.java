@@ -0,0 +1,58 @@
+package com.stockr.be.recommendation.controller;
+
+import com.stockr.be.recommendation.dto.ScreenedStockDto;
+import com.stockr.be.recommendation.dto.SimilarStockDto;
+import com.stockr.be.recommendation.service.StockScreeningService;
+import com.stockr.be.recommendation.service.StockSimilarityService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/stocks")
+@RequiredArgsConstructor
+public class RecommendationController {
+
+    private static final int MAX_K = 50;
+
+    private final StockSimilarityService stockSimilarityService;
+    private final StockScreeningService stockScreeningService;
+
+    @GetMapping("/{ticker}/similar")
+    public ResponseEntity<List<SimilarStockDto>> getSimilarStocks(
+            @PathVariable String ticker,
+            @RequestParam(defaultValue = "5") int k) {
+        return ResponseEntity.ok(stockSimilarityService.similarByTicker(ticker, clamp(k)));
+    }
+
+    // 기존 Flask 추천 API(/recommend?stock_name=)와 같은 요청/응답 형식
+    @GetMapping("/recommend")
+    public ResponseEntity<List<SimilarStockDto>> recommend(
+            @RequestParam("stock_name") String stockName,
+            @RequestParam(defaultValue = "5") int k) {
+        return ResponseEntity.ok(stockSimilarityService.similarByName(stockName, clamp(k)));
+    }
+
+    // 특성 조건에 가까운 종목 (지정하지 않은 특성은 시장 평균으로 본다)
+    @GetMapping("/screen")
+    public ResponseEntity<List<ScreenedStockDto>> screen(
+            @RequestParam(required = false) Double per,
+            @RequestParam(required = false) Double pbr,
+            @RequestParam(required = false) Double dividendYield,
+            @RequestParam(required = false) Double beta,
+            @RequestParam(required = false) Double return1y,
+            @RequestParam(required = false) Double volatility,
+            @RequestParam(required = false) String marketType,
+            @RequestParam(required = false) String industryType,
+            @RequestParam(defaultValue = "10") int k) {
+        StockScreeningService.Criteria criteria =
+                new StockScreeningService.Criteria(per, pbr, dividendYield, beta, return1y, volatility);
+        return ResponseEntity.ok(stockScreeningService.screen(criteria, marketType, industryType, clamp(k)));
+    }
+
+    private static int clamp(int k) {
+        return Math.min(Math.max(k, 1), MAX_K);
+    }
+}
@@ -0,0 +1,17 @@
+package com.stockr.be.recommendation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 특성 조건 검색 결과 한 건. distance는 표준화한 특성 공간에서 조건과의 유클리드 거리다.
+ */
+@Getter
+@AllArgsConstructor
+public class ScreenedStockDto {
+    private String ticker;
+    private String name;
+    private String marketType;
+    private String industry;
+    private double distance;
+}
@@ -0,0 +1,16 @@
+package com.stockr.be.recommendation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 유사 종목 한 건 (기존 추천 API 응답과 같은 필드)
+ */
+@Getter
+@AllArgsConstructor
+public class SimilarStockDto {
+    private String name;
+    private String ticker;
+    private double similarity;
+    private String industry;
+}
@@ -0,0 +1,202 @@
+package com.stockr.be.recommendation.service;
+
+import com.stockr.be.domain.stock.entity.Stock;
+import com.stockr.be.domain.stock.repository.StockRepository;
+import com.stockr.be.domain.stock.service.OhlcvColumnStore;
+import com.stockr.be.domain.stock.service.OhlcvSlice;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * stocks 테이블과 일봉 컬럼 저장소로 {@link StockFeatureMatrix}를 만든다.
+ * 재무 지표는 stocks 테이블 값을, beta/1년 수익률/변동성은 최근 1년 일봉 종가로 계산한다
+ * (beta의 시장 수익률은 전 종목 동일 가중 평균으로 근사).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockFeatureLoader {
+
+    private static final long ONE_YEAR_MILLIS = Duration.ofDays(365).toMillis();
+
+    private final StockRepository stockRepository;
+    private final OhlcvColumnStore ohlcvColumnStore;
+
+    public StockFeatureMatrix load() {
+        List<Stock> stocks = stockRepository.findAll();
+        int size = stocks.size();
+        int dimension = StockFeatureMatrix.DIMENSION;
+        double[] raw = new double[size * dimension];
+
+        long to = System.currentTimeMillis();
+        long from = to - ONE_YEAR_MILLIS;
+        ReturnSeries[] returns = new ReturnSeries[size];
+        Map<Long, double[]> market = new HashMap<>();  // 날짜 -> {수익률 합, 종목 수}
+        for (int i = 0; i < size; i++) {
+            Stock stock = stocks.get(i);
+            int offset = i * dimension;
+            raw[offset] = stock.getEps();
+            raw[offset + 1] = stock.getPer();
+            raw[offset + 2] = stock.getForwardEps();
+            raw[offset + 3] = stock.getForwardPer();
+            raw[offset + 4] = stock.getBps();
+            raw[offset + 5] = stock.getPbr();
+            raw[offset + 6] = stock.getDividendPerShare();
+            raw[offset + 7] = stock.getDividendYield();
+            raw[offset + 8] = stock.getMarketCap();
+
+            returns[i] = dailyReturns(stock.getTicker(), from, to);
+            ReturnSeries series = returns[i];
+            for (int t = 0; t < series.size(); t++) {
+                double[] sum = market.computeIfAbsent(series.dates()[t], date -> new double[2]);
+                sum[0] += series.returns()[t];
+                sum[1]++;
+            }
+        }
+
+        for (int i = 0; i < size; i++) {
+            int offset = i * dimension;
+            ReturnSeries series = returns[i];
+            raw[offset + StockFeatureMatrix.BETA] = beta(series, market);
+            raw[offset + StockFeatureMatrix.RETURN_1Y_PERCENT] = series.totalReturnPercent();
+            raw[offset + StockFeatureMatrix.RETURN_VOLATILITY] = volatility(series);
+        }
+        return standardize(stocks, raw);
+    }
+
+    private ReturnSeries dailyReturns(String ticker, long from, long to) {
+        if (!ohlcvColumnStore.supports(ticker, "daily")) {
+            return ReturnSeries.EMPTY;
+        }
+        OhlcvSlice daily;
+        try {
+            daily = ohlcvColumnStore.range(ticker, "daily", from, to, null);
+        } catch (RuntimeException e) {
+            log.warn("Failed to load daily prices of {} for features: {}", ticker, e.getMessage());
+            return ReturnSeries.EMPTY;
+        }
+        if (daily.size() < 2) {
+            return ReturnSeries.EMPTY;
+        }
+        int count = daily.size() - 1;
+        long[] dates = new long[count];
+        double[] values = new double[count];
+        int size = 0;
+        for (int t = 1; t <= count; t++) {
+            double previous = daily.close(t - 1);
+            if (previous > 0) {
+                dates[size] = daily.dateMillis(t);
+                values[size++] = daily.close(t) / previous - 1;
+            }
+        }
+        double first = daily.close(0);
+        double totalReturn = first > 0 ? (daily.close(count) / first - 1) * 100 : Double.NaN;
+        return new ReturnSeries(dates, values, size, totalReturn);
+    }
+
+    private static double volatility(ReturnSeries series) {
+        if (series.size() < 2) {
+            return Double.NaN;
+        }
+        double mean = 0;
+        for (int t = 0; t < series.size(); t++) {
+            mean += series.returns()[t];
+        }
+        mean /= series.size();
+        double variance = 0;
+        for (int t = 0; t < series.size(); t++) {
+            double diff = series.returns()[t] - mean;
+            variance += diff * diff;
+        }
+        return Math.sqrt(variance / series.size());
+    }
+
+    private static double beta(ReturnSeries series, Map<Long, double[]> market) {
+        if (series.size() < 2) {
+            return Double.NaN;
+        }
+        double[] marketReturns = new double[series.size()];
+        double stockMean = 0;
+        double marketMean = 0;
+        for (int t = 0; t < series.size(); t++) {
+            double[] sum = market.get(series.dates()[t]);
+            marketReturns[t] = sum[0] / sum[1];
+            stockMean += series.returns()[t];
+            marketMean += marketReturns[t];
+        }
+        stockMean /= series.size();
+        marketMean /= series.size();
+        double covariance = 0;
+        double marketVariance = 0;
+        for (int t = 0; t < series.size(); t++) {
+            double marketDiff = marketReturns[t] - marketMean;
+            covariance += (series.returns()[t] - stockMean) * marketDiff;
+            marketVariance += marketDiff * marketDiff;
+        }
+        return marketVariance == 0 ? Double.NaN : covariance / marketVariance;
+    }
+
+    // 열마다 NaN을 뺀 평균/표준편차로 z-score를 만든다 (NaN은 평균 = 0)
+    private static StockFeatureMatrix standardize(List<Stock> stocks, double[] raw) {
+        int size = stocks.size();
+        int dimension = StockFeatureMatrix.DIMENSION;
+        double[] mean = new double[dimension];
+        double[] std = new double[dimension];
+        for (int f = 0; f < dimension; f++) {
+            double sum = 0;
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                double value = raw[i * dimension + f];
+                if (!Double.isNaN(value)) {
+                    sum += value;
+                    count++;
+                }
+            }
+            mean[f] = count == 0 ? 0 : sum / count;
+            double variance = 0;
+            for (int i = 0; i < size; i++) {
+                double value = raw[i * dimension + f];
+                if (!Double.isNaN(value)) {
+                    variance += (value - mean[f]) * (value - mean[f]);
+                }
+            }
+            std[f] = count == 0 ? 0 : Math.sqrt(variance / count);
+        }
+
+        String[] tickers = new String[size];
+        String[] names = new String[size];
+        String[] industries = new String[size];
+        String[] marketTypes = new String[size];
+        Map<String, Integer> indexByTicker = new HashMap<>(size * 2);
+        Map<String, Integer> indexByName = new HashMap<>(size * 2);
+        float[] values = new float[size * dimension];
+        for (int i = 0; i < size; i++) {
+            Stock stock = stocks.get(i);
+            tickers[i] = stock.getTicker();
+            names[i] = stock.getName();
+            industries[i] = stock.getIndustryType();
+            marketTypes[i] = stock.getMarketType();
+            indexByTicker.put(stock.getTicker(), i);
+            if (stock.getName() != null) {
+                indexByName.putIfAbsent(stock.getName(), i);
+            }
+            for (int f = 0; f < dimension; f++) {
+                double value = raw[i * dimension + f];
+                values[i * dimension + f] = Double.isNaN(value) || std[f] == 0 ? 0f
+                        : (float) ((value - mean[f]) / std[f]);
+            }
+        }
+        return new StockFeatureMatrix(tickers, names, industries, marketTypes, values, mean, std,
+                indexByTicker, indexByName);
+    }
+
+    private record ReturnSeries(long[] dates, double[] returns, int size, double totalReturnPercent) {
+        static final ReturnSeries EMPTY = new ReturnSeries(new long[0], new double[0], 0, Double.NaN);
+    }
+}
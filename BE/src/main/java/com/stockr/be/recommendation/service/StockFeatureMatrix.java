@@ -0,0 +1,102 @@
+package com.stockr.be.recommendation.service;
+
+import java.util.Map;
+
+/**
+ * 종목 특성 행렬 스냅샷 (불변).
+ * 행 = 종목, 열 = {@link #FEATURES}. 값은 z-score로 표준화해 float[] 하나에 행 우선으로 연속 저장한다.
+ * 원래 단위 값을 같은 척도로 바꿀 수 있도록 열별 평균/표준편차도 함께 둔다.
+ */
+public final class StockFeatureMatrix {
+
+    public static final String[] FEATURES = {
+            "eps", "per", "forwardEps", "forwardPer", "bps", "pbr", "dividendPerShare", "dividendYield",
+            "marketCap", "beta", "return1yPercent", "returnVolatility"
+    };
+    public static final int DIMENSION = FEATURES.length;
+
+    static final int PER = 1;
+    static final int PBR = 5;
+    static final int DIVIDEND_YIELD = 7;
+    static final int BETA = 9;
+    static final int RETURN_1Y_PERCENT = 10;
+    static final int RETURN_VOLATILITY = 11;
+
+    private final String[] tickers;
+    private final String[] names;
+    private final String[] industries;
+    private final String[] marketTypes;
+    private final float[] values;
+    private final double[] mean;
+    private final double[] std;
+    private final Map<String, Integer> indexByTicker;
+    private final Map<String, Integer> indexByName;
+
+    StockFeatureMatrix(String[] tickers, String[] names, String[] industries, String[] marketTypes, float[] values,
+            double[] mean, double[] std, Map<String, Integer> indexByTicker, Map<String, Integer> indexByName) {
+        this.tickers = tickers;
+        this.names = names;
+        this.industries = industries;
+        this.marketTypes = marketTypes;
+        this.values = values;
+        this.mean = mean;
+        this.std = std;
+        this.indexByTicker = indexByTicker;
+        this.indexByName = indexByName;
+    }
+
+    public int size() {
+        return tickers.length;
+    }
+
+    public String ticker(int row) {
+        return tickers[row];
+    }
+
+    public String name(int row) {
+        return names[row];
+    }
+
+    public String industry(int row) {
+        return industries[row];
+    }
+
+    public String marketType(int row) {
+        return marketTypes[row];
+    }
+
+    /**
+     * 표준화된 값 배열 (행 우선, 길이 size() * DIMENSION). 호출자는 수정하지 않는다.
+     */
+    public float[] values() {
+        return values;
+    }
+
+    /**
+     * @return 행 번호, 없으면 -1
+     */
+    public int indexOfTicker(String ticker) {
+        return indexByTicker.getOrDefault(ticker, -1);
+    }
+
+    public int indexOfName(String name) {
+        return indexByName.getOrDefault(name, -1);
+    }
+
+    /**
+     * 원래 단위 값 (z-score를 되돌린 값, 값이 없던 칸은 평균)
+     */
+    public double raw(int row, int feature) {
+        return values[row * DIMENSION + feature] * std[feature] + mean[feature];
+    }
+
+    /**
+     * 원래 단위 값을 이 행렬과 같은 z-score로 바꾼다. NaN(값 없음)은 평균(0)으로 본다.
+     */
+    public float standardize(int feature, double raw) {
+        if (Double.isNaN(raw) || std[feature] == 0) {
+            return 0f;
+        }
+        return (float) ((raw - mean[feature]) / std[feature]);
+    }
+}
@@ -0,0 +1,7 @@
+package com.stockr.be.recommendation.service;
+
+/**
+ * 종목 특성 행렬을 새로 만들었을 때 발행한다. 같은 행렬을 쓰는 다른 색인이 받아서 갱신한다.
+ */
+public record StockFeaturesRefreshedEvent(StockFeatureMatrix matrix) {
+}
@@ -0,0 +1,191 @@
+package com.stockr.be.recommendation.service;
+
+import com.stockr.be.global.search.HnswIndex;
+import com.stockr.be.recommendation.dto.ScreenedStockDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntPredicate;
+
+/**
+ * 특성 조건(PER, PBR, 배당수익률, 베타, 1년 수익률, 변동성)에 가까운 종목 검색.
+ * {@link StockFeaturesRefreshedEvent}마다 종목별로 바뀐 벡터만 HNSW 색인에 다시 넣고, 사라진 종목은 지운다.
+ * 벡터 척도(평균/표준편차)는 처음 만든 행렬 기준으로 고정해 두어야 바뀌지 않은 종목을 그대로 둘 수 있고,
+ * 삭제 표시가 살아 있는 노드보다 많아지면 새 척도로 색인을 통째로 다시 만든다.
+ * 조건으로 준 특성이 없으면 시장 평균(z = 0)으로 본다.
+ */
+@Slf4j
+@Service
+public class StockScreeningService {
+
+    static final int[] SCREEN_FEATURES = {
+            StockFeatureMatrix.PER, StockFeatureMatrix.PBR, StockFeatureMatrix.DIVIDEND_YIELD,
+            StockFeatureMatrix.BETA, StockFeatureMatrix.RETURN_1Y_PERCENT, StockFeatureMatrix.RETURN_VOLATILITY
+    };
+
+    private static final int MAX_LINKS = 16;
+    private static final int EF_CONSTRUCTION = 100;
+    private static final int EF_SEARCH = 64;
+
+    private final Map<String, Integer> idByTicker = new HashMap<>();
+    private volatile Map<Integer, Entry> entries = new ConcurrentHashMap<>();
+    private volatile HnswIndex index;
+    private volatile StockFeatureMatrix scale;
+    private int nextId;
+
+    /**
+     * 종목 특성 조건. null인 항목은 시장 평균으로 본다.
+     */
+    public record Criteria(Double per, Double pbr, Double dividendYield, Double beta, Double return1yPercent,
+            Double returnVolatility) {
+
+        double[] values() {
+            return new double[]{
+                    orNaN(per), orNaN(pbr), orNaN(dividendYield), orNaN(beta), orNaN(return1yPercent),
+                    orNaN(returnVolatility)
+            };
+        }
+
+        private static double orNaN(Double value) {
+            return value == null ? Double.NaN : value;
+        }
+    }
+
+    @EventListener
+    public synchronized void onFeaturesRefreshed(StockFeaturesRefreshedEvent event) {
+        StockFeatureMatrix matrix = event.matrix();
+        HnswIndex current = index;
+        if (current == null || current.deletedCount() > current.size()) {
+            rebuild(matrix);
+            return;
+        }
+
+        Set<String> seen = new HashSet<>();
+        int changed = 0;
+        for (int row = 0; row < matrix.size(); row++) {
+            Entry entry = entryOf(matrix, row, scale);
+            seen.add(entry.ticker());
+            Integer id = idByTicker.get(entry.ticker());
+            if (id != null && entry.equals(entries.get(id))) {
+                continue;
+            }
+            if (id == null) {
+                id = nextId++;
+                idByTicker.put(entry.ticker(), id);
+            }
+            entries.put(id, entry);
+            current.put(id, entry.vector());
+            changed++;
+        }
+        int removed = 0;
+        for (var iterator = idByTicker.entrySet().iterator(); iterator.hasNext(); ) {
+            Map.Entry<String, Integer> mapping = iterator.next();
+            if (!seen.contains(mapping.getKey())) {
+                current.remove(mapping.getValue());
+                entries.remove(mapping.getValue());
+                iterator.remove();
+                removed++;
+            }
+        }
+        log.info("Stock screening index updated: {} changed, {} removed, {} live", changed, removed, current.size());
+    }
+
+    /**
+     * @param marketType   시장 구분 조건, null이면 전체
+     * @param industryType 업종 조건, null이면 전체
+     * @return 조건과의 거리(표준화 단위) 오름차순 최대 k건
+     */
+    public List<ScreenedStockDto> screen(Criteria criteria, String marketType, String industryType, int k) {
+        HnswIndex current = index;
+        StockFeatureMatrix currentScale = scale;
+        Map<Integer, Entry> currentEntries = entries;
+        if (current == null) {
+            return List.of();
+        }
+        double[] raw = criteria.values();
+        float[] query = new float[SCREEN_FEATURES.length];
+        for (int i = 0; i < query.length; i++) {
+            query[i] = currentScale.standardize(SCREEN_FEATURES[i], raw[i]);
+        }
+        IntPredicate filter = marketType == null && industryType == null ? null : id -> {
+            Entry entry = currentEntries.get(id);
+            return entry != null
+                    && (marketType == null || marketType.equals(entry.marketType()))
+                    && (industryType == null || industryType.equals(entry.industry()));
+        };
+
+        List<HnswIndex.Neighbor> neighbors = current.search(query, k, EF_SEARCH, filter);
+        if (neighbors.size() < k && filter != null) {
+            // 조건을 통과하는 종목이 드물면 그래프 탐색이 k개를 못 채울 수 있어 조건 안에서 전수 비교한다
+            neighbors = current.exactSearch(query, k, filter);
+        }
+        List<ScreenedStockDto> result = new ArrayList<>(neighbors.size());
+        for (HnswIndex.Neighbor neighbor : neighbors) {
+            Entry entry = currentEntries.get(neighbor.id());
+            if (entry != null) {
+                double distance = Math.round(Math.sqrt(neighbor.distance()) * 100_000d) / 100_000d;
+                result.add(new ScreenedStockDto(entry.ticker(), entry.name(), entry.marketType(), entry.industry(),
+                        distance));
+            }
+        }
+        return result;
+    }
+
+    private void rebuild(StockFeatureMatrix matrix) {
+        // 검색 중인 요청이 옛 색인과 옛 id 매핑을 계속 쓸 수 있도록 새로 만들어 바꿔 끼운다
+        HnswIndex rebuilt = new HnswIndex(SCREEN_FEATURES.length, MAX_LINKS, EF_CONSTRUCTION, 42L);
+        Map<Integer, Entry> rebuiltEntries = new ConcurrentHashMap<>();
+        idByTicker.clear();
+        nextId = 0;
+        for (int row = 0; row < matrix.size(); row++) {
+            Entry entry = entryOf(matrix, row, matrix);
+            int id = nextId++;
+            idByTicker.put(entry.ticker(), id);
+            rebuiltEntries.put(id, entry);
+            rebuilt.put(id, entry.vector());
+        }
+        scale = matrix;
+        entries = rebuiltEntries;
+        index = rebuilt;
+        log.info("Stock screening index built for {} stocks", rebuilt.size());
+    }
+
+    private static Entry entryOf(StockFeatureMatrix matrix, int row, StockFeatureMatrix scale) {
+        float[] vector = new float[SCREEN_FEATURES.length];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = scale.standardize(SCREEN_FEATURES[i], matrix.raw(row, SCREEN_FEATURES[i]));
+        }
+        return new Entry(matrix.ticker(row), matrix.name(row), matrix.marketType(row), matrix.industry(row), vector);
+    }
+
+    /**
+     * 색인 id별 종목 정보와 고정 척도로 표준화한 벡터
+     */
+    private record Entry(String ticker, String name, String marketType, String industry, float[] vector) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Entry other
+                    && ticker.equals(other.ticker)
+                    && Objects.equals(name, other.name)
+                    && Objects.equals(marketType, other.marketType)
+                    && Objects.equals(industry, other.industry)
+                    && Arrays.equals(vector, other.vector);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(ticker, name, marketType, industry, Arrays.hashCode(vector));
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.stockr.be.recommendation.service;
+
+import com.stockr.be.global.exception.BusinessException;
+import com.stockr.be.global.exception.ErrorCode;
+import com.stockr.be.recommendation.dto.SimilarStockDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 종목 특성 코사인 유사도 top-k (기존 DATA/stock_similarity_api.py 대체).
+ * n×n 유사도 행렬을 미리 만들지 않고, 단위 벡터로 정규화한 행렬에서 요청 종목 행과의 내적을 한 번 훑으며
+ * 크기 k의 최소 힙으로 상위 k개만 고른다. 같은 업종이 아니면 점수에 0.8을 곱한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockSimilarityService {
+
+    private static final float OTHER_INDUSTRY_WEIGHT = 0.8f;
+
+    private final StockFeatureLoader stockFeatureLoader;
+    private final ApplicationEventPublisher eventPublisher;
+    private volatile State state;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${recommendation.refresh-interval-ms:3600000}",
+            initialDelayString = "${recommendation.refresh-interval-ms:3600000}")
+    public void refresh() {
+        StockFeatureMatrix matrix = stockFeatureLoader.load();
+        state = new State(matrix);
+        eventPublisher.publishEvent(new StockFeaturesRefreshedEvent(matrix));
+        log.info("Stock similarity features refreshed for {} stocks", matrix.size());
+    }
+
+    public List<SimilarStockDto> similarByTicker(String ticker, int k) {
+        State current = requireState();
+        return similar(current, current.matrix.indexOfTicker(ticker), k);
+    }
+
+    public List<SimilarStockDto> similarByName(String name, int k) {
+        State current = requireState();
+        return similar(current, current.matrix.indexOfName(name), k);
+    }
+
+    private State requireState() {
+        State current = state;
+        if (current == null) {
+            throw new BusinessException(ErrorCode.STOCK_NOT_FOUND);
+        }
+        return current;
+    }
+
+    private static List<SimilarStockDto> similar(State state, int target, int k) {
+        if (target < 0) {
+            throw new BusinessException(ErrorCode.STOCK_NOT_FOUND);
+        }
+        StockFeatureMatrix matrix = state.matrix;
+        float[] unit = state.unit;
+        int dimension = StockFeatureMatrix.DIMENSION;
+        int size = matrix.size();
+        int targetOffset = target * dimension;
+        int targetIndustry = state.industryIds[target];
+
+        // heapScores[0]이 현재 상위 k개 중 최솟값인 최소 힙
+        int capacity = Math.min(k, size - 1);
+        int[] heapRows = new int[Math.max(capacity, 0)];
+        float[] heapScores = new float[heapRows.length];
+        int heapSize = 0;
+        for (int row = 0, offset = 0; row < size; row++, offset += dimension) {
+            if (row == target) {
+                continue;
+            }
+            float dot = 0f;
+            for (int f = 0; f < dimension; f++) {
+                dot += unit[targetOffset + f] * unit[offset + f];
+            }
+            float score = targetIndustry >= 0 && state.industryIds[row] == targetIndustry
+                    ? dot : dot * OTHER_INDUSTRY_WEIGHT;
+            if (heapSize < capacity) {
+                heapRows[heapSize] = row;
+                heapScores[heapSize] = score;
+                siftUp(heapRows, heapScores, heapSize++);
+            } else if (capacity > 0 && score > heapScores[0]) {
+                heapRows[0] = row;
+                heapScores[0] = score;
+                siftDown(heapRows, heapScores, heapSize);
+            }
+        }
+
+        // 힙에서 최솟값부터 꺼내 뒤에서부터 채우면 내림차순이 된다
+        SimilarStockDto[] ranked = new SimilarStockDto[heapSize];
+        for (int i = heapSize - 1; i >= 0; i--) {
+            int row = heapRows[0];
+            double similarity = Math.round(heapScores[0] * 100_000d) / 100_000d;
+            ranked[i] = new SimilarStockDto(matrix.name(row), matrix.ticker(row), similarity, matrix.industry(row));
+            heapRows[0] = heapRows[i];
+            heapScores[0] = heapScores[i];
+            siftDown(heapRows, heapScores, i);
+        }
+        return List.of(ranked);
+    }
+
+    private static void siftUp(int[] rows, float[] scores, int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (scores[parent] <= scores[index]) {
+                return;
+            }
+            swap(rows, scores, parent, index);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(int[] rows, float[] scores, int size) {
+        int index = 0;
+        while (true) {
+            int left = index * 2 + 1;
+            if (left >= size) {
+                return;
+            }
+            int smallest = left + 1 < size && scores[left + 1] < scores[left] ? left + 1 : left;
+            if (scores[index] <= scores[smallest]) {
+                return;
+            }
+            swap(rows, scores, index, smallest);
+            index = smallest;
+        }
+    }
+
+    private static void swap(int[] rows, float[] scores, int i, int j) {
+        int row = rows[i];
+        rows[i] = rows[j];
+        rows[j] = row;
+        float score = scores[i];
+        scores[i] = scores[j];
+        scores[j] = score;
+    }
+
+    /**
+     * 행렬과 그 단위 벡터/업종 번호. 갱신 시 통째로 교체한다.
+     */
+    private static final class State {
+        private final StockFeatureMatrix matrix;
+        private final float[] unit;
+        private final int[] industryIds;
+
+        private State(StockFeatureMatrix matrix) {
+            this.matrix = matrix;
+            int dimension = StockFeatureMatrix.DIMENSION;
+            float[] values = matrix.values();
+            this.unit = new float[values.length];
+            for (int offset = 0; offset < values.length; offset += dimension) {
+                double norm = 0;
+                for (int f = 0; f < dimension; f++) {
+                    norm += values[offset + f] * values[offset + f];
+                }
+                float scale = norm == 0 ? 0f : (float) (1 / Math.sqrt(norm));
+                for (int f = 0; f < dimension; f++) {
+                    unit[offset + f] = values[offset + f] * scale;
+                }
+            }
+            Map<String, Integer> industries = new HashMap<>();
+            this.industryIds = new int[matrix.size()];
+            for (int row = 0; row < matrix.size(); row++) {
+                String industry = matrix.industry(row);
+                industryIds[row] = industry == null ? -1 : industries.computeIfAbsent(industry, key -> industries.size());
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.stockr.be.user.service;
 
 import com.stockr.be.global.jwt.JwtUtil;
+import com.stockr.be.global.jwt.UserPrincipalCache;
 import com.stockr.be.user.domain.User;
 import com.stockr.be.user.dto.LoginRequestDto;
 import com.stockr.be.user.dto.SignupRequestDto;
@@ -21,6 +22,7 @@ public class UserService {
     private final UserRepository userRepository;
     private final JwtUtil jwtUtil;  // JWT 유틸리티 클래스 (토큰 생성)
     private final BCryptPasswordEncoder passwordEncoder;  // 비밀번호 암호화 도구
+    private final UserPrincipalCache userPrincipalCache;  // 인증 필터 사용자 캐시 (수정 시 무효화)
 
     /**
      * 회원가입 처리
@@ -108,6 +110,7 @@ public class UserService {
         user.setInvestmentStyle(investmentStyle);
         user.setInvestmentStyleUpdatedAt(LocalDateTime.now()); // 현재 시간으로 설정
         userRepository.save(user);
+        userPrincipalCache.invalidateAfterCommit(user.getEmail());
     }
 
     /**
@@ -126,6 +129,7 @@ public class UserService {
         
         user.setName(name.trim());
         userRepository.save(user);
+        userPrincipalCache.invalidateAfterCommit(user.getEmail());
     }
 
     /**
@@ -149,6 +153,7 @@ public class UserService {
         
         user.setPhone(phone);
         userRepository.save(user);
+        userPrincipalCache.invalidateAfterCommit(user.getEmail());
     }
 
     /**
@@ -189,6 +194,7 @@ public class UserService {
         String encodedNewPassword = passwordEncoder.encode(newPassword);
         user.setPassword(encodedNewPassword);
         userRepository.save(user);
+        userPrincipalCache.invalidateAfterCommit(user.getEmail());
     }
 
     /**
@@ -235,5 +241,6 @@ public class UserService {
         
         user.setNickname(nickname.trim());
         userRepository.save(user);
+        userPrincipalCache.invalidateAfterCommit(user.getEmail());
     }
 }
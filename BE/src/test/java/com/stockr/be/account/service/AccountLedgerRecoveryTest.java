@@ -0,0 +1,214 @@
+package com.stockr.be.account.service;
+
+import com.stockr.be.account.repository.AccountRepository;
+import com.stockr.be.domain.trading.entity.TradingOrderStatus;
+import com.stockr.be.domain.trading.repository.LimitOrderRepository;
+import com.stockr.be.global.journal.JournalGroupCommit;
+import com.stockr.be.global.journal.MappedJournal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 저널에 남은 레코드를 accounts 테이블(메모리 map)로 복구한다.
+ * 트랜잭션 매니저는 시작 시점의 테이블을 떠 두었다가 롤백하면 되돌린다.
+ */
+class AccountLedgerRecoveryTest {
+
+    // AccountLedger와 같은 레코드 배치: [type 1][accountId 8][deltaCents 8][orderId 또는 PENDING sequence 8]
+    private static final int RECORD_SIZE = 25;
+    private static final int SEGMENT_RECORDS = 4;
+    private static final byte APPLIED = 0;
+    private static final byte PENDING = 1;
+    private static final byte COMMITTED = 2;
+    private static final byte ABORTED = 3;
+
+    @TempDir
+    Path journalDirectory;
+
+    // accountId -> {balance cents, ledger_sequence}
+    private final Map<Long, long[]> accounts = new HashMap<>();
+    private AccountRepository accountRepository;
+    private LimitOrderRepository limitOrderRepository;
+    private Long failUpdateOf;
+    private boolean failMaxSequence;
+    private int commits;
+
+    @BeforeEach
+    void setUp() {
+        accounts.put(1L, new long[]{10_000, 1});
+        accounts.put(2L, new long[]{5_000, 0});
+
+        accountRepository = mock(AccountRepository.class);
+        when(accountRepository.findBalanceById(anyLong())).thenAnswer(invocation ->
+                Optional.ofNullable(accounts.get((Long) invocation.getArgument(0)))
+                        .map(row -> AccountLedger.fromCents(row[0])));
+        when(accountRepository.findLedgerStates(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().filter(accounts::containsKey).map(this::state).toList();
+        });
+        when(accountRepository.updateLedgerBalance(anyLong(), any(BigDecimal.class), anyLong()))
+                .thenAnswer(invocation -> {
+                    Long accountId = invocation.getArgument(0);
+                    if (accountId.equals(failUpdateOf)) {
+                        throw new IllegalStateException("update failed");
+                    }
+                    long[] row = accounts.get(accountId);
+                    long sequence = invocation.getArgument(2);
+                    if (row == null || row[1] > sequence) {
+                        return 0;
+                    }
+                    row[0] = AccountLedger.toCents(invocation.getArgument(1));
+                    row[1] = sequence;
+                    return 1;
+                });
+        when(accountRepository.findMaxLedgerSequence()).thenAnswer(invocation -> {
+            if (failMaxSequence) {
+                throw new IllegalStateException("crashed before journal reset");
+            }
+            return accounts.values().stream().mapToLong(row -> row[1]).max().orElse(0);
+        });
+
+        limitOrderRepository = mock(LimitOrderRepository.class);
+        when(limitOrderRepository.findIdsByStatus(anyCollection(), eq(TradingOrderStatus.EXECUTED)))
+                .thenAnswer(invocation -> {
+                    Collection<Long> ids = invocation.getArgument(0);
+                    return ids.stream().filter(id -> id == 12L).toList();
+                });
+
+        MappedJournal journal = new MappedJournal(journalDirectory, RECORD_SIZE, SEGMENT_RECORDS);
+        append(journal, APPLIED, 1, 1_000, 0);      // 1: 이미 체크포인트됨 (ledger_sequence 1)
+        append(journal, APPLIED, 1, -300, 0);       // 2
+        append(journal, PENDING, 1, -500, 10);      // 3
+        append(journal, COMMITTED, 1, -500, 3);     // 4
+        append(journal, PENDING, 2, 700, 11);       // 5
+        append(journal, ABORTED, 2, 700, 5);        // 6
+        append(journal, PENDING, 2, 200, 12);       // 7: 결과 없음, 주문 12는 EXECUTED
+        append(journal, PENDING, 1, -100, 13);      // 8: 결과 없음, 주문 13은 체결되지 않음
+        journal.close();
+    }
+
+    @Test
+    void replaysCommittedChangesAndDecidesUndecidedOnesByOrderStatus() {
+        AccountLedger ledger = open();
+
+        assertThat(accounts.get(1L)[0]).isEqualTo(10_000 - 300 - 500);
+        assertThat(accounts.get(2L)[0]).isEqualTo(5_000 + 200);
+        assertThat(commits).isEqualTo(1);
+        assertThat(ledger.balance(1L)).isEqualByComparingTo("92.00");
+
+        // 저널을 비웠으므로 다시 시작해도 아무것도 다시 반영하지 않는다
+        open();
+        assertThat(accounts.get(1L)[0]).isEqualTo(9_200);
+        assertThat(accounts.get(2L)[0]).isEqualTo(5_200);
+    }
+
+    @Test
+    void failedRecoveryLeavesTableAndJournalForTheNextStart() {
+        failUpdateOf = 2L;
+        assertThatThrownBy(this::open).isInstanceOf(IllegalStateException.class);
+        assertThat(accounts.get(1L)).containsExactly(10_000, 1);
+        assertThat(accounts.get(2L)).containsExactly(5_000, 0);
+
+        failUpdateOf = null;
+        open();
+
+        assertThat(accounts.get(1L)[0]).isEqualTo(9_200);
+        assertThat(accounts.get(2L)[0]).isEqualTo(5_200);
+    }
+
+    @Test
+    void crashAfterCommitDoesNotApplyUndecidedChangesTwice() {
+        failMaxSequence = true;
+        assertThatThrownBy(this::open).isInstanceOf(IllegalStateException.class);
+        assertThat(accounts.get(1L)[0]).isEqualTo(9_200);
+        assertThat(accounts.get(2L)[0]).isEqualTo(5_200);
+
+        // 저널이 비워지지 않았지만 결정 레코드가 남아 있어, 주문 상태가 바뀌어도 같은 결론을 낸다
+        failMaxSequence = false;
+        when(limitOrderRepository.findIdsByStatus(anyCollection(), eq(TradingOrderStatus.EXECUTED)))
+                .thenReturn(List.of(12L, 13L));
+        open();
+
+        assertThat(accounts.get(1L)[0]).isEqualTo(9_200);
+        assertThat(accounts.get(2L)[0]).isEqualTo(5_200);
+    }
+
+    // 실패한 인스턴스는 닫지 않는다. 죽은 프로세스처럼 체크포인트 없이 버려진다
+    private AccountLedger open() {
+        AccountLedger ledger = new AccountLedger(accountRepository, limitOrderRepository,
+                mock(JournalGroupCommit.class), new SnapshotTransactionManager(), journalDirectory.toString(),
+                SEGMENT_RECORDS, 4);
+        ledger.recover();
+        return ledger;
+    }
+
+    private static void append(MappedJournal journal, byte type, long accountId, long deltaCents, long reference) {
+        journal.append(record -> record.put(type).putLong(accountId).putLong(deltaCents).putLong(reference));
+    }
+
+    private AccountRepository.LedgerState state(Long accountId) {
+        long[] row = accounts.get(accountId);
+        BigDecimal balance = AccountLedger.fromCents(row[0]);
+        long sequence = row[1];
+        return new AccountRepository.LedgerState() {
+            @Override
+            public Long getId() {
+                return accountId;
+            }
+
+            @Override
+            public BigDecimal getBalance() {
+                return balance;
+            }
+
+            @Override
+            public long getLedgerSequence() {
+                return sequence;
+            }
+        };
+    }
+
+    private final class SnapshotTransactionManager implements PlatformTransactionManager {
+        private final Map<Long, long[]> snapshot = new HashMap<>();
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            snapshot.clear();
+            accounts.forEach((id, row) -> snapshot.put(id, row.clone()));
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            commits++;
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            accounts.clear();
+            accounts.putAll(snapshot);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.stockr.be.news.service;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.stockr.be.domain.stock.entity.Stock;
+import com.stockr.be.domain.stock.repository.StockRepository;
+import com.stockr.be.global.config.MongoConfig;
+import com.stockr.be.news.domain.News;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.bson.BsonInt32;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 로컬 HTTP stub(네이버 금융 목록/리다이렉트/기사 페이지 fixture)을 상대로 수집 작업 전체를 돌린다.
+ * Mongo는 mock으로 두고, bulk upsert에 실린 문서만 확인한다.
+ */
+class NewsIngestionServiceTest {
+
+    private static final Pattern NEWS_READ = Pattern.compile("office_id=(\\d+)&article_id=(\\d+)");
+    private static final Pattern ARTICLE = Pattern.compile("/mnews/article/(\\d+)/(\\d+)");
+    // 기사 3은 발행일시 형식이 달라 파싱에 실패한다
+    private static final String BAD_DATE_ARTICLE = "0000000003";
+
+    private HttpServer server;
+    private String baseUrl;
+    private MongoTemplate mongoTemplate;
+    private final List<News> stored = new ArrayList<>();
+    private final List<Update> upserts = new ArrayList<>();
+    private int executed;
+    private NewsSentimentAnnotator sentimentAnnotator;
+    private NewsIngestionService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        mongoTemplate = mock(MongoTemplate.class);
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE,
+                new MongoMappingContext());
+        // 운영과 같이 LocalDateTime을 "yyyy-MM-dd HH:mm:ss" 문자열로 쓰게 한다
+        converter.setCustomConversions(new MongoConfig().customConversions());
+        converter.afterPropertiesSet();
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        when(mongoTemplate.find(any(Query.class), eq(News.class))).thenAnswer(invocation -> {
+            Query query = invocation.getArgument(0);
+            Collection<?> hashes = (Collection<?>) ((Document) query.getQueryObject().get("urlHash")).get("$in");
+            return stored.stream().filter(news -> hashes.contains(news.getUrlHash())).toList();
+        });
+        BulkOperations bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, News.class)).thenReturn(bulk);
+        when(bulk.upsert(any(Query.class), any(Update.class))).thenAnswer(invocation -> {
+            upserts.add(invocation.getArgument(1));
+            return bulk;
+        });
+        when(bulk.execute()).thenAnswer(invocation -> {
+            List<BulkWriteUpsert> inserted = new ArrayList<>();
+            for (int i = executed; i < upserts.size(); i++) {
+                inserted.add(new BulkWriteUpsert(i - executed, new BsonInt32(i)));
+            }
+            executed = upserts.size();
+            return BulkWriteResult.acknowledged(0, 0, 0, 0, inserted, List.of());
+        });
+
+        Stock stock = mock(Stock.class);
+        when(stock.getTicker()).thenReturn("005930");
+        when(stock.getName()).thenReturn("삼성전자");
+        StockRepository stockRepository = mock(StockRepository.class);
+        when(stockRepository.findAll()).thenReturn(List.of(stock));
+
+        sentimentAnnotator = mock(NewsSentimentAnnotator.class);
+        when(sentimentAnnotator.annotatePending()).thenReturn(1);
+
+        service = new NewsIngestionService(mongoTemplate, stockRepository, mock(ApplicationEventPublisher.class),
+                sentimentAnnotator, baseUrl, 2, Duration.ofSeconds(5), 5, 1, 3, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+        server.stop(0);
+    }
+
+    @Test
+    void savesParsedArticlesAndCountsUnparseableOnes() throws InterruptedException {
+        NewsIngestionJob job = awaitFinished(service.start());
+
+        assertThat(job.getStatus()).isEqualTo(NewsIngestionJob.Status.COMPLETED);
+        // 주요 뉴스 2건 + 종목 뉴스 2건, 기사 1은 두 목록에 모두 있어 한 번만 가져온다
+        assertThat(job.getDiscovered().get()).isEqualTo(4);
+        assertThat(job.getFailed().get()).isEqualTo(1);
+        assertThat(job.getSaved().get()).isEqualTo(2);
+
+        Map<String, Document> saved = savedByTitle();
+        assertThat(saved).containsOnlyKeys("기사 0000000001 제목", "기사 0000000002 제목");
+        Document article = saved.get("기사 0000000002 제목");
+        assertThat(article.getString("url")).isEqualTo(baseUrl + "/mnews/article/001/0000000002");
+        assertThat(article.getString("url_hash"))
+                .isEqualTo(NaverNewsParser.urlHash(baseUrl + "/news/news_read.naver?office_id=001&article_id=0000000002"));
+        assertThat(article.getString("source")).isEqualTo("연합뉴스");
+        assertThat(article.get("category")).isEqualTo(List.of("경제"));
+        assertThat(article.getString("stock_code")).isEqualTo("005930");
+        assertThat(article.get("published_at")).isEqualTo("2024-05-16 09:30:00");
+        // 주요 뉴스 목록에서 먼저 찾은 기사는 종목 정보 없이 저장된다
+        assertThat(saved.get("기사 0000000001 제목").getString("news_type")).isEqualTo("main");
+        // 저장을 마친 뒤 감정 분석 단계를 거친다
+        verify(sentimentAnnotator).annotatePending();
+        assertThat(job.getAnalyzed().get()).isEqualTo(1);
+    }
+
+    @Test
+    void skipsArticlesWhoseHashIsAlreadyStored() throws InterruptedException {
+        stored.add(News.builder()
+                .urlHash(NaverNewsParser.urlHash(baseUrl + "/mnews/article/001/0000000002"))
+                .build());
+
+        NewsIngestionJob job = awaitFinished(service.start());
+
+        assertThat(job.getStatus()).isEqualTo(NewsIngestionJob.Status.COMPLETED);
+        assertThat(job.getDiscovered().get()).isEqualTo(4);
+        assertThat(job.getDuplicates().get()).isEqualTo(1);
+        assertThat(job.getFailed().get()).isEqualTo(1);
+        assertThat(job.getSaved().get()).isEqualTo(1);
+        assertThat(savedByTitle()).containsOnlyKeys("기사 0000000001 제목");
+        verify(mongoTemplate).bulkOps(BulkOperations.BulkMode.UNORDERED, News.class);
+    }
+
+    private NewsIngestionJob awaitFinished(NewsIngestionJob job) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (job.getStatus() == NewsIngestionJob.Status.RUNNING && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        return job;
+    }
+
+    private Map<String, Document> savedByTitle() {
+        Map<String, Document> saved = new HashMap<>();
+        for (Update update : upserts) {
+            Document document = (Document) update.getUpdateObject().get("$setOnInsert");
+            saved.put(document.getString("title"), document);
+        }
+        return saved;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String query = exchange.getRequestURI().getQuery();
+        String body;
+        Matcher article = ARTICLE.matcher(path);
+        if (path.equals("/news/mainnews.naver")) {
+            body = fixture("mainnews.html");
+        } else if (path.equals("/item/news_news.naver") && query.contains("code=005930")
+                && query.contains("page=1")) {
+            body = fixture("stock_news.html");
+        } else if (path.equals("/news/news_read.naver") && NEWS_READ.matcher(query).find()) {
+            Matcher ids = NEWS_READ.matcher(query);
+            ids.find();
+            body = fixture("news_read.html").replace("{base}", baseUrl)
+                    .replace("{office}", ids.group(1)).replace("{article}", ids.group(2));
+        } else if (article.matches()) {
+            String articleId = article.group(2);
+            body = fixture("article.html").replace("{article}", articleId)
+                    .replace("{publishedAt}", articleId.equals(BAD_DATE_ARTICLE) ? "2024.05.16 09:30"
+                            : "2024-05-16 09:30:00");
+        } else {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String fixture(String name) throws IOException {
+        try (InputStream in = NewsIngestionServiceTest.class.getResourceAsStream("/news/" + name)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
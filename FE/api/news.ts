@@ -13,7 +13,7 @@ export interface NewsResponse {
   type: string
   stockCode: string
   stockName: string
-  sentiment?: 'positive' | 'neutral' | 'negative';
+  sentiment?: 'positive' | 'neutral' | 'negative' | null; // 수집 직후(분석 전)에는 null
 }
 
 // 모든 뉴스 조회
@@ -127,14 +127,11 @@ export const getSimilarStocks = async (
   stockName: string
 ): Promise<SimilarStock[]> => {
   try {
-    const response = await fetch(
-      `${process.env.NEXT_PUBLIC_SIMILARITY_API_URL}/recommend?stock_name=${stockName}`
+    const response = await axiosInstance.get<SimilarStock[]>(
+      "/api/v1/stocks/recommend",
+      { params: { stock_name: stockName } }
     );
-    if (!response.ok) {
-      throw new Error("Failed to fetch similar stocks");
-    }
-    const data = await response.json();
-    return data;
+    return response.data;
   } catch (error) {
     console.error("Error fetching similar stocks:", error);
     return [];
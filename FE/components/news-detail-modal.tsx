@@ -62,6 +62,15 @@ export default function NewsDetailModal({
                     {news.sentiment === "negative" && "🌧️ 폭우"}
                   </Badge>
               )}
+              {/* 새로 수집한 기사는 감정 분석 전이라 sentiment가 비어 있다 */}
+              {!news.sentiment && (
+                  <Badge
+                      variant="outline"
+                      className="text-gray-400 border-gray-200 bg-gray-50"
+                  >
+                    분석 전
+                  </Badge>
+              )}
 
               {/* 카테고리 태그들 */}
               {news.category.map((cat, index) => (
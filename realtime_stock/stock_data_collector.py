@@ -508,11 +508,9 @@ def collect_all_stocks_data():
             logger.info(f"{'='*60}")
             
             try:
-                # 일봉/주봉/월봉 데이터 수집
+                # 일봉 데이터 수집 (주봉/월봉 등은 백엔드가 일봉에서 집계하므로 따로 저장하지 않음)
                 periods = [
                     ('D', 'daily'),    # (API 코드, DB 저장용 interval 명)
-                    ('W', 'weekly'),
-                    ('M', 'monthly')
                 ]
                 
                 for period_code, interval_name in periods: